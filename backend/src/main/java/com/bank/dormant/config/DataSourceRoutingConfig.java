@@ -0,0 +1,70 @@
+package com.bank.dormant.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write split (accounts.datasource.replica.enabled=true): writes and read-write
+ * transactions use the primary pool (spring.datasource, sized by spring.datasource.hikari),
+ * {@code @Transactional(readOnly = true)} work uses a separately sized replica pool.
+ * Without the property Spring Boot's single auto-configured pool is used unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "accounts.datasource.replica.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("accounts.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${accounts.datasource.replica.url}") String url,
+                                              @Value("${accounts.datasource.replica.username:}") String username,
+                                              @Value("${accounts.datasource.replica.password:}") String password) {
+        HikariDataSource replica = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(properties.determineDriverClassName())
+            .url(url)
+            .username(username.isEmpty() ? properties.determineUsername() : username)
+            .password(password.isEmpty() ? properties.determinePassword() : password)
+            .build();
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${accounts.datasource.replica.lag-query:}") String lagQuery,
+                                               @Value("${accounts.datasource.replica.max-lag-ms:5000}") long maxLagMillis) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, lagQuery, maxLagMillis, meterRegistry);
+        monitor.check();
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        // Lazy: the target is chosen at the first statement, once the transaction's read-only flag is set
+        return new LazyConnectionDataSourceProxy(
+            new ReadWriteRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry));
+    }
+}
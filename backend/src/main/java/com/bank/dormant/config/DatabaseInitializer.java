@@ -1,29 +0,0 @@
-package com.bank.dormant.config;
-
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.CommandLineRunner;
-import org.springframework.core.annotation.Order;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
-import org.springframework.stereotype.Component;
-
-import javax.sql.DataSource;
-
-@Component
-@Order(1) // Run first
-public class DatabaseInitializer implements CommandLineRunner {
-    
-    @Autowired
-    private DataSource dataSource;
-    
-    @Override
-    public void run(String... args) throws Exception {
-        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
-        populator.addScript(new ClassPathResource("schema.sql"));
-        populator.addScript(new ClassPathResource("data.sql"));
-        populator.setContinueOnError(false);
-        populator.execute(dataSource);
-        
-        System.out.println("✅ Database schema and initial data loaded successfully!");
-    }
-}
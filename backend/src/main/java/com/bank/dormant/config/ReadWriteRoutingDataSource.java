@@ -0,0 +1,144 @@
+package com.bank.dormant.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections of read-only transactions to the replica pool while the
+ * {@link ReplicaLagMonitor} allows it, everything else to the primary pool. Must be
+ * wrapped in a LazyConnectionDataSourceProxy so the connection is fetched after the
+ * transaction's read-only flag is known. Commits of read-write connections on the
+ * primary are reported to the monitor for the current session: the authenticated
+ * user, or one shared session for work without a user (scheduled and background jobs).
+ * Read-your-writes therefore only covers the writing session: reads that must see every
+ * commit run through {@link #onPrimary(Supplier)}.
+ * Connections handed out are counted as datasource.routing{target=primary|replica}.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+    static final String SYSTEM_SESSION = "system";
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor monitor;
+    private final Supplier<String> sessions;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor,
+                                      MeterRegistry meterRegistry) {
+        this(primary, replica, monitor, meterRegistry, ReadWriteRoutingDataSource::currentSession);
+    }
+
+    ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor,
+                               MeterRegistry meterRegistry, Supplier<String> sessions) {
+        this.monitor = monitor;
+        this.sessions = sessions;
+        this.primaryConnections = meterRegistry.counter("datasource.routing", "target", PRIMARY);
+        this.replicaConnections = meterRegistry.counter("datasource.routing", "target", REPLICA);
+        DataSource trackedPrimary = new WriteTrackingDataSource(primary, monitor, sessions);
+        setTargetDataSources(Map.of(PRIMARY, trackedPrimary, REPLICA, replica));
+        setDefaultTargetDataSource(trackedPrimary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && PINNED_TO_PRIMARY.get() == null
+                && monitor.isReplicaReadable(sessions.get())) {
+            replicaConnections.increment();
+            return REPLICA;
+        }
+        primaryConnections.increment();
+        return PRIMARY;
+    }
+
+    /**
+     * Run work whose read-only transactions must see every commit on the primary:
+     * responses tagged with the data version (ETag, export cache), reads that fill the
+     * Hibernate caches and rebuilds of in-memory aggregates. A replica still replaying a
+     * commit would otherwise serve data older than the version or the aggregate. The
+     * work must start before the transaction's first statement.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        if (PINNED_TO_PRIMARY.get() != null) {
+            return work.get();
+        }
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            PINNED_TO_PRIMARY.remove();
+        }
+    }
+
+    public static void onPrimary(Runnable work) {
+        onPrimary(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    static String currentSession() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : SYSTEM_SESSION;
+    }
+
+    /**
+     * Primary pool whose connections report successful commits of read-write work
+     */
+    private static final class WriteTrackingDataSource extends DelegatingDataSource {
+
+        private final ReplicaLagMonitor monitor;
+        private final Supplier<String> sessions;
+
+        WriteTrackingDataSource(DataSource target, ReplicaLagMonitor monitor, Supplier<String> sessions) {
+            super(target);
+            this.monitor = monitor;
+            this.sessions = sessions;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return track(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return track(super.getConnection(username, password));
+        }
+
+        private Connection track(Connection target) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    boolean commit = "commit".equals(method.getName()) && method.getParameterCount() == 0;
+                    boolean write = commit && !target.isReadOnly();
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                    if (write) {
+                        monitor.recordWrite(sessions.get());
+                    }
+                    return result;
+                });
+        }
+    }
+}
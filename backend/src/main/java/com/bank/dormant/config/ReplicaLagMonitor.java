@@ -0,0 +1,130 @@
+package com.bank.dormant.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether read-only work may run on the replica. The replica is polled for
+ * its replication lag (lag-query, in milliseconds; no query means the replica is
+ * assumed current); it is usable while reachable and lagging at most max-lag-ms.
+ * Read-your-writes is tracked per session (the routing data source passes the
+ * authenticated user): a session's reads stay on the primary until the replica has
+ * applied the last write that session committed on this instance, while other
+ * sessions keep reading from the replica within max-lag-ms staleness.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final LongSupplier clock;
+    // Replica has applied every commit up to this time (epoch millis); -1 while unusable
+    private volatile long caughtUpTo = -1;
+    // Last commit time per session; dropped once the replica has caught up with it
+    private final Map<String, Long> lastWriteBySession = new ConcurrentHashMap<>();
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagMillis, MeterRegistry meterRegistry) {
+        this(replica, lagQuery, maxLagMillis, System::currentTimeMillis);
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagMillis)
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+    }
+
+    ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagMillis, LongSupplier clock) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Whether a read-only transaction of the session starting now may use the replica
+     */
+    public boolean isReplicaReadable(String session) {
+        long replicaTime = caughtUpTo;
+        if (replicaTime < 0) {
+            return false;
+        }
+        Long lastWrite = lastWriteBySession.get(session);
+        return lastWrite == null || lastWrite <= replicaTime;
+    }
+
+    /**
+     * Called after a read-write transaction of the session committed on the primary
+     */
+    public void recordWrite(String session) {
+        lastWriteBySession.merge(session, clock.getAsLong(), Math::max);
+    }
+
+    int trackedSessions() {
+        return lastWriteBySession.size();
+    }
+
+    @Scheduled(fixedDelayString = "${accounts.datasource.replica.check-interval-ms:1000}")
+    public void check() {
+        long checkedAt = clock.getAsLong();
+        long lag;
+        try (Connection connection = replica.getConnection()) {
+            lag = measureLag(connection);
+        } catch (SQLException e) {
+            if (caughtUpTo >= 0) {
+                logger.warn("Replica unavailable, reading from the primary: {}", e.getMessage());
+            }
+            lagMillis = -1;
+            caughtUpTo = -1;
+            return;
+        }
+
+        lagMillis = lag;
+        if (lag > maxLagMillis) {
+            if (caughtUpTo >= 0) {
+                logger.warn("Replica lags {} ms (max {} ms), reading from the primary", lag, maxLagMillis);
+            }
+            caughtUpTo = -1;
+            return;
+        }
+        long replicaTime = checkedAt - lag;
+        caughtUpTo = replicaTime;
+        // Conditional remove: a write recorded meanwhile keeps its session pinned
+        lastWriteBySession.forEach((session, lastWrite) -> {
+            if (lastWrite <= replicaTime) {
+                lastWriteBySession.remove(session, lastWrite);
+            }
+        });
+    }
+
+    private long measureLag(Connection connection) throws SQLException {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            if (!connection.isValid(1)) {
+                throw new SQLException("Replica connection is not valid");
+            }
+            return 0;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                throw new SQLException("Replica lag query returned no row");
+            }
+            long lag = rs.getLong(1);
+            if (rs.wasNull()) {
+                throw new SQLException("Replica has not replayed any transaction yet");
+            }
+            return Math.max(0, lag);
+        }
+    }
+}
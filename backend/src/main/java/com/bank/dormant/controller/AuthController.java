@@ -2,8 +2,12 @@ package com.bank.dormant.controller;
 
 import com.bank.dormant.dto.LoginRequest;
 import com.bank.dormant.dto.LoginResponse;
+import com.bank.dormant.dto.RefreshRequest;
+import com.bank.dormant.security.LoginRejectedException;
 import com.bank.dormant.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -11,6 +15,8 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -26,15 +32,59 @@ public class AuthController {
     /**
      * Login endpoint
      * POST /api/auth/login
+     * Completes asynchronously once the password check has run on the verification
+     * pool; 429 when throttled, 503 when the pool is saturated (both with Retry-After)
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest loginRequest,
+                                                      HttpServletRequest request) {
         try {
-            LoginResponse response = authService.authenticate(loginRequest);
+            return authService.authenticate(loginRequest, request.getRemoteAddr())
+                    .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                    .exceptionally(this::loginFailure);
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(loginFailure(e));
+        }
+    }
+    
+    private ResponseEntity<?> loginFailure(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        Map<String, String> error = new HashMap<>();
+        if (cause instanceof BadCredentialsException) {
+            error.put("error", "Authentication failed");
+            error.put("message", cause.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        }
+        if (cause instanceof LoginRejectedException rejected) {
+            HttpStatus status = rejected.getReason() == LoginRejectedException.Reason.THROTTLED
+                    ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+            error.put("error", "Login rejected");
+            error.put("message", rejected.getMessage());
+            return ResponseEntity.status(status)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(rejected.getRetryAfterSeconds()))
+                    .body(error);
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        throw new IllegalStateException(cause);
+    }
+    
+    /**
+     * Refresh endpoint
+     * POST /api/auth/refresh
+     * Rotates the refresh token and returns a new access token without a password check;
+     * 401 when the refresh token is unknown, expired, already used or revoked
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshRequest refreshRequest) {
+        try {
+            LoginResponse response = authService.refresh(refreshRequest.getRefreshToken());
             return ResponseEntity.ok(response);
         } catch (BadCredentialsException e) {
             Map<String, String> error = new HashMap<>();
-            error.put("error", "Authentication failed");
+            error.put("error", "Refresh failed");
             error.put("message", e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
         }
@@ -43,11 +93,16 @@ public class AuthController {
     /**
      * Logout endpoint
      * POST /api/auth/logout
-     * Note: With JWT, logout is primarily handled client-side by removing the token
-     * This endpoint can be used for logging purposes or token blacklisting in the future
+     * Revokes the bearer access token and the session of the refresh token in the
+     * body (if any)
      */
     @PostMapping("/logout")
-    public ResponseEntity<?> logout() {
+    public ResponseEntity<?> logout(@RequestBody(required = false) RefreshRequest refreshRequest,
+                                    @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false)
+                                    String authorization) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : null;
+        authService.logout(refreshRequest != null ? refreshRequest.getRefreshToken() : null, accessToken);
         Map<String, String> response = new HashMap<>();
         response.put("message", "Logout successful");
         return ResponseEntity.ok(response);
@@ -0,0 +1,117 @@
+package com.bank.dormant.controller;
+
+import com.bank.dormant.dto.BulkUpdateJobRequest;
+import com.bank.dormant.dto.BulkUpdateJobResponse;
+import com.bank.dormant.model.BulkUpdateJobChunk;
+import com.bank.dormant.model.User;
+import com.bank.dormant.service.BulkUpdateJobService;
+import com.bank.dormant.service.IdempotencyStore;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST API Controller for background bulk update jobs
+ */
+@RestController
+@RequestMapping("/api/accounts/bulk/jobs")
+@CrossOrigin(origins = "${cors.allowed-origins}")
+public class BulkUpdateJobController {
+    
+    private final BulkUpdateJobService jobService;
+    private final IdempotencyStore idempotencyStore;
+    
+    @Autowired
+    public BulkUpdateJobController(BulkUpdateJobService jobService, IdempotencyStore idempotencyStore) {
+        this.jobService = jobService;
+        this.idempotencyStore = idempotencyStore;
+    }
+    
+    /**
+     * POST /api/accounts/bulk/jobs - Start a chunked background bulk update of an id list
+     * or of every account matching a filter; returns 202 with the queued job
+     */
+    @PostMapping
+    public ResponseEntity<BulkUpdateJobResponse> submitJob(
+            @Valid @RequestBody BulkUpdateJobRequest request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @AuthenticationPrincipal User user) {
+        // A retried submission with the same Idempotency-Key returns the job already queued
+        return idempotencyStore.execute(user.getUsername(), idempotencyKey, "POST /api/accounts/bulk/jobs", request,
+            () -> doSubmitJob(request, user));
+    }
+    
+    private ResponseEntity<BulkUpdateJobResponse> doSubmitJob(BulkUpdateJobRequest request, User user) {
+        try {
+            BulkUpdateJobResponse job = jobService.submit(request, user.getUsername());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * GET /api/accounts/bulk/jobs - The 50 most recent jobs
+     */
+    @GetMapping
+    public ResponseEntity<List<BulkUpdateJobResponse>> listJobs() {
+        return ResponseEntity.ok(jobService.listRecentJobs());
+    }
+    
+    /**
+     * GET /api/accounts/bulk/jobs/{id} - Status and progress of a job
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<BulkUpdateJobResponse> getJob(@PathVariable Long id) {
+        return jobService.findJob(id)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+    
+    /**
+     * GET /api/accounts/bulk/jobs/{id}/chunks - Committed chunks of a job
+     */
+    @GetMapping("/{id}/chunks")
+    public ResponseEntity<List<BulkUpdateJobChunk>> getJobChunks(@PathVariable Long id) {
+        if (jobService.findJob(id).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(jobService.listCommittedChunks(id));
+    }
+    
+    /**
+     * POST /api/accounts/bulk/jobs/{id}/cancel - Stop a queued or running job after its current chunk
+     */
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<BulkUpdateJobResponse> cancelJob(@PathVariable Long id) {
+        if (jobService.findJob(id).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        if (!jobService.cancel(id)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(jobService.findJob(id).orElseThrow());
+    }
+    
+    /**
+     * POST /api/accounts/bulk/jobs/{id}/resume - Continue a failed or cancelled job after its
+     * last committed chunk
+     */
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<BulkUpdateJobResponse> resumeJob(@PathVariable Long id) {
+        if (jobService.findJob(id).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        if (!jobService.resume(id)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(jobService.findJob(id).orElseThrow());
+    }
+}
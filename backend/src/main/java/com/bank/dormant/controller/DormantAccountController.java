@@ -1,18 +1,33 @@
 package com.bank.dormant.controller;
 
+import com.bank.dormant.dto.AccountChangesResponse;
 import com.bank.dormant.dto.AccountUpdateRequest;
 import com.bank.dormant.dto.BankSummary;
 import com.bank.dormant.dto.BulkUpdateRequest;
+import com.bank.dormant.dto.BulkUpdateResponse;
+import com.bank.dormant.dto.FilteredBulkUpdateRequest;
 import com.bank.dormant.dto.UploadResponse;
+import com.bank.dormant.model.AccountHistory;
 import com.bank.dormant.model.DormantAccount;
+import com.bank.dormant.model.User;
+import com.bank.dormant.repository.DormantAccountRepository;
+import com.bank.dormant.service.AccountAuditTrail;
+import com.bank.dormant.service.AccountChangeFeed;
+import com.bank.dormant.service.ChangeCursorExpiredException;
+import com.bank.dormant.service.DataVersionService;
 import com.bank.dormant.service.DormantAccountService;
 import com.bank.dormant.service.FileUploadService;
+import com.bank.dormant.service.IdempotencyStore;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import java.util.List;
 
@@ -27,23 +42,63 @@ public class DormantAccountController {
     
     private final DormantAccountService service;
     private final FileUploadService fileUploadService;
+    private final DataVersionService dataVersionService;
+    private final IdempotencyStore idempotencyStore;
+    private final AccountAuditTrail auditTrail;
+    private final AccountChangeFeed changeFeed;
     
     @Autowired
-    public DormantAccountController(DormantAccountService service, FileUploadService fileUploadService) {
+    public DormantAccountController(DormantAccountService service, FileUploadService fileUploadService,
+                                    DataVersionService dataVersionService, IdempotencyStore idempotencyStore,
+                                    AccountAuditTrail auditTrail, AccountChangeFeed changeFeed) {
         this.service = service;
         this.fileUploadService = fileUploadService;
+        this.dataVersionService = dataVersionService;
+        this.idempotencyStore = idempotencyStore;
+        this.auditTrail = auditTrail;
+        this.changeFeed = changeFeed;
     }
     
     /**
-     * GET /api/accounts - Get all accounts with optional search parameter
+     * GET /api/accounts - Get all accounts with optional search parameter, as list rows
+     * (commentsPreview instead of comments, no audit columns)
      * Requirements: 9.1, 9.3
      */
     @GetMapping
-    public ResponseEntity<List<DormantAccount>> getAccounts(
-            @RequestParam(required = false) String search) {
+    public ResponseEntity<List<DormantAccountRepository.AccountListProjection>> getAccounts(
+            @RequestParam(required = false) String search,
+            WebRequest webRequest) {
         try {
-            List<DormantAccount> accounts = service.searchAccounts(search);
-            return ResponseEntity.ok(accounts);
+            // Unchanged data: answer 304 before touching the database
+            String etag = dataVersionService.etagFor(dataVersionService.currentVersion());
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            List<DormantAccountRepository.AccountListProjection> accounts = service.searchAccounts(search);
+            return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(accounts);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * GET /api/accounts/changes?since= - Accounts created or updated and ids of accounts
+     * deleted since the cursor of the previous response (no cursor: all accounts).
+     * 400 for a malformed cursor, 410 when the cursor is too old and the list must be reloaded.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<AccountChangesResponse> getChanges(@RequestParam(required = false) String since) {
+        try {
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(changeFeed.changesSince(since));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (ChangeCursorExpiredException e) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -65,15 +120,35 @@ public class DormantAccountController {
         }
     }
     
+    /**
+     * GET /api/accounts/{id}/history - Changes to reclaim status, dates and comments,
+     * newest first; also available after the account is gone
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<AccountHistory>> getAccountHistory(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(auditTrail.getHistory(id));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * GET /api/accounts/summary - Get bank summaries with aggregated data
      * Requirements: 9.1, 9.3
      */
     @GetMapping("/summary")
-    public ResponseEntity<List<BankSummary>> getSummary() {
+    public ResponseEntity<List<BankSummary>> getSummary(WebRequest webRequest) {
         try {
+            String etag = dataVersionService.etagFor(dataVersionService.currentVersion());
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
             List<BankSummary> summaries = service.getBankSummaries();
-            return ResponseEntity.ok(summaries);
+            return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(summaries);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -86,12 +161,23 @@ public class DormantAccountController {
     @PutMapping("/{id}")
     public ResponseEntity<DormantAccount> updateAccount(
             @PathVariable Long id,
-            @Valid @RequestBody AccountUpdateRequest request) {
+            @Valid @RequestBody AccountUpdateRequest request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @AuthenticationPrincipal User user) {
+        // A retried request with the same Idempotency-Key gets the stored response
+        return idempotencyStore.execute(user.getUsername(), idempotencyKey, "PUT /api/accounts/" + id, request,
+            () -> doUpdateAccount(id, request));
+    }
+    
+    private ResponseEntity<DormantAccount> doUpdateAccount(Long id, AccountUpdateRequest request) {
         try {
             DormantAccount updatedAccount = service.updateAccount(id, request);
             return ResponseEntity.ok(updatedAccount);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (OptimisticLockingFailureException e) {
+            // Account changed since the client read it
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         } catch (Exception e) {
@@ -100,14 +186,45 @@ public class DormantAccountController {
     }
     
     /**
-     * PUT /api/accounts/bulk - Bulk update multiple accounts
+     * PUT /api/accounts/bulk - Bulk update multiple accounts; stale accounts are
+     * listed in conflictIds
      * Requirements: 9.1, 9.3, 9.4
      */
     @PutMapping("/bulk")
-    public ResponseEntity<Integer> bulkUpdateAccounts(
-            @Valid @RequestBody BulkUpdateRequest request) {
+    public ResponseEntity<BulkUpdateResponse> bulkUpdateAccounts(
+            @Valid @RequestBody BulkUpdateRequest request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @AuthenticationPrincipal User user) {
+        return idempotencyStore.execute(user.getUsername(), idempotencyKey, "PUT /api/accounts/bulk", request,
+            () -> doBulkUpdateAccounts(request));
+    }
+    
+    private ResponseEntity<BulkUpdateResponse> doBulkUpdateAccounts(BulkUpdateRequest request) {
+        try {
+            return ResponseEntity.ok(service.bulkUpdateAccounts(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * PUT /api/accounts/bulk/by-filter - Bulk update every account matching search, bankName and status
+     * (same filter model as search and export); returns the number of updated accounts
+     */
+    @PutMapping("/bulk/by-filter")
+    public ResponseEntity<Integer> bulkUpdateMatching(
+            @Valid @RequestBody FilteredBulkUpdateRequest request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @AuthenticationPrincipal User user) {
+        return idempotencyStore.execute(user.getUsername(), idempotencyKey, "PUT /api/accounts/bulk/by-filter",
+            request, () -> doBulkUpdateMatching(request));
+    }
+    
+    private ResponseEntity<Integer> doBulkUpdateMatching(FilteredBulkUpdateRequest request) {
         try {
-            int updatedCount = service.bulkUpdateAccounts(request);
+            int updatedCount = service.bulkUpdateMatching(request);
             return ResponseEntity.ok(updatedCount);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
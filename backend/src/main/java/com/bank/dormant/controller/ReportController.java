@@ -1,18 +1,43 @@
 package com.bank.dormant.controller;
 
-import com.bank.dormant.model.DormantAccount;
+import com.bank.dormant.dto.AccountFilter;
+import com.bank.dormant.dto.AgingReport;
+import com.bank.dormant.dto.BalanceDistribution;
+import com.bank.dormant.dto.CubeCell;
+import com.bank.dormant.dto.CubeDimension;
+import com.bank.dormant.dto.HistoryGranularity;
+import com.bank.dormant.dto.ReportSnapshot;
+import com.bank.dormant.dto.SummaryHistoryPoint;
 import com.bank.dormant.model.ReclaimStatus;
+import com.bank.dormant.service.BalanceDistributionService;
+import com.bank.dormant.service.DataVersionService;
+import com.bank.dormant.service.ParallelExportService;
 import com.bank.dormant.service.ReportService;
+import com.bank.dormant.service.ReportSnapshotService;
+import com.bank.dormant.service.RollupCubeService;
+import com.bank.dormant.service.SummaryHistoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
 /**
  * REST API Controller for Report Export
@@ -23,11 +48,26 @@ import java.util.List;
 @CrossOrigin(origins = "${cors.allowed-origins}")
 public class ReportController {
     
+    private final ParallelExportService parallelExportService;
+    private final DataVersionService dataVersionService;
+    private final ReportSnapshotService reportSnapshotService;
     private final ReportService reportService;
+    private final RollupCubeService rollupCubeService;
+    private final SummaryHistoryService summaryHistoryService;
+    private final BalanceDistributionService balanceDistributionService;
     
     @Autowired
-    public ReportController(ReportService reportService) {
+    public ReportController(ParallelExportService parallelExportService, DataVersionService dataVersionService,
+                            ReportSnapshotService reportSnapshotService, ReportService reportService,
+                            RollupCubeService rollupCubeService, SummaryHistoryService summaryHistoryService,
+                            BalanceDistributionService balanceDistributionService) {
+        this.parallelExportService = parallelExportService;
+        this.dataVersionService = dataVersionService;
+        this.reportSnapshotService = reportSnapshotService;
         this.reportService = reportService;
+        this.rollupCubeService = rollupCubeService;
+        this.summaryHistoryService = summaryHistoryService;
+        this.balanceDistributionService = balanceDistributionService;
     }
     
     /**
@@ -40,16 +80,24 @@ public class ReportController {
      * @return CSV file with timestamped filename
      */
     @GetMapping("/export")
-    public ResponseEntity<String> exportCSV(
+    public ResponseEntity<StreamingResponseBody> exportCSV(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String bankName,
-            @RequestParam(required = false) ReclaimStatus status) {
+            @RequestParam(required = false) ReclaimStatus status,
+            WebRequest webRequest) {
         try {
-            // Apply filters to get accounts for export
-            List<DormantAccount> accounts = reportService.applyFilters(search, bankName, status);
+            // Unchanged data: answer 304 before touching the database
+            long dataVersion = dataVersionService.currentVersion();
+            String etag = dataVersionService.etagFor(dataVersion);
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
             
-            // Generate CSV content
-            String csvContent = reportService.generateCSV(accounts);
+            AccountFilter filter = new AccountFilter(search, bankName, status);
+            
+            // Served from the export cache when this filter was rendered at the same version,
+            // otherwise partitions are queried and formatted in parallel and streamed in order
+            StreamingResponseBody body = out -> parallelExportService.exportCSV(filter, dataVersion, out);
             
             // Create timestamped filename
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
@@ -59,16 +107,206 @@ public class ReportController {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.parseMediaType("text/csv"));
             headers.setContentDispositionFormData("attachment", filename);
-            headers.setCacheControl("no-cache, no-store, must-revalidate");
-            headers.setPragma("no-cache");
-            headers.setExpires(0);
+            // ETag header already written by checkNotModified; clients may keep
+            // the file but must revalidate it with If-None-Match
+            headers.setCacheControl(CacheControl.noCache().cachePrivate());
             
             return ResponseEntity.ok()
                 .headers(headers)
-                .body(csvContent);
+                .body(body);
                 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+    
+    /**
+     * GET /api/reports/aging - Dormancy aging buckets per bank and reclaim status
+     * 
+     * @param asOf Optional reference date (defaults to today)
+     */
+    @GetMapping("/aging")
+    public ResponseEntity<AgingReport> getAgingReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        try {
+            return ResponseEntity.ok(reportService.getAgingReport(asOf != null ? asOf : LocalDate.now()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * GET /api/reports/cube - Slice and roll up the bank x status x reclaim month x clawback month cube
+     * 
+     * @param groupBy Dimensions kept in the result (BANK, STATUS, RECLAIM_MONTH, CLAWBACK_MONTH); others are rolled up
+     * @param bankName Optional bank to slice on
+     * @param status Optional reclaim status to slice on
+     * @param reclaimMonth Optional reclaim month (yyyy-MM) to slice on
+     * @param clawbackMonth Optional clawback month (yyyy-MM) to slice on
+     */
+    @GetMapping("/cube")
+    public ResponseEntity<List<CubeCell>> queryCube(
+            @RequestParam(required = false) List<CubeDimension> groupBy,
+            @RequestParam(required = false) String bankName,
+            @RequestParam(required = false) ReclaimStatus status,
+            @RequestParam(required = false) YearMonth reclaimMonth,
+            @RequestParam(required = false) YearMonth clawbackMonth) {
+        EnumSet<CubeDimension> dimensions = groupBy == null || groupBy.isEmpty()
+            ? EnumSet.noneOf(CubeDimension.class)
+            : EnumSet.copyOf(groupBy);
+        return ResponseEntity.ok(rollupCubeService.query(dimensions, bankName, status, reclaimMonth, clawbackMonth));
+    }
+    
+    /**
+     * GET /api/reports/balance-stats - Median, p90, p99 and histogram of balances per bank.
+     * Quantiles are approximate: the true rank is within +/- rankError of the requested
+     * rank (99% confidence); counts, min, max and histogram buckets are exact.
+     * 
+     * @param bankName Optional banks to include (all banks when omitted)
+     * @param includeSketch Include the serialized KLL sketch (base64) for merging elsewhere
+     */
+    @GetMapping("/balance-stats")
+    public ResponseEntity<List<BalanceDistribution>> getBalanceStats(
+            @RequestParam(required = false) List<String> bankName,
+            @RequestParam(defaultValue = "false") boolean includeSketch) {
+        return ResponseEntity.ok(balanceDistributionService.getDistributions(bankName, includeSketch));
+    }
+    
+    /**
+     * GET /api/reports/balance-stats/merged - One distribution merged across the given banks
+     * (all banks when omitted), with the same error bounds as the per-bank statistics
+     */
+    @GetMapping("/balance-stats/merged")
+    public ResponseEntity<BalanceDistribution> getMergedBalanceStats(
+            @RequestParam(required = false) List<String> bankName,
+            @RequestParam(defaultValue = "false") boolean includeSketch) {
+        return ResponseEntity.ok(balanceDistributionService.getMergedDistribution(bankName, includeSketch));
+    }
+    
+    /**
+     * POST /api/reports/balance-stats/merged - Merge the given banks of this node with
+     * distributions sent by other nodes (each fetched with includeSketch=true)
+     * 
+     * @param bankName Optional local banks to include (all banks when omitted)
+     * @param includeSketch Include the merged sketch so the result can be merged again
+     */
+    @PostMapping("/balance-stats/merged")
+    public ResponseEntity<BalanceDistribution> mergeBalanceStats(
+            @RequestParam(required = false) List<String> bankName,
+            @RequestParam(defaultValue = "false") boolean includeSketch,
+            @RequestBody List<BalanceDistribution> remote) {
+        try {
+            return ResponseEntity.ok(balanceDistributionService.getMergedDistribution(bankName, remote, includeSketch));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+    
+    /**
+     * GET /api/reports/history - Per-bank summary time series
+     * 
+     * @param bankName Optional bank (all banks when omitted)
+     * @param status Optional reclaim status (statuses summed when omitted)
+     * @param from Optional first day (defaults to 364 days before 'to')
+     * @param to Optional last day (defaults to today)
+     * @param granularity DAY, WEEK or MONTH; weekly and monthly points are the last captured day of the period
+     */
+    @GetMapping("/history")
+    public ResponseEntity<List<SummaryHistoryPoint>> getSummaryHistory(
+            @RequestParam(required = false) String bankName,
+            @RequestParam(required = false) ReclaimStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") HistoryGranularity granularity) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(364);
+        return ResponseEntity.ok(summaryHistoryService.getHistory(bankName, status, start, end, granularity));
+    }
+    
+    /**
+     * POST /api/reports/history/capture - Capture today's summary history points now (Admin only)
+     */
+    @PostMapping("/history/capture")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Integer> captureSummaryHistory() {
+        return ResponseEntity.ok(summaryHistoryService.capture(LocalDate.now()));
+    }
+    
+    /**
+     * GET /api/reports/snapshots - Metadata of the latest snapshot of every configured report
+     */
+    @GetMapping("/snapshots")
+    public ResponseEntity<List<ReportSnapshot>> listSnapshots() {
+        return ResponseEntity.ok(reportSnapshotService.listLatest());
+    }
+    
+    /**
+     * GET /api/reports/snapshots/{report}/generations - Metadata of all retained generations
+     */
+    @GetMapping("/snapshots/{report}/generations")
+    public ResponseEntity<List<ReportSnapshot>> listSnapshotGenerations(@PathVariable String report) {
+        return ResponseEntity.ok(reportSnapshotService.listGenerations(report));
+    }
+    
+    /**
+     * GET /api/reports/snapshots/{report} - Download a precomputed snapshot (latest unless a
+     * generation is given). The stored gzip bytes are sent as-is to clients that accept gzip.
+     */
+    @GetMapping("/snapshots/{report}")
+    public ResponseEntity<StreamingResponseBody> downloadSnapshot(
+            @PathVariable String report,
+            @RequestParam(required = false) String generation,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        Optional<ReportSnapshot> found = generation != null
+            ? reportSnapshotService.find(report, generation)
+            : reportSnapshotService.findLatest(report);
+        if (found.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        
+        ReportSnapshot snapshot = found.get();
+        // Generations are immutable, so the generation id is a strong validator
+        String etag = "\"" + snapshot.getReport() + "-" + snapshot.getGeneration() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = out -> {
+            try (InputStream in = gzip
+                    ? Files.newInputStream(reportSnapshotService.dataFile(snapshot))
+                    : new GZIPInputStream(Files.newInputStream(reportSnapshotService.dataFile(snapshot)))) {
+                in.transferTo(out);
+            }
+        };
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+        headers.setContentDispositionFormData("attachment",
+            "dormant_accounts_" + snapshot.getReport() + "_" + snapshot.getGeneration() + ".csv");
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            headers.setContentLength(snapshot.getCompressedBytes());
+        }
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        headers.set("X-Row-Count", String.valueOf(snapshot.getRowCount()));
+        headers.set("X-Generated-At", snapshot.getGeneratedAt().toString());
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+        
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+    
+    /**
+     * POST /api/reports/snapshots/run - Build all configured snapshots now (Admin only)
+     */
+    @PostMapping("/snapshots/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ReportSnapshot>> runSnapshots() {
+        try {
+            return ResponseEntity.ok(reportSnapshotService.generateAll());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 }
@@ -0,0 +1,62 @@
+package com.bank.dormant.dto;
+
+import com.bank.dormant.repository.DormantAccountRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of the account change feed: accounts created or updated since the cursor
+ * (as list rows), ids of accounts deleted since then, and the cursor for the next
+ * request. Clients apply {@code changed} before {@code deleted}; while hasMore is set
+ * the next page should be requested right away.
+ */
+public class AccountChangesResponse {
+    private List<DormantAccountRepository.AccountChangeProjection> changed = new ArrayList<>();
+    private List<Long> deleted = new ArrayList<>();
+    private String cursor;
+    private boolean hasMore;
+
+    public AccountChangesResponse() {
+    }
+
+    public AccountChangesResponse(List<DormantAccountRepository.AccountChangeProjection> changed,
+                                  List<Long> deleted, String cursor, boolean hasMore) {
+        this.changed = changed;
+        this.deleted = deleted;
+        this.cursor = cursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<DormantAccountRepository.AccountChangeProjection> getChanged() {
+        return changed;
+    }
+
+    public void setChanged(List<DormantAccountRepository.AccountChangeProjection> changed) {
+        this.changed = changed;
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<Long> deleted) {
+        this.deleted = deleted;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,87 @@
+package com.bank.dormant.dto;
+
+import com.bank.dormant.model.ReclaimStatus;
+
+import java.util.Objects;
+
+/**
+ * Filter model shared by search, export and filtered bulk updates
+ * Requirements: 11.2
+ */
+public class AccountFilter {
+    private final String searchTerm;
+    private final String bankName;
+    private final ReclaimStatus status;
+
+    public AccountFilter(String searchTerm, String bankName, ReclaimStatus status) {
+        this.searchTerm = normalize(searchTerm);
+        this.bankName = normalize(bankName);
+        this.status = status;
+    }
+
+    public static AccountFilter none() {
+        return new AccountFilter(null, null, null);
+    }
+
+    /**
+     * Copy of this filter restricted to a single bank
+     */
+    public AccountFilter withBankName(String bankName) {
+        return new AccountFilter(searchTerm, bankName, status);
+    }
+
+    public String getSearchTerm() {
+        return searchTerm;
+    }
+
+    public String getBankName() {
+        return bankName;
+    }
+
+    public ReclaimStatus getStatus() {
+        return status;
+    }
+
+    public boolean hasSearchTerm() {
+        return searchTerm != null;
+    }
+
+    public boolean hasBankName() {
+        return bankName != null;
+    }
+
+    /**
+     * True when the filter matches every account
+     */
+    public boolean isEmpty() {
+        return searchTerm == null && bankName == null && status == null;
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AccountFilter)) {
+            return false;
+        }
+        AccountFilter that = (AccountFilter) o;
+        return Objects.equals(searchTerm, that.searchTerm)
+            && Objects.equals(bankName, that.bankName)
+            && status == that.status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(searchTerm, bankName, status);
+    }
+
+    @Override
+    public String toString() {
+        return "AccountFilter{search=" + searchTerm + ", bankName=" + bankName + ", status=" + status + "}";
+    }
+}
@@ -22,6 +22,9 @@ public class AccountUpdateRequest {
     
     @Size(max = 1000, message = "Comments cannot exceed 1000 characters")
     private String comments;
+    
+    // Optional version the client last read; a mismatch rejects the update as a conflict
+    private Long version;
 
     public ReclaimStatus getReclaimStatus() {
         return reclaimStatus;
@@ -54,4 +57,12 @@ public class AccountUpdateRequest {
     public void setComments(String comments) {
         this.comments = comments;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
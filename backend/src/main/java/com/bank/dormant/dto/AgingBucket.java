@@ -0,0 +1,42 @@
+package com.bank.dormant.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Account count and balance for one dormancy age range
+ */
+public class AgingBucket {
+    private String label;
+    private long accountCount;
+    private BigDecimal totalBalance;
+
+    public AgingBucket(String label, long accountCount, BigDecimal totalBalance) {
+        this.label = label;
+        this.accountCount = accountCount;
+        this.totalBalance = totalBalance;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public long getAccountCount() {
+        return accountCount;
+    }
+
+    public void setAccountCount(long accountCount) {
+        this.accountCount = accountCount;
+    }
+
+    public BigDecimal getTotalBalance() {
+        return totalBalance;
+    }
+
+    public void setTotalBalance(BigDecimal totalBalance) {
+        this.totalBalance = totalBalance;
+    }
+}
@@ -0,0 +1,33 @@
+package com.bank.dormant.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Dormant balances bucketed by time since last transaction, per bank and reclaim status
+ */
+public class AgingReport {
+    private LocalDate asOf;
+    private List<AgingReportRow> rows;
+
+    public AgingReport(LocalDate asOf, List<AgingReportRow> rows) {
+        this.asOf = asOf;
+        this.rows = rows;
+    }
+
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(LocalDate asOf) {
+        this.asOf = asOf;
+    }
+
+    public List<AgingReportRow> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<AgingReportRow> rows) {
+        this.rows = rows;
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.dormant.dto;
+
+import com.bank.dormant.model.ReclaimStatus;
+
+import java.util.List;
+
+/**
+ * Dormancy aging buckets for one bank and reclaim status
+ */
+public class AgingReportRow {
+    private String bankName;
+    private ReclaimStatus reclaimStatus;
+    private List<AgingBucket> buckets;
+
+    public AgingReportRow(String bankName, ReclaimStatus reclaimStatus, List<AgingBucket> buckets) {
+        this.bankName = bankName;
+        this.reclaimStatus = reclaimStatus;
+        this.buckets = buckets;
+    }
+
+    public String getBankName() {
+        return bankName;
+    }
+
+    public void setBankName(String bankName) {
+        this.bankName = bankName;
+    }
+
+    public ReclaimStatus getReclaimStatus() {
+        return reclaimStatus;
+    }
+
+    public void setReclaimStatus(ReclaimStatus reclaimStatus) {
+        this.reclaimStatus = reclaimStatus;
+    }
+
+    public List<AgingBucket> getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(List<AgingBucket> buckets) {
+        this.buckets = buckets;
+    }
+}
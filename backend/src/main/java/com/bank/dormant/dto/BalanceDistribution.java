@@ -0,0 +1,106 @@
+package com.bank.dormant.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Balance distribution of one bank, or of several banks merged (bankName null).
+ * Quantiles come from a KLL sketch: the true rank of a returned quantile is within
+ * +/- rankError of the requested rank with 99% confidence. Min, max, count and the
+ * histogram are exact. The serialized sketch is only included on request.
+ */
+public class BalanceDistribution {
+    private String bankName;
+    private long accountCount;
+    private BigDecimal min;
+    private BigDecimal max;
+    private BigDecimal median;
+    private BigDecimal p90;
+    private BigDecimal p99;
+    private double rankError;
+    private List<HistogramBucket> histogram;
+    private String sketch;
+
+    public BalanceDistribution() {
+    }
+
+    public String getBankName() {
+        return bankName;
+    }
+
+    public void setBankName(String bankName) {
+        this.bankName = bankName;
+    }
+
+    public long getAccountCount() {
+        return accountCount;
+    }
+
+    public void setAccountCount(long accountCount) {
+        this.accountCount = accountCount;
+    }
+
+    public BigDecimal getMin() {
+        return min;
+    }
+
+    public void setMin(BigDecimal min) {
+        this.min = min;
+    }
+
+    public BigDecimal getMax() {
+        return max;
+    }
+
+    public void setMax(BigDecimal max) {
+        this.max = max;
+    }
+
+    public BigDecimal getMedian() {
+        return median;
+    }
+
+    public void setMedian(BigDecimal median) {
+        this.median = median;
+    }
+
+    public BigDecimal getP90() {
+        return p90;
+    }
+
+    public void setP90(BigDecimal p90) {
+        this.p90 = p90;
+    }
+
+    public BigDecimal getP99() {
+        return p99;
+    }
+
+    public void setP99(BigDecimal p99) {
+        this.p99 = p99;
+    }
+
+    public double getRankError() {
+        return rankError;
+    }
+
+    public void setRankError(double rankError) {
+        this.rankError = rankError;
+    }
+
+    public List<HistogramBucket> getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(List<HistogramBucket> histogram) {
+        this.histogram = histogram;
+    }
+
+    public String getSketch() {
+        return sketch;
+    }
+
+    public void setSketch(String sketch) {
+        this.sketch = sketch;
+    }
+}
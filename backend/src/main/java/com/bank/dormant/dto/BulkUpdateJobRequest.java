@@ -0,0 +1,64 @@
+package com.bank.dormant.dto;
+
+import com.bank.dormant.model.ReclaimStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * DTO for starting a background bulk update job.
+ * Selects either an explicit id list or every account matching the filter, not both.
+ */
+public class BulkUpdateJobRequest {
+    private List<Long> accountIds;
+    
+    private String search;
+    
+    private String bankName;
+    
+    private ReclaimStatus status;
+    
+    @NotNull(message = "Update data is required")
+    @Valid
+    private AccountUpdateRequest updateData;
+
+    public List<Long> getAccountIds() {
+        return accountIds;
+    }
+
+    public void setAccountIds(List<Long> accountIds) {
+        this.accountIds = accountIds;
+    }
+
+    public String getSearch() {
+        return search;
+    }
+
+    public void setSearch(String search) {
+        this.search = search;
+    }
+
+    public String getBankName() {
+        return bankName;
+    }
+
+    public void setBankName(String bankName) {
+        this.bankName = bankName;
+    }
+
+    public ReclaimStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReclaimStatus status) {
+        this.status = status;
+    }
+
+    public AccountUpdateRequest getUpdateData() {
+        return updateData;
+    }
+
+    public void setUpdateData(AccountUpdateRequest updateData) {
+        this.updateData = updateData;
+    }
+}
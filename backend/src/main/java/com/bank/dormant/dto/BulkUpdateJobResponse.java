@@ -0,0 +1,172 @@
+package com.bank.dormant.dto;
+
+import com.bank.dormant.model.BulkJobStatus;
+import com.bank.dormant.model.BulkUpdateJob;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a background bulk update job. totalCount is taken when the job is
+ * submitted; for filter jobs it is an estimate, so progress is capped at 100%
+ * until the job completes.
+ */
+public class BulkUpdateJobResponse {
+    private Long id;
+    private BulkJobStatus status;
+    private boolean cancelRequested;
+    private long totalCount;
+    private long processedCount;
+    private long updatedCount;
+    private int committedChunks;
+    private double progressPercent;
+    private String errorMessage;
+    private String createdBy;
+    private String owner;
+    private LocalDateTime heartbeatAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+
+    public BulkUpdateJobResponse(BulkUpdateJob job) {
+        this.id = job.getId();
+        this.status = job.getStatus();
+        this.cancelRequested = job.isCancelRequested();
+        this.totalCount = job.getTotalCount();
+        this.processedCount = job.getProcessedCount();
+        this.updatedCount = job.getUpdatedCount();
+        this.committedChunks = job.getCommittedChunks();
+        if (job.getStatus() == BulkJobStatus.COMPLETED) {
+            this.progressPercent = 100.0;
+        } else if (job.getTotalCount() > 0) {
+            this.progressPercent = Math.min(100.0,
+                Math.round(job.getProcessedCount() * 1000.0 / job.getTotalCount()) / 10.0);
+        }
+        this.errorMessage = job.getErrorMessage();
+        this.createdBy = job.getCreatedBy();
+        this.owner = job.getOwner();
+        this.heartbeatAt = job.getHeartbeatAt();
+        this.createdAt = job.getCreatedAt();
+        this.updatedAt = job.getUpdatedAt();
+        this.completedAt = job.getCompletedAt();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BulkJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BulkJobStatus status) {
+        this.status = status;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public void setCancelRequested(boolean cancelRequested) {
+        this.cancelRequested = cancelRequested;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(long totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    public void setProcessedCount(long processedCount) {
+        this.processedCount = processedCount;
+    }
+
+    public long getUpdatedCount() {
+        return updatedCount;
+    }
+
+    public void setUpdatedCount(long updatedCount) {
+        this.updatedCount = updatedCount;
+    }
+
+    public int getCommittedChunks() {
+        return committedChunks;
+    }
+
+    public void setCommittedChunks(int committedChunks) {
+        this.committedChunks = committedChunks;
+    }
+
+    public double getProgressPercent() {
+        return progressPercent;
+    }
+
+    public void setProgressPercent(double progressPercent) {
+        this.progressPercent = progressPercent;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import java.util.List;
+import java.util.Map;
 
 /**
  * DTO for bulk account update requests
@@ -16,6 +17,9 @@ public class BulkUpdateRequest {
     @NotNull(message = "Update data is required")
     @Valid
     private AccountUpdateRequest updateData;
+    
+    // Optional account id -> version the client last read; stale accounts are reported as conflicts
+    private Map<Long, Long> versions;
 
     public List<Long> getAccountIds() {
         return accountIds;
@@ -32,4 +36,12 @@ public class BulkUpdateRequest {
     public void setUpdateData(AccountUpdateRequest updateData) {
         this.updateData = updateData;
     }
+
+    public Map<Long, Long> getVersions() {
+        return versions;
+    }
+
+    public void setVersions(Map<Long, Long> versions) {
+        this.versions = versions;
+    }
 }
@@ -0,0 +1,37 @@
+package com.bank.dormant.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of a bulk account update: accounts updated and accounts skipped because
+ * they were changed since the client read them
+ */
+public class BulkUpdateResponse {
+    private int updatedCount;
+    private List<Long> conflictIds = new ArrayList<>();
+
+    public BulkUpdateResponse() {
+    }
+
+    public BulkUpdateResponse(int updatedCount, List<Long> conflictIds) {
+        this.updatedCount = updatedCount;
+        this.conflictIds = conflictIds;
+    }
+
+    public int getUpdatedCount() {
+        return updatedCount;
+    }
+
+    public void setUpdatedCount(int updatedCount) {
+        this.updatedCount = updatedCount;
+    }
+
+    public List<Long> getConflictIds() {
+        return conflictIds;
+    }
+
+    public void setConflictIds(List<Long> conflictIds) {
+        this.conflictIds = conflictIds;
+    }
+}
@@ -0,0 +1,77 @@
+package com.bank.dormant.dto;
+
+import com.bank.dormant.model.ReclaimStatus;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * One aggregated cell of a rollup cube query. Dimensions that were rolled up
+ * (not in the query's groupBy) are null.
+ */
+public class CubeCell {
+    private String bankName;
+    private ReclaimStatus reclaimStatus;
+    private YearMonth reclaimMonth;
+    private YearMonth clawbackMonth;
+    private long accountCount;
+    private BigDecimal totalBalance;
+
+    public CubeCell(String bankName, ReclaimStatus reclaimStatus, YearMonth reclaimMonth,
+                    YearMonth clawbackMonth, long accountCount, BigDecimal totalBalance) {
+        this.bankName = bankName;
+        this.reclaimStatus = reclaimStatus;
+        this.reclaimMonth = reclaimMonth;
+        this.clawbackMonth = clawbackMonth;
+        this.accountCount = accountCount;
+        this.totalBalance = totalBalance;
+    }
+
+    public String getBankName() {
+        return bankName;
+    }
+
+    public void setBankName(String bankName) {
+        this.bankName = bankName;
+    }
+
+    public ReclaimStatus getReclaimStatus() {
+        return reclaimStatus;
+    }
+
+    public void setReclaimStatus(ReclaimStatus reclaimStatus) {
+        this.reclaimStatus = reclaimStatus;
+    }
+
+    public YearMonth getReclaimMonth() {
+        return reclaimMonth;
+    }
+
+    public void setReclaimMonth(YearMonth reclaimMonth) {
+        this.reclaimMonth = reclaimMonth;
+    }
+
+    public YearMonth getClawbackMonth() {
+        return clawbackMonth;
+    }
+
+    public void setClawbackMonth(YearMonth clawbackMonth) {
+        this.clawbackMonth = clawbackMonth;
+    }
+
+    public long getAccountCount() {
+        return accountCount;
+    }
+
+    public void setAccountCount(long accountCount) {
+        this.accountCount = accountCount;
+    }
+
+    public BigDecimal getTotalBalance() {
+        return totalBalance;
+    }
+
+    public void setTotalBalance(BigDecimal totalBalance) {
+        this.totalBalance = totalBalance;
+    }
+}
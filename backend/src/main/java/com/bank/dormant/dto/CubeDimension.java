@@ -0,0 +1,11 @@
+package com.bank.dormant.dto;
+
+/**
+ * Dimensions of the account rollup cube
+ */
+public enum CubeDimension {
+    BANK,
+    STATUS,
+    RECLAIM_MONTH,
+    CLAWBACK_MONTH
+}
@@ -0,0 +1,52 @@
+package com.bank.dormant.dto;
+
+import com.bank.dormant.model.ReclaimStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO for bulk updates of every account matching a search/export filter
+ */
+public class FilteredBulkUpdateRequest {
+    private String search;
+    
+    private String bankName;
+    
+    private ReclaimStatus status;
+    
+    @NotNull(message = "Update data is required")
+    @Valid
+    private AccountUpdateRequest updateData;
+
+    public String getSearch() {
+        return search;
+    }
+
+    public void setSearch(String search) {
+        this.search = search;
+    }
+
+    public String getBankName() {
+        return bankName;
+    }
+
+    public void setBankName(String bankName) {
+        this.bankName = bankName;
+    }
+
+    public ReclaimStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReclaimStatus status) {
+        this.status = status;
+    }
+
+    public AccountUpdateRequest getUpdateData() {
+        return updateData;
+    }
+
+    public void setUpdateData(AccountUpdateRequest updateData) {
+        this.updateData = updateData;
+    }
+}
@@ -0,0 +1,46 @@
+package com.bank.dormant.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One fixed histogram bucket: balances in [lowerBound, upperBound).
+ * A null bound means the bucket is open on that side.
+ */
+public class HistogramBucket {
+    private BigDecimal lowerBound;
+    private BigDecimal upperBound;
+    private long count;
+
+    public HistogramBucket() {
+    }
+
+    public HistogramBucket(BigDecimal lowerBound, BigDecimal upperBound, long count) {
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.count = count;
+    }
+
+    public BigDecimal getLowerBound() {
+        return lowerBound;
+    }
+
+    public void setLowerBound(BigDecimal lowerBound) {
+        this.lowerBound = lowerBound;
+    }
+
+    public BigDecimal getUpperBound() {
+        return upperBound;
+    }
+
+    public void setUpperBound(BigDecimal upperBound) {
+        this.upperBound = upperBound;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
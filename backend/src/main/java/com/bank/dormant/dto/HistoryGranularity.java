@@ -0,0 +1,10 @@
+package com.bank.dormant.dto;
+
+/**
+ * Point spacing of a summary history series
+ */
+public enum HistoryGranularity {
+    DAY,
+    WEEK,
+    MONTH
+}
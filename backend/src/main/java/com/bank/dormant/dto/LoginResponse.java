@@ -6,6 +6,8 @@ public class LoginResponse {
     private String username;
     private String role;
     private Long expiresIn;
+    private String refreshToken;
+    private Long refreshExpiresIn;
     
     // Constructors
     public LoginResponse() {
@@ -18,6 +20,13 @@ public class LoginResponse {
         this.expiresIn = expiresIn;
     }
     
+    public LoginResponse(String token, String username, String role, Long expiresIn,
+                         String refreshToken, Long refreshExpiresIn) {
+        this(token, username, role, expiresIn);
+        this.refreshToken = refreshToken;
+        this.refreshExpiresIn = refreshExpiresIn;
+    }
+    
     // Getters and Setters
     public String getToken() {
         return token;
@@ -50,4 +59,20 @@ public class LoginResponse {
     public void setExpiresIn(Long expiresIn) {
         this.expiresIn = expiresIn;
     }
+    
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
+    public Long getRefreshExpiresIn() {
+        return refreshExpiresIn;
+    }
+    
+    public void setRefreshExpiresIn(Long refreshExpiresIn) {
+        this.refreshExpiresIn = refreshExpiresIn;
+    }
 }
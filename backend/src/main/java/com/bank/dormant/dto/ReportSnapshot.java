@@ -0,0 +1,70 @@
+package com.bank.dormant.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.LocalDateTime;
+
+/**
+ * Metadata for a precomputed, gzip-compressed report snapshot.
+ * Unknown fields are ignored so sidecars written by earlier versions stay readable.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ReportSnapshot {
+    private String report;
+    private String generation;
+    private long rowCount;
+    private LocalDateTime generatedAt;
+    private long compressedBytes;
+
+    public ReportSnapshot() {
+    }
+
+    public ReportSnapshot(String report, String generation, long rowCount, LocalDateTime generatedAt,
+                          long compressedBytes) {
+        this.report = report;
+        this.generation = generation;
+        this.rowCount = rowCount;
+        this.generatedAt = generatedAt;
+        this.compressedBytes = compressedBytes;
+    }
+
+    public String getReport() {
+        return report;
+    }
+
+    public void setReport(String report) {
+        this.report = report;
+    }
+
+    public String getGeneration() {
+        return generation;
+    }
+
+    public void setGeneration(String generation) {
+        this.generation = generation;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public void setRowCount(long rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    public long getCompressedBytes() {
+        return compressedBytes;
+    }
+
+    public void setCompressedBytes(long compressedBytes) {
+        this.compressedBytes = compressedBytes;
+    }
+}
@@ -0,0 +1,67 @@
+package com.bank.dormant.dto;
+
+import com.bank.dormant.model.ReclaimStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One point of a bank summary time series. The reclaim status is null when the
+ * point is summed over all statuses.
+ */
+public class SummaryHistoryPoint {
+    private LocalDate date;
+    private String bankName;
+    private ReclaimStatus reclaimStatus;
+    private long accountCount;
+    private BigDecimal totalBalance;
+
+    public SummaryHistoryPoint(LocalDate date, String bankName, ReclaimStatus reclaimStatus,
+                               long accountCount, BigDecimal totalBalance) {
+        this.date = date;
+        this.bankName = bankName;
+        this.reclaimStatus = reclaimStatus;
+        this.accountCount = accountCount;
+        this.totalBalance = totalBalance;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getBankName() {
+        return bankName;
+    }
+
+    public void setBankName(String bankName) {
+        this.bankName = bankName;
+    }
+
+    public ReclaimStatus getReclaimStatus() {
+        return reclaimStatus;
+    }
+
+    public void setReclaimStatus(ReclaimStatus reclaimStatus) {
+        this.reclaimStatus = reclaimStatus;
+    }
+
+    public long getAccountCount() {
+        return accountCount;
+    }
+
+    public void setAccountCount(long accountCount) {
+        this.accountCount = accountCount;
+    }
+
+    public BigDecimal getTotalBalance() {
+        return totalBalance;
+    }
+
+    public void setTotalBalance(BigDecimal totalBalance) {
+        this.totalBalance = totalBalance;
+    }
+}
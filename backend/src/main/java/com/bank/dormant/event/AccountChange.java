@@ -0,0 +1,19 @@
+package com.bank.dormant.event;
+
+/**
+ * One account write: {@code before} is null for inserts, {@code after} is null for deletes
+ */
+public record AccountChange(AccountSnapshot before, AccountSnapshot after) {
+
+    public static AccountChange inserted(AccountSnapshot after) {
+        return new AccountChange(null, after);
+    }
+
+    public static AccountChange updated(AccountSnapshot before, AccountSnapshot after) {
+        return new AccountChange(before, after);
+    }
+
+    public static AccountChange deleted(AccountSnapshot before) {
+        return new AccountChange(before, null);
+    }
+}
@@ -0,0 +1,31 @@
+package com.bank.dormant.event;
+
+import com.bank.dormant.model.DormantAccount;
+import com.bank.dormant.model.ReclaimStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Immutable copy of the aggregate- and audit-relevant fields of an account at one point in time
+ */
+public record AccountSnapshot(Long id,
+                              String bankName,
+                              BigDecimal balance,
+                              ReclaimStatus reclaimStatus,
+                              LocalDate reclaimDate,
+                              LocalDate clawbackDate,
+                              String comments) {
+
+    public static AccountSnapshot of(DormantAccount account) {
+        return new AccountSnapshot(
+            account.getId(),
+            account.getBankName(),
+            account.getBalance(),
+            account.getReclaimStatus(),
+            account.getReclaimDate(),
+            account.getClawbackDate(),
+            account.getComments()
+        );
+    }
+}
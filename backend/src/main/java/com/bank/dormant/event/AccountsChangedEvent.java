@@ -0,0 +1,37 @@
+package com.bank.dormant.event;
+
+import java.util.List;
+
+/**
+ * Published by every write to dormant accounts (update, bulk update, upload) with the
+ * before and after state of each changed account.
+ * Listeners that depend on the committed state should use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ * The actor is the user the changes are attributed to; null means the user of the
+ * current request (work running outside a request, like bulk jobs, passes it).
+ */
+public class AccountsChangedEvent {
+    private final List<AccountChange> changes;
+    private final String actor;
+
+    public AccountsChangedEvent(List<AccountChange> changes) {
+        this(changes, null);
+    }
+
+    public AccountsChangedEvent(List<AccountChange> changes, String actor) {
+        this.changes = List.copyOf(changes);
+        this.actor = actor;
+    }
+
+    public List<AccountChange> getChanges() {
+        return changes;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public int getChangedCount() {
+        return changes.size();
+    }
+}
@@ -0,0 +1,7 @@
+package com.bank.dormant.model;
+
+public enum AccountChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
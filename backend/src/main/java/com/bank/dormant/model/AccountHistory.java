@@ -0,0 +1,169 @@
+package com.bank.dormant.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the append-only account history: the reclaim status, dates and
+ * comments before and after a change. Rows are only inserted, never updated.
+ */
+@Entity
+@Table(name = "account_history")
+public class AccountHistory {
+    
+    // Pooled sequence like dormant_accounts, so the audit writer's inserts are batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_history_seq")
+    @SequenceGenerator(name = "account_history_seq", sequenceName = "account_history_seq", allocationSize = 1000)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long accountId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AccountChangeType changeType;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private ReclaimStatus oldReclaimStatus;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private ReclaimStatus newReclaimStatus;
+    
+    @Column
+    private LocalDate oldReclaimDate;
+    
+    @Column
+    private LocalDate newReclaimDate;
+    
+    @Column
+    private LocalDate oldClawbackDate;
+    
+    @Column
+    private LocalDate newClawbackDate;
+    
+    @Column(length = 1000)
+    private String oldComments;
+    
+    @Column(length = 1000)
+    private String newComments;
+    
+    @Column
+    private String changedBy;
+    
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+    
+    // Constructors
+    public AccountHistory() {
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getAccountId() {
+        return accountId;
+    }
+    
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+    
+    public AccountChangeType getChangeType() {
+        return changeType;
+    }
+    
+    public void setChangeType(AccountChangeType changeType) {
+        this.changeType = changeType;
+    }
+    
+    public ReclaimStatus getOldReclaimStatus() {
+        return oldReclaimStatus;
+    }
+    
+    public void setOldReclaimStatus(ReclaimStatus oldReclaimStatus) {
+        this.oldReclaimStatus = oldReclaimStatus;
+    }
+    
+    public ReclaimStatus getNewReclaimStatus() {
+        return newReclaimStatus;
+    }
+    
+    public void setNewReclaimStatus(ReclaimStatus newReclaimStatus) {
+        this.newReclaimStatus = newReclaimStatus;
+    }
+    
+    public LocalDate getOldReclaimDate() {
+        return oldReclaimDate;
+    }
+    
+    public void setOldReclaimDate(LocalDate oldReclaimDate) {
+        this.oldReclaimDate = oldReclaimDate;
+    }
+    
+    public LocalDate getNewReclaimDate() {
+        return newReclaimDate;
+    }
+    
+    public void setNewReclaimDate(LocalDate newReclaimDate) {
+        this.newReclaimDate = newReclaimDate;
+    }
+    
+    public LocalDate getOldClawbackDate() {
+        return oldClawbackDate;
+    }
+    
+    public void setOldClawbackDate(LocalDate oldClawbackDate) {
+        this.oldClawbackDate = oldClawbackDate;
+    }
+    
+    public LocalDate getNewClawbackDate() {
+        return newClawbackDate;
+    }
+    
+    public void setNewClawbackDate(LocalDate newClawbackDate) {
+        this.newClawbackDate = newClawbackDate;
+    }
+    
+    public String getOldComments() {
+        return oldComments;
+    }
+    
+    public void setOldComments(String oldComments) {
+        this.oldComments = oldComments;
+    }
+    
+    public String getNewComments() {
+        return newComments;
+    }
+    
+    public void setNewComments(String newComments) {
+        this.newComments = newComments;
+    }
+    
+    public String getChangedBy() {
+        return changedBy;
+    }
+    
+    public void setChangedBy(String changedBy) {
+        this.changedBy = changedBy;
+    }
+    
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+    
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,47 @@
+package com.bank.dormant.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker left by a deleted account so the change feed can report the deletion. A delete
+ * path must save it in the deleting transaction; none exists yet. Rows are only needed
+ * until no client cursor can be older than them.
+ */
+@Entity
+@Table(name = "account_tombstones")
+public class AccountTombstone {
+    
+    @Id
+    private Long accountId;
+    
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+    
+    // Constructors
+    public AccountTombstone() {
+    }
+    
+    public AccountTombstone(Long accountId, LocalDateTime deletedAt) {
+        this.accountId = accountId;
+        this.deletedAt = deletedAt;
+    }
+    
+    // Getters and Setters
+    public Long getAccountId() {
+        return accountId;
+    }
+    
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+    
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+    
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
@@ -0,0 +1,93 @@
+package com.bank.dormant.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "bank_summary_history")
+public class BankSummaryHistory {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private LocalDate snapshotDate;
+    
+    @Column(nullable = false)
+    private String bankName;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private ReclaimStatus reclaimStatus;
+    
+    @Column(nullable = false)
+    private Long accountCount;
+    
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalBalance;
+    
+    // Constructors
+    public BankSummaryHistory() {
+    }
+    
+    public BankSummaryHistory(LocalDate snapshotDate, String bankName, ReclaimStatus reclaimStatus,
+                              Long accountCount, BigDecimal totalBalance) {
+        this.snapshotDate = snapshotDate;
+        this.bankName = bankName;
+        this.reclaimStatus = reclaimStatus;
+        this.accountCount = accountCount;
+        this.totalBalance = totalBalance;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public LocalDate getSnapshotDate() {
+        return snapshotDate;
+    }
+    
+    public void setSnapshotDate(LocalDate snapshotDate) {
+        this.snapshotDate = snapshotDate;
+    }
+    
+    public String getBankName() {
+        return bankName;
+    }
+    
+    public void setBankName(String bankName) {
+        this.bankName = bankName;
+    }
+    
+    public ReclaimStatus getReclaimStatus() {
+        return reclaimStatus;
+    }
+    
+    public void setReclaimStatus(ReclaimStatus reclaimStatus) {
+        this.reclaimStatus = reclaimStatus;
+    }
+    
+    public Long getAccountCount() {
+        return accountCount;
+    }
+    
+    public void setAccountCount(Long accountCount) {
+        this.accountCount = accountCount;
+    }
+    
+    public BigDecimal getTotalBalance() {
+        return totalBalance;
+    }
+    
+    public void setTotalBalance(BigDecimal totalBalance) {
+        this.totalBalance = totalBalance;
+    }
+}
@@ -0,0 +1,9 @@
+package com.bank.dormant.model;
+
+public enum BulkJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
@@ -0,0 +1,280 @@
+package com.bank.dormant.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Background bulk update of either an explicit id list or every account matching a
+ * filter, committed chunk by chunk. Progress columns are advanced in the same
+ * transaction as each chunk, so they always describe committed work.
+ */
+@Entity
+@Table(name = "bulk_update_jobs")
+public class BulkUpdateJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private BulkJobStatus status;
+    
+    @Column(nullable = false)
+    private boolean cancelRequested;
+    
+    // Comma-separated in ascending order; null for filter jobs
+    @Column
+    private String accountIds;
+    
+    @Column
+    private String searchTerm;
+    
+    @Column
+    private String bankName;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private ReclaimStatus filterStatus;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private ReclaimStatus reclaimStatus;
+    
+    @Column
+    private LocalDate reclaimDate;
+    
+    @Column
+    private LocalDate clawbackDate;
+    
+    @Column(length = 1000)
+    private String comments;
+    
+    @Column(nullable = false)
+    private long totalCount;
+    
+    @Column(nullable = false)
+    private long processedCount;
+    
+    @Column(nullable = false)
+    private long updatedCount;
+    
+    @Column(nullable = false)
+    private int committedChunks;
+    
+    @Column
+    private Long lastCommittedId;
+    
+    @Column(length = 1000)
+    private String errorMessage;
+    
+    @Column
+    private String createdBy;
+    
+    // Node whose worker has the job queued or running
+    @Column
+    private String owner;
+    
+    @Column
+    private LocalDateTime heartbeatAt;
+    
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @Column
+    private LocalDateTime completedAt;
+    
+    // Constructors
+    public BulkUpdateJob() {
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public BulkJobStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(BulkJobStatus status) {
+        this.status = status;
+    }
+    
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+    
+    public void setCancelRequested(boolean cancelRequested) {
+        this.cancelRequested = cancelRequested;
+    }
+    
+    public String getAccountIds() {
+        return accountIds;
+    }
+    
+    public void setAccountIds(String accountIds) {
+        this.accountIds = accountIds;
+    }
+    
+    public String getSearchTerm() {
+        return searchTerm;
+    }
+    
+    public void setSearchTerm(String searchTerm) {
+        this.searchTerm = searchTerm;
+    }
+    
+    public String getBankName() {
+        return bankName;
+    }
+    
+    public void setBankName(String bankName) {
+        this.bankName = bankName;
+    }
+    
+    public ReclaimStatus getFilterStatus() {
+        return filterStatus;
+    }
+    
+    public void setFilterStatus(ReclaimStatus filterStatus) {
+        this.filterStatus = filterStatus;
+    }
+    
+    public ReclaimStatus getReclaimStatus() {
+        return reclaimStatus;
+    }
+    
+    public void setReclaimStatus(ReclaimStatus reclaimStatus) {
+        this.reclaimStatus = reclaimStatus;
+    }
+    
+    public LocalDate getReclaimDate() {
+        return reclaimDate;
+    }
+    
+    public void setReclaimDate(LocalDate reclaimDate) {
+        this.reclaimDate = reclaimDate;
+    }
+    
+    public LocalDate getClawbackDate() {
+        return clawbackDate;
+    }
+    
+    public void setClawbackDate(LocalDate clawbackDate) {
+        this.clawbackDate = clawbackDate;
+    }
+    
+    public String getComments() {
+        return comments;
+    }
+    
+    public void setComments(String comments) {
+        this.comments = comments;
+    }
+    
+    public long getTotalCount() {
+        return totalCount;
+    }
+    
+    public void setTotalCount(long totalCount) {
+        this.totalCount = totalCount;
+    }
+    
+    public long getProcessedCount() {
+        return processedCount;
+    }
+    
+    public void setProcessedCount(long processedCount) {
+        this.processedCount = processedCount;
+    }
+    
+    public long getUpdatedCount() {
+        return updatedCount;
+    }
+    
+    public void setUpdatedCount(long updatedCount) {
+        this.updatedCount = updatedCount;
+    }
+    
+    public int getCommittedChunks() {
+        return committedChunks;
+    }
+    
+    public void setCommittedChunks(int committedChunks) {
+        this.committedChunks = committedChunks;
+    }
+    
+    public Long getLastCommittedId() {
+        return lastCommittedId;
+    }
+    
+    public void setLastCommittedId(Long lastCommittedId) {
+        this.lastCommittedId = lastCommittedId;
+    }
+    
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+    
+    public String getCreatedBy() {
+        return createdBy;
+    }
+    
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+    
+    public String getOwner() {
+        return owner;
+    }
+    
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+    
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+    
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
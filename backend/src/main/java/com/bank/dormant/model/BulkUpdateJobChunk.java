@@ -0,0 +1,118 @@
+package com.bank.dormant.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of one committed chunk of a bulk update job
+ */
+@Entity
+@Table(name = "bulk_update_job_chunks")
+public class BulkUpdateJobChunk {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long jobId;
+    
+    @Column(nullable = false)
+    private int chunkIndex;
+    
+    @Column(nullable = false)
+    private Long firstId;
+    
+    @Column(nullable = false)
+    private Long lastId;
+    
+    @Column(nullable = false)
+    private int accountCount;
+    
+    @Column(nullable = false)
+    private int updatedCount;
+    
+    @Column(nullable = false)
+    private LocalDateTime committedAt;
+    
+    // Constructors
+    public BulkUpdateJobChunk() {
+    }
+    
+    public BulkUpdateJobChunk(Long jobId, int chunkIndex, Long firstId, Long lastId,
+                              int accountCount, int updatedCount, LocalDateTime committedAt) {
+        this.jobId = jobId;
+        this.chunkIndex = chunkIndex;
+        this.firstId = firstId;
+        this.lastId = lastId;
+        this.accountCount = accountCount;
+        this.updatedCount = updatedCount;
+        this.committedAt = committedAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getJobId() {
+        return jobId;
+    }
+    
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+    
+    public int getChunkIndex() {
+        return chunkIndex;
+    }
+    
+    public void setChunkIndex(int chunkIndex) {
+        this.chunkIndex = chunkIndex;
+    }
+    
+    public Long getFirstId() {
+        return firstId;
+    }
+    
+    public void setFirstId(Long firstId) {
+        this.firstId = firstId;
+    }
+    
+    public Long getLastId() {
+        return lastId;
+    }
+    
+    public void setLastId(Long lastId) {
+        this.lastId = lastId;
+    }
+    
+    public int getAccountCount() {
+        return accountCount;
+    }
+    
+    public void setAccountCount(int accountCount) {
+        this.accountCount = accountCount;
+    }
+    
+    public int getUpdatedCount() {
+        return updatedCount;
+    }
+    
+    public void setUpdatedCount(int updatedCount) {
+        this.updatedCount = updatedCount;
+    }
+    
+    public LocalDateTime getCommittedAt() {
+        return committedAt;
+    }
+    
+    public void setCommittedAt(LocalDateTime committedAt) {
+        this.committedAt = committedAt;
+    }
+}
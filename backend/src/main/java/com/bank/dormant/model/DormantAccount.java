@@ -5,6 +5,8 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -15,11 +17,16 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "dormant_accounts")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @EntityListeners(AuditingEntityListener.class)
 public class DormantAccount {
     
+    // Pooled sequence (pooled-lo, see hibernate.id.optimizer.pooled.preferred): one
+    // round trip reserves 1000 ids, which keeps JDBC insert batching enabled
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dormant_accounts_seq")
+    @SequenceGenerator(name = "dormant_accounts_seq", sequenceName = "dormant_accounts_seq", allocationSize = 1000)
     private Long id;
     
     @Column(unique = true, nullable = false)
@@ -55,6 +62,13 @@ public class DormantAccount {
     @Column(length = 1000)
     private String comments;
     
+    @Column
+    private LocalDate lastTransactionDate;
+    
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -166,6 +180,22 @@ public class DormantAccount {
         this.comments = comments;
     }
     
+    public LocalDate getLastTransactionDate() {
+        return lastTransactionDate;
+    }
+    
+    public void setLastTransactionDate(LocalDate lastTransactionDate) {
+        this.lastTransactionDate = lastTransactionDate;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,130 @@
+package com.bank.dormant.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One refresh token of a login session (family). Each refresh marks the presented
+ * token used and issues its successor in the same family; presenting a used or
+ * revoked token revokes the whole family.
+ */
+@Entity
+@Table(name = "refresh_tokens")
+public class RefreshToken {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+    
+    @Column(nullable = false, length = 36)
+    private String familyId;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false)
+    private LocalDateTime sessionStartedAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column
+    private LocalDateTime usedAt;
+    
+    @Column(nullable = false)
+    private boolean revoked;
+    
+    // Constructors
+    public RefreshToken() {
+    }
+    
+    public RefreshToken(String tokenHash, String familyId, Long userId, LocalDateTime sessionStartedAt,
+                        LocalDateTime expiresAt, LocalDateTime createdAt) {
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.userId = userId;
+        this.sessionStartedAt = sessionStartedAt;
+        this.expiresAt = expiresAt;
+        this.createdAt = createdAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTokenHash() {
+        return tokenHash;
+    }
+    
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+    
+    public String getFamilyId() {
+        return familyId;
+    }
+    
+    public void setFamilyId(String familyId) {
+        this.familyId = familyId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public LocalDateTime getSessionStartedAt() {
+        return sessionStartedAt;
+    }
+    
+    public void setSessionStartedAt(LocalDateTime sessionStartedAt) {
+        this.sessionStartedAt = sessionStartedAt;
+    }
+    
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUsedAt() {
+        return usedAt;
+    }
+    
+    public void setUsedAt(LocalDateTime usedAt) {
+        this.usedAt = usedAt;
+    }
+    
+    public boolean isRevoked() {
+        return revoked;
+    }
+    
+    public void setRevoked(boolean revoked) {
+        this.revoked = revoked;
+    }
+}
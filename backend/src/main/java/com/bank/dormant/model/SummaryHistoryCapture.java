@@ -0,0 +1,47 @@
+package com.bank.dormant.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Last capture of a day's summary history points. Captures of the same day lock this
+ * row, so they replace each other's points instead of both inserting them.
+ */
+@Entity
+@Table(name = "summary_history_captures")
+public class SummaryHistoryCapture {
+    
+    @Id
+    private LocalDate snapshotDate;
+    
+    @Column(nullable = false)
+    private LocalDateTime capturedAt;
+    
+    // Constructors
+    public SummaryHistoryCapture() {
+    }
+    
+    public SummaryHistoryCapture(LocalDate snapshotDate, LocalDateTime capturedAt) {
+        this.snapshotDate = snapshotDate;
+        this.capturedAt = capturedAt;
+    }
+    
+    // Getters and Setters
+    public LocalDate getSnapshotDate() {
+        return snapshotDate;
+    }
+    
+    public void setSnapshotDate(LocalDate snapshotDate) {
+        this.snapshotDate = snapshotDate;
+    }
+    
+    public LocalDateTime getCapturedAt() {
+        return capturedAt;
+    }
+    
+    public void setCapturedAt(LocalDateTime capturedAt) {
+        this.capturedAt = capturedAt;
+    }
+}
@@ -0,0 +1,16 @@
+package com.bank.dormant.repository;
+
+import com.bank.dormant.model.AccountHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AccountHistoryRepository extends JpaRepository<AccountHistory, Long> {
+    
+    /**
+     * History of one account, newest first (served by idx_account_history_account)
+     */
+    List<AccountHistory> findByAccountIdOrderByChangedAtDescIdDesc(Long accountId);
+}
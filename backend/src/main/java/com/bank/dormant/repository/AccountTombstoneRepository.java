@@ -0,0 +1,27 @@
+package com.bank.dormant.repository;
+
+import com.bank.dormant.model.AccountTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AccountTombstoneRepository extends JpaRepository<AccountTombstone, Long> {
+    
+    /**
+     * Ids of accounts deleted at or after the given time (served by idx_account_tombstones_deleted)
+     */
+    @Query("SELECT t.accountId FROM AccountTombstone t WHERE t.deletedAt >= :since ORDER BY t.deletedAt, t.accountId")
+    List<Long> findDeletedIdsSince(@Param("since") LocalDateTime since);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AccountTombstone t WHERE t.deletedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,33 @@
+package com.bank.dormant.repository;
+
+import com.bank.dormant.model.BankSummaryHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BankSummaryHistoryRepository extends JpaRepository<BankSummaryHistory, Long> {
+    
+    /**
+     * Daily points for one bank in a date range (served by idx_summary_history_bank_date)
+     */
+    List<BankSummaryHistory> findByBankNameAndSnapshotDateBetweenOrderBySnapshotDate(
+        String bankName, LocalDate from, LocalDate to);
+    
+    /**
+     * Daily points for all banks in a date range
+     */
+    List<BankSummaryHistory> findBySnapshotDateBetweenOrderBySnapshotDate(LocalDate from, LocalDate to);
+    
+    /**
+     * Remove a day's points before it is captured again
+     */
+    @Modifying
+    @Query("DELETE FROM BankSummaryHistory h WHERE h.snapshotDate = :snapshotDate")
+    int deleteBySnapshotDate(@Param("snapshotDate") LocalDate snapshotDate);
+}
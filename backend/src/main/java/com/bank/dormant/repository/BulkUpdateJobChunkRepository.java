@@ -0,0 +1,13 @@
+package com.bank.dormant.repository;
+
+import com.bank.dormant.model.BulkUpdateJobChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BulkUpdateJobChunkRepository extends JpaRepository<BulkUpdateJobChunk, Long> {
+    
+    List<BulkUpdateJobChunk> findByJobIdOrderByChunkIndex(Long jobId);
+}
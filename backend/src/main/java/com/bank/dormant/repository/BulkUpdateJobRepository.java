@@ -0,0 +1,117 @@
+package com.bank.dormant.repository;
+
+import com.bank.dormant.model.BulkJobStatus;
+import com.bank.dormant.model.BulkUpdateJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Job state only changes through targeted UPDATE statements, so the worker, cancel
+ * and resume requests never overwrite each other's columns. Statements issued by a
+ * worker only match while the job is still RUNNING under the worker's node.
+ */
+@Repository
+public interface BulkUpdateJobRepository extends JpaRepository<BulkUpdateJob, Long> {
+    
+    List<BulkUpdateJob> findTop50ByOrderByCreatedAtDesc();
+    
+    @Query("SELECT j.status as status, j.owner as owner, j.cancelRequested as cancelRequested " +
+           "FROM BulkUpdateJob j WHERE j.id = :id")
+    JobControl findControl(@Param("id") Long id);
+    
+    /**
+     * Start a job queued on the given node; returns 0 when it is no longer queued there
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BulkUpdateJob j SET j.status = com.bank.dormant.model.BulkJobStatus.RUNNING, " +
+           "j.heartbeatAt = :now, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.owner = :owner AND j.status = com.bank.dormant.model.BulkJobStatus.QUEUED")
+    int claim(@Param("id") Long id, @Param("owner") String owner, @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE BulkUpdateJob j SET j.status = :status, j.errorMessage = :errorMessage, " +
+           "j.completedAt = :now, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.owner = :owner AND j.status = com.bank.dormant.model.BulkJobStatus.RUNNING")
+    int finish(@Param("id") Long id, @Param("owner") String owner, @Param("status") BulkJobStatus status,
+               @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+    
+    /**
+     * Advance progress; runs in the transaction of the chunk it records, which must be
+     * rolled back when this returns 0 (the job is no longer running on this node)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BulkUpdateJob j SET j.processedCount = j.processedCount + :processed, " +
+           "j.updatedCount = j.updatedCount + :updated, j.committedChunks = j.committedChunks + 1, " +
+           "j.lastCommittedId = :lastId, j.heartbeatAt = :now, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.owner = :owner AND j.status = com.bank.dormant.model.BulkJobStatus.RUNNING")
+    int recordChunk(@Param("id") Long id, @Param("owner") String owner, @Param("lastId") Long lastId,
+                    @Param("processed") long processed, @Param("updated") long updated,
+                    @Param("now") LocalDateTime now);
+    
+    /**
+     * Confirm that the given node still has these jobs queued or running
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BulkUpdateJob j SET j.heartbeatAt = :now " +
+           "WHERE j.id IN :ids AND j.owner = :owner AND j.status IN :active")
+    int heartbeat(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+                  @Param("active") Collection<BulkJobStatus> active, @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE BulkUpdateJob j SET j.cancelRequested = true, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status IN :active")
+    int requestCancel(@Param("id") Long id, @Param("active") Collection<BulkJobStatus> active,
+                      @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE BulkUpdateJob j SET j.status = com.bank.dormant.model.BulkJobStatus.QUEUED, " +
+           "j.owner = :owner, j.heartbeatAt = :now, " +
+           "j.cancelRequested = false, j.errorMessage = null, j.completedAt = null, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status IN :resumable")
+    int requeue(@Param("id") Long id, @Param("owner") String owner,
+                @Param("resumable") Collection<BulkJobStatus> resumable, @Param("now") LocalDateTime now);
+    
+    /**
+     * Fail active jobs owned by the given node (a previous run of this node)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BulkUpdateJob j SET j.status = com.bank.dormant.model.BulkJobStatus.FAILED, " +
+           "j.errorMessage = :errorMessage, j.updatedAt = :now WHERE j.status IN :active AND j.owner = :owner")
+    int failOwnedBy(@Param("active") Collection<BulkJobStatus> active, @Param("owner") String owner,
+                    @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+    
+    /**
+     * Fail active jobs whose node has not sent a heartbeat since staleBefore
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BulkUpdateJob j SET j.status = com.bank.dormant.model.BulkJobStatus.FAILED, " +
+           "j.errorMessage = :errorMessage, j.updatedAt = :now " +
+           "WHERE j.status IN :active AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore)")
+    int failStale(@Param("active") Collection<BulkJobStatus> active, @Param("staleBefore") LocalDateTime staleBefore,
+                  @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+    
+    /**
+     * Who runs a job and whether it should stop
+     */
+    interface JobControl {
+        BulkJobStatus getStatus();
+        String getOwner();
+        Boolean getCancelRequested();
+    }
+}
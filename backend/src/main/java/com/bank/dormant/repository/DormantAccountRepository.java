@@ -1,8 +1,15 @@
 package com.bank.dormant.repository;
 
+import com.bank.dormant.dto.AccountFilter;
 import com.bank.dormant.model.DormantAccount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -10,7 +17,17 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface DormantAccountRepository extends JpaRepository<DormantAccount, Long> {
+public interface DormantAccountRepository extends JpaRepository<DormantAccount, Long>,
+                                                  JpaSpecificationExecutor<DormantAccount>,
+                                                  DormantAccountRepositoryCustom {
+    
+    /**
+     * Select list of the account list rows; comments longer than the preview are cut
+     */
+    String LIST_COLUMNS = "da.id as id, da.accountNumber as accountNumber, da.customerName as customerName, " +
+        "da.bankName as bankName, da.balance as balance, da.customerEmail as customerEmail, " +
+        "da.reclaimStatus as reclaimStatus, da.reclaimDate as reclaimDate, da.clawbackDate as clawbackDate, " +
+        "SUBSTRING(da.comments, 1, 100) as commentsPreview, da.version as version";
     
     /**
      * Find all dormant accounts by bank name
@@ -23,6 +40,12 @@ public interface DormantAccountRepository extends JpaRepository<DormantAccount,
      */
     Optional<DormantAccount> findByAccountNumber(String accountNumber);
     
+    /**
+     * The given account numbers that already exist, for batched duplicate checks
+     */
+    @Query("SELECT da.accountNumber FROM DormantAccount da WHERE da.accountNumber IN :accountNumbers")
+    List<String> findExistingAccountNumbers(@Param("accountNumbers") java.util.Collection<String> accountNumbers);
+    
     /**
      * Search accounts by account number, bank name, or customer information (case-insensitive)
      * Requirements: 4.1, 4.2
@@ -34,6 +57,36 @@ public interface DormantAccountRepository extends JpaRepository<DormantAccount,
            "LOWER(da.customerEmail) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     List<DormantAccount> searchAccounts(@Param("searchTerm") String searchTerm);
     
+    /**
+     * Account list rows: only the columns the account table shows, with the comment
+     * cut to a preview. The full entity is loaded by id.
+     */
+    @Query("SELECT " + LIST_COLUMNS + " FROM DormantAccount da ORDER BY da.id")
+    List<AccountListProjection> findAllListItems();
+    
+    /**
+     * searchAccounts returning list rows instead of entities
+     * Requirements: 4.1, 4.2
+     */
+    @Query("SELECT " + LIST_COLUMNS + " FROM DormantAccount da WHERE " +
+           "LOWER(da.accountNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(da.bankName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(da.customerName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(da.customerEmail) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "ORDER BY da.id")
+    List<AccountListProjection> searchListItems(@Param("searchTerm") String searchTerm);
+    
+    /**
+     * List rows created or updated after the keyset position (updatedAt, id), oldest
+     * first (served by idx_dormant_accounts_updated)
+     */
+    @Query("SELECT " + LIST_COLUMNS + ", da.updatedAt as updatedAt FROM DormantAccount da " +
+           "WHERE da.updatedAt >= :since AND (da.updatedAt > :since OR da.id > :afterId) " +
+           "ORDER BY da.updatedAt, da.id")
+    List<AccountChangeProjection> findChangedListItems(@Param("since") java.time.LocalDateTime since,
+                                                       @Param("afterId") Long afterId,
+                                                       org.springframework.data.domain.Pageable page);
+    
     /**
      * Get bank summaries with account count and total balance aggregation
      * Requirements: 3.2, 3.3
@@ -44,6 +97,110 @@ public interface DormantAccountRepository extends JpaRepository<DormantAccount,
            "ORDER BY da.bankName")
     List<BankSummaryProjection> getBankSummaries();
     
+    /**
+     * Find accounts matching the search/export filter model with afterId < id <= upToId
+     * (null = unbounded), in id order
+     * Requirements: 11.2
+     */
+    default List<DormantAccount> findAllMatchingInIdRange(AccountFilter filter, Long afterId, Long upToId) {
+        return findAll(DormantAccountSpecifications.matching(filter)
+            .and(DormantAccountSpecifications.idInRange(afterId, upToId)), Sort.by("id"));
+    }
+    
+    /**
+     * Dormancy aging buckets per bank and reclaim status in a single grouped pass.
+     * Buckets by last transaction date: newer than oneYearAgo, oneYearAgo..threeYearsAgo,
+     * threeYearsAgo..fiveYearsAgo, older than fiveYearsAgo, and unknown (no date).
+     * Query-cached per set of dates until the next write to dormant_accounts.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT da.bankName as bankName, da.reclaimStatus as reclaimStatus, " +
+           "SUM(CASE WHEN da.lastTransactionDate >= :oneYearAgo THEN 1 ELSE 0 END) as upToOneYearCount, " +
+           "SUM(CASE WHEN da.lastTransactionDate >= :oneYearAgo THEN da.balance ELSE 0 END) as upToOneYearBalance, " +
+           "SUM(CASE WHEN da.lastTransactionDate < :oneYearAgo AND da.lastTransactionDate >= :threeYearsAgo THEN 1 ELSE 0 END) as oneToThreeYearsCount, " +
+           "SUM(CASE WHEN da.lastTransactionDate < :oneYearAgo AND da.lastTransactionDate >= :threeYearsAgo THEN da.balance ELSE 0 END) as oneToThreeYearsBalance, " +
+           "SUM(CASE WHEN da.lastTransactionDate < :threeYearsAgo AND da.lastTransactionDate >= :fiveYearsAgo THEN 1 ELSE 0 END) as threeToFiveYearsCount, " +
+           "SUM(CASE WHEN da.lastTransactionDate < :threeYearsAgo AND da.lastTransactionDate >= :fiveYearsAgo THEN da.balance ELSE 0 END) as threeToFiveYearsBalance, " +
+           "SUM(CASE WHEN da.lastTransactionDate < :fiveYearsAgo THEN 1 ELSE 0 END) as overFiveYearsCount, " +
+           "SUM(CASE WHEN da.lastTransactionDate < :fiveYearsAgo THEN da.balance ELSE 0 END) as overFiveYearsBalance, " +
+           "SUM(CASE WHEN da.lastTransactionDate IS NULL THEN 1 ELSE 0 END) as unknownCount, " +
+           "SUM(CASE WHEN da.lastTransactionDate IS NULL THEN da.balance ELSE 0 END) as unknownBalance " +
+           "FROM DormantAccount da " +
+           "GROUP BY da.bankName, da.reclaimStatus " +
+           "ORDER BY da.bankName, da.reclaimStatus")
+    List<AgingProjection> getAgingBuckets(@Param("oneYearAgo") java.time.LocalDate oneYearAgo,
+                                          @Param("threeYearsAgo") java.time.LocalDate threeYearsAgo,
+                                          @Param("fiveYearsAgo") java.time.LocalDate fiveYearsAgo);
+    
+    /**
+     * Pre-aggregated rollup cube cells: bank x reclaim status x reclaim month x clawback month
+     */
+    @Query("SELECT da.bankName as bankName, da.reclaimStatus as reclaimStatus, " +
+           "YEAR(da.reclaimDate) as reclaimYear, MONTH(da.reclaimDate) as reclaimMonth, " +
+           "YEAR(da.clawbackDate) as clawbackYear, MONTH(da.clawbackDate) as clawbackMonth, " +
+           "COUNT(da) as accountCount, SUM(da.balance) as totalBalance " +
+           "FROM DormantAccount da " +
+           "GROUP BY da.bankName, da.reclaimStatus, YEAR(da.reclaimDate), MONTH(da.reclaimDate), " +
+           "YEAR(da.clawbackDate), MONTH(da.clawbackDate)")
+    java.util.stream.Stream<CubeCellProjection> streamCubeCells();
+    
+    /**
+     * Aggregate- and audit-relevant fields of the given accounts, read without hydrating entities
+     */
+    @Query("SELECT da.id as id, da.bankName as bankName, da.balance as balance, " +
+           "da.reclaimStatus as reclaimStatus, da.reclaimDate as reclaimDate, da.clawbackDate as clawbackDate, " +
+           "da.comments as comments, da.version as version " +
+           "FROM DormantAccount da WHERE da.id IN :ids")
+    List<AccountStateProjection> findStatesByIdIn(@Param("ids") java.util.Collection<Long> ids);
+    
+    /**
+     * Same as findStatesByIdIn but locks the rows (SELECT ... FOR UPDATE) until the transaction
+     * ends, so the state read is still current when the bulk UPDATE runs. Locked in id order
+     * to keep overlapping bulk updates from deadlocking.
+     */
+    @Lock(jakarta.persistence.LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT da.id as id, da.bankName as bankName, da.balance as balance, " +
+           "da.reclaimStatus as reclaimStatus, da.reclaimDate as reclaimDate, da.clawbackDate as clawbackDate, " +
+           "da.comments as comments, da.version as version " +
+           "FROM DormantAccount da WHERE da.id IN :ids ORDER BY da.id")
+    List<AccountStateProjection> lockStatesByIdIn(@Param("ids") java.util.Collection<Long> ids);
+    
+    /**
+     * Bank and balance of every account, for building balance distributions
+     */
+    @Query("SELECT da.bankName as bankName, da.balance as balance FROM DormantAccount da")
+    java.util.stream.Stream<BalanceProjection> streamBalances();
+    
+    /**
+     * Bank and balance of the accounts of one bank
+     */
+    @Query("SELECT da.bankName as bankName, da.balance as balance FROM DormantAccount da WHERE da.bankName = :bankName")
+    java.util.stream.Stream<BalanceProjection> streamBalancesByBank(@Param("bankName") String bankName);
+    
+    /**
+     * Projection interface for account list rows
+     */
+    interface AccountListProjection {
+        Long getId();
+        String getAccountNumber();
+        String getCustomerName();
+        String getBankName();
+        java.math.BigDecimal getBalance();
+        String getCustomerEmail();
+        com.bank.dormant.model.ReclaimStatus getReclaimStatus();
+        java.time.LocalDate getReclaimDate();
+        java.time.LocalDate getClawbackDate();
+        String getCommentsPreview();
+        Long getVersion();
+    }
+    
+    /**
+     * Projection interface for change feed rows: a list row and its last modification time
+     */
+    interface AccountChangeProjection extends AccountListProjection {
+        java.time.LocalDateTime getUpdatedAt();
+    }
+    
     /**
      * Projection interface for bank summary aggregation
      */
@@ -52,4 +209,58 @@ public interface DormantAccountRepository extends JpaRepository<DormantAccount,
         Long getAccountCount();
         java.math.BigDecimal getTotalBalance();
     }
+    
+    /**
+     * Projection interface for dormancy aging aggregation
+     */
+    interface AgingProjection {
+        String getBankName();
+        com.bank.dormant.model.ReclaimStatus getReclaimStatus();
+        Long getUpToOneYearCount();
+        java.math.BigDecimal getUpToOneYearBalance();
+        Long getOneToThreeYearsCount();
+        java.math.BigDecimal getOneToThreeYearsBalance();
+        Long getThreeToFiveYearsCount();
+        java.math.BigDecimal getThreeToFiveYearsBalance();
+        Long getOverFiveYearsCount();
+        java.math.BigDecimal getOverFiveYearsBalance();
+        Long getUnknownCount();
+        java.math.BigDecimal getUnknownBalance();
+    }
+    
+    /**
+     * Projection interface for rollup cube cells
+     */
+    interface CubeCellProjection {
+        String getBankName();
+        com.bank.dormant.model.ReclaimStatus getReclaimStatus();
+        Integer getReclaimYear();
+        Integer getReclaimMonth();
+        Integer getClawbackYear();
+        Integer getClawbackMonth();
+        Long getAccountCount();
+        java.math.BigDecimal getTotalBalance();
+    }
+    
+    /**
+     * Projection interface for account balances
+     */
+    interface BalanceProjection {
+        String getBankName();
+        java.math.BigDecimal getBalance();
+    }
+    
+    /**
+     * Projection interface for the aggregate- and audit-relevant fields of an account
+     */
+    interface AccountStateProjection {
+        Long getId();
+        String getBankName();
+        java.math.BigDecimal getBalance();
+        com.bank.dormant.model.ReclaimStatus getReclaimStatus();
+        java.time.LocalDate getReclaimDate();
+        java.time.LocalDate getClawbackDate();
+        String getComments();
+        Long getVersion();
+    }
 }
@@ -0,0 +1,45 @@
+package com.bank.dormant.repository;
+
+import com.bank.dormant.dto.AccountFilter;
+import com.bank.dormant.model.ReclaimStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository operations that need a query built at runtime
+ */
+public interface DormantAccountRepositoryCustom {
+    
+    /**
+     * Set-based bulk update of the given accounts without loading them.
+     * Only non-null values are assigned; updatedAt is always set and version is incremented.
+     * Returns the number of rows updated.
+     */
+    int bulkUpdate(Collection<Long> ids, ReclaimStatus reclaimStatus, LocalDate reclaimDate,
+                   LocalDate clawbackDate, String comments, LocalDateTime updatedAt);
+    
+    /**
+     * Conditional variant: only accounts still at expectedVersion are updated
+     * (null = no version condition). Rows held by a concurrent writer are re-checked
+     * after it commits, so a version changed in between is never overwritten.
+     */
+    int bulkUpdate(Collection<Long> ids, Long expectedVersion, ReclaimStatus reclaimStatus, LocalDate reclaimDate,
+                   LocalDate clawbackDate, String comments, LocalDateTime updatedAt);
+    
+    /**
+     * Ids of the accounts matching a filter, in ascending order, starting after afterId
+     * (null = from the start), at most limit of them. Keyset paging keeps later pages
+     * stable while earlier pages are being updated.
+     */
+    List<Long> findIdsMatching(AccountFilter filter, Long afterId, int limit);
+    
+    /**
+     * Id of the n-th account matching a filter after afterId (null = from the start), in
+     * ascending order, or null when fewer match. Cuts a filtered set into id ranges of n
+     * accounts without reading the ids in between.
+     */
+    Long findNthIdMatching(AccountFilter filter, Long afterId, int n);
+}
@@ -0,0 +1,105 @@
+package com.bank.dormant.repository;
+
+import com.bank.dormant.dto.AccountFilter;
+import com.bank.dormant.model.DormantAccount;
+import com.bank.dormant.model.ReclaimStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DormantAccountRepositoryCustomImpl implements DormantAccountRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public int bulkUpdate(Collection<Long> ids, ReclaimStatus reclaimStatus, LocalDate reclaimDate,
+                          LocalDate clawbackDate, String comments, LocalDateTime updatedAt) {
+        return bulkUpdate(ids, null, reclaimStatus, reclaimDate, clawbackDate, comments, updatedAt);
+    }
+    
+    @Override
+    public int bulkUpdate(Collection<Long> ids, Long expectedVersion, ReclaimStatus reclaimStatus,
+                          LocalDate reclaimDate, LocalDate clawbackDate, String comments,
+                          LocalDateTime updatedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        // Assign only the provided fields so every parameter binds with its attribute's type
+        Map<String, Object> assignments = new LinkedHashMap<>();
+        if (reclaimStatus != null) {
+            assignments.put("reclaimStatus", reclaimStatus);
+        }
+        if (reclaimDate != null) {
+            assignments.put("reclaimDate", reclaimDate);
+        }
+        if (clawbackDate != null) {
+            assignments.put("clawbackDate", clawbackDate);
+        }
+        if (comments != null) {
+            assignments.put("comments", comments);
+        }
+        assignments.put("updatedAt", updatedAt);
+        
+        StringBuilder jpql = new StringBuilder("UPDATE DormantAccount da SET ");
+        String separator = "";
+        for (String field : assignments.keySet()) {
+            jpql.append(separator).append("da.").append(field).append(" = :").append(field);
+            separator = ", ";
+        }
+        // Bump the optimistic lock version like an entity update would
+        jpql.append(", da.version = da.version + 1");
+        jpql.append(" WHERE da.id IN :ids");
+        if (expectedVersion != null) {
+            jpql.append(" AND da.version = :expectedVersion");
+        }
+        
+        Query query = entityManager.createQuery(jpql.toString());
+        assignments.forEach(query::setParameter);
+        query.setParameter("ids", ids);
+        if (expectedVersion != null) {
+            query.setParameter("expectedVersion", expectedVersion);
+        }
+        return query.executeUpdate();
+    }
+    
+    @Override
+    public List<Long> findIdsMatching(AccountFilter filter, Long afterId, int limit) {
+        return entityManager.createQuery(idsMatching(filter, afterId))
+            .setMaxResults(limit)
+            .getResultList();
+    }
+    
+    @Override
+    public Long findNthIdMatching(AccountFilter filter, Long afterId, int n) {
+        List<Long> nth = entityManager.createQuery(idsMatching(filter, afterId))
+            .setFirstResult(n - 1)
+            .setMaxResults(1)
+            .getResultList();
+        return nth.isEmpty() ? null : nth.get(0);
+    }
+    
+    private CriteriaQuery<Long> idsMatching(AccountFilter filter, Long afterId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<DormantAccount> root = query.from(DormantAccount.class);
+        
+        Predicate predicate = DormantAccountSpecifications.matching(filter).toPredicate(root, query, cb);
+        if (afterId != null) {
+            predicate = cb.and(predicate, cb.greaterThan(root.get("id"), afterId));
+        }
+        return query.select(root.get("id")).where(predicate).orderBy(cb.asc(root.get("id")));
+    }
+}
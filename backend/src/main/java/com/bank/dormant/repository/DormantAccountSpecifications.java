@@ -0,0 +1,77 @@
+package com.bank.dormant.repository;
+
+import com.bank.dormant.dto.AccountFilter;
+import com.bank.dormant.model.DormantAccount;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * JPA specifications translating an {@link AccountFilter} into SQL predicates
+ * so filtering runs in the database instead of in Java
+ * Requirements: 4.1, 11.2
+ */
+public final class DormantAccountSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private DormantAccountSpecifications() {
+    }
+
+    /**
+     * Same semantics as ReportService.applyFilters: case-insensitive "contains" on
+     * account number, bank name, customer name and email; case-insensitive bank
+     * name equality; exact reclaim status
+     */
+    public static Specification<DormantAccount> matching(AccountFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.hasSearchTerm()) {
+                String pattern = "%" + escapeLike(filter.getSearchTerm().toLowerCase(Locale.ROOT)) + "%";
+                predicates.add(cb.or(
+                    cb.like(cb.lower(root.get("accountNumber")), pattern, LIKE_ESCAPE),
+                    cb.like(cb.lower(root.get("bankName")), pattern, LIKE_ESCAPE),
+                    cb.like(cb.lower(root.get("customerName")), pattern, LIKE_ESCAPE),
+                    cb.like(cb.lower(root.get("customerEmail")), pattern, LIKE_ESCAPE)
+                ));
+            }
+
+            if (filter.hasBankName()) {
+                predicates.add(cb.equal(cb.lower(root.get("bankName")), filter.getBankName().toLowerCase(Locale.ROOT)));
+            }
+
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("reclaimStatus"), filter.getStatus()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * afterId < id <= upToId; a null bound is left open
+     */
+    public static Specification<DormantAccount> idInRange(Long afterId, Long upToId) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (afterId != null) {
+                predicates.add(cb.greaterThan(root.get("id"), afterId));
+            }
+            if (upToId != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("id"), upToId));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+    }
+}
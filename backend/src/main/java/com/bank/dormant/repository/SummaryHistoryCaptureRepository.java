@@ -0,0 +1,23 @@
+package com.bank.dormant.repository;
+
+import com.bank.dormant.model.SummaryHistoryCapture;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface SummaryHistoryCaptureRepository extends JpaRepository<SummaryHistoryCapture, LocalDate> {
+    
+    /**
+     * The day's capture row, locked until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM SummaryHistoryCapture c WHERE c.snapshotDate = :snapshotDate")
+    Optional<SummaryHistoryCapture> lockBySnapshotDate(@Param("snapshotDate") LocalDate snapshotDate);
+}
@@ -1,8 +1,6 @@
 package com.bank.dormant.security;
 
-import com.bank.dormant.model.Role;
 import com.bank.dormant.model.User;
-import com.bank.dormant.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,7 +28,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtil jwtUtil;
     
     @Autowired
-    private UserRepository userRepository;
+    private UserPrincipalCache userPrincipalCache;
+    
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -39,48 +40,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         // Extract JWT token from Authorization header
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
         
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            try {
-                username = jwtUtil.getUsernameFromToken(token);
-            } catch (Exception e) {
+        // Verify the token once and set security context
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Optional<JwtPrincipal> principal = jwtUtil.verify(authHeader.substring(7));
+            if (principal.isEmpty()) {
                 // Invalid token format or expired
-                logger.warn("Failed to extract username from token: " + e.getMessage());
-            }
-        }
-        
-        // Validate token and set security context
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(token)) {
-                // Load user from database
-                Optional<User> userOptional = userRepository.findByUsername(username);
+                logger.debug("Rejected invalid or expired JWT");
+            } else if (tokenRevocationList.isRevoked(principal.get().tokenId())) {
+                // Logged out before expiry (in-memory lookup)
+                logger.debug("Rejected revoked JWT");
+            } else {
+                // Load user (cached; evicted as soon as the user is changed)
+                Optional<User> userOptional = userPrincipalCache.findByUsername(principal.get().username());
                 
-                if (userOptional.isPresent()) {
-                    User user = userOptional.get();
+                // Check if user is active
+                if (userOptional.isPresent() && userOptional.get().getActive()) {
+                    // Current role of the user, so a role change applies before the token expires
+                    SimpleGrantedAuthority authority =
+                        new SimpleGrantedAuthority("ROLE_" + userOptional.get().getRole().name());
+                    UsernamePasswordAuthenticationToken authToken = 
+                        new UsernamePasswordAuthenticationToken(
+                            userOptional.get(), 
+                            null, 
+                            Collections.singletonList(authority)
+                        );
+                    
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     
-                    // Check if user is active
-                    if (user.getActive()) {
-                        // Extract role from token
-                        String roleFromToken = jwtUtil.getRoleFromToken(token);
-                        Role role = Role.valueOf(roleFromToken);
-                        
-                        // Create authentication token with role
-                        SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role.name());
-                        UsernamePasswordAuthenticationToken authToken = 
-                            new UsernamePasswordAuthenticationToken(
-                                user, 
-                                null, 
-                                Collections.singletonList(authority)
-                            );
-                        
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        
-                        // Set authentication in security context
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                    }
+                    // Set authentication in security context
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
             }
         }
@@ -0,0 +1,16 @@
+package com.bank.dormant.security;
+
+import com.bank.dormant.model.Role;
+
+import java.time.Instant;
+
+/**
+ * Claims of a verified JWT: the result of one signature check, reused for the
+ * rest of the request. tokenId is the jti claim (null for tokens issued without one).
+ */
+public record JwtPrincipal(String username, Long userId, Role role, String tokenId, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
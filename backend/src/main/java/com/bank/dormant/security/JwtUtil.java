@@ -1,18 +1,28 @@
 package com.bank.dormant.security;
 
+import com.bank.dormant.model.Role;
 import com.bank.dormant.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
@@ -27,9 +37,34 @@ public class JwtUtil {
     @Value("${jwt.issuer}")
     private String issuer;
     
+    @Value("${jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+    
+    private SecretKey signingKey;
+    private JwtParser parser;
+    
+    // Recently verified tokens by SHA-256 of the token, dropped once expired (LRU bounded)
+    private Map<String, JwtPrincipal> verified;
+    
+    /**
+     * Build the key and the (thread-safe) parser once instead of per call
+     */
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verified = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JwtPrincipal> eldest) {
+                return size() > verifiedCacheSize;
+            }
+        };
+    }
+    
     private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
     
     /**
@@ -40,29 +75,72 @@ public class JwtUtil {
         claims.put("role", user.getRole().name());
         claims.put("userId", user.getId());
         
+        long now = System.currentTimeMillis();
+        // The HMAC algorithm follows the key size (HS512 for a 512-bit secret)
         return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(user.getUsername())
-                .setIssuer(issuer)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .claims(claims)
+                .subject(user.getUsername())
+                .id(UUID.randomUUID().toString())
+                .issuer(issuer)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
+                .signWith(getSigningKey())
                 .compact();
     }
     
     /**
-     * Validate JWT token
+     * Verify a token once - signature, expiry and claims - and return its principal;
+     * empty if the token is invalid or expired. Tokens verified earlier are answered
+     * from the cache until they expire.
      */
-    public boolean validateToken(String token) {
+    public Optional<JwtPrincipal> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        String key = hash(token);
+        Instant now = Instant.now();
+        synchronized (verified) {
+            JwtPrincipal cached = verified.get(key);
+            if (cached != null) {
+                if (!cached.isExpired(now)) {
+                    return Optional.of(cached);
+                }
+                verified.remove(key);
+            }
+        }
+        
+        JwtPrincipal principal;
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
+            // Rejects bad signatures and expired tokens
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            String role = claims.get("role", String.class);
+            if (claims.getSubject() == null || role == null || claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            principal = new JwtPrincipal(
+                    claims.getSubject(),
+                    claims.get("userId", Long.class),
+                    Role.valueOf(role),
+                    claims.getId(),
+                    claims.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        
+        if (verifiedCacheSize > 0) {
+            synchronized (verified) {
+                verified.put(key, principal);
+            }
         }
+        return Optional.of(principal);
+    }
+    
+    /**
+     * Validate JWT token
+     */
+    public boolean validateToken(String token) {
+        return verify(token).isPresent();
     }
     
     /**
@@ -95,14 +173,6 @@ public class JwtUtil {
         return getClaimFromToken(token, Claims::getExpiration);
     }
     
-    /**
-     * Check if token is expired
-     */
-    private boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
-    }
-    
     /**
      * Extract specific claim from token
      */
@@ -115,10 +185,15 @@ public class JwtUtil {
      * Extract all claims from token
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+    
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -0,0 +1,30 @@
+package com.bank.dormant.security;
+
+/**
+ * A login attempt refused before the password was checked: the caller exceeded its
+ * attempt budget (THROTTLED) or the password verification pool is saturated (BUSY)
+ */
+public class LoginRejectedException extends RuntimeException {
+
+    public enum Reason {
+        THROTTLED,
+        BUSY
+    }
+
+    private final Reason reason;
+    private final long retryAfterSeconds;
+
+    public LoginRejectedException(Reason reason, long retryAfterSeconds, String message) {
+        super(message);
+        this.reason = reason;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
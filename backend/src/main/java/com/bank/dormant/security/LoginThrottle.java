@@ -0,0 +1,112 @@
+package com.bank.dormant.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket throttling of login attempts per username and per client IP, checked
+ * before any user lookup or password hashing. Each attempt takes one token from both
+ * buckets; buckets refill continuously up to their capacity. Full buckets are dropped
+ * periodically, so only recently active callers are tracked.
+ */
+@Component
+public class LoginThrottle {
+
+    private final BucketPolicy usernamePolicy;
+    private final BucketPolicy ipPolicy;
+    private final LongSupplier clock;
+    private final Map<String, Bucket> usernameBuckets = new ConcurrentHashMap<>();
+    private final Map<String, Bucket> ipBuckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LoginThrottle(@Value("${auth.throttle.username.capacity:5}") int usernameCapacity,
+                         @Value("${auth.throttle.username.refill-per-minute:5}") double usernameRefillPerMinute,
+                         @Value("${auth.throttle.ip.capacity:20}") int ipCapacity,
+                         @Value("${auth.throttle.ip.refill-per-minute:20}") double ipRefillPerMinute) {
+        this(new BucketPolicy(usernameCapacity, usernameRefillPerMinute),
+            new BucketPolicy(ipCapacity, ipRefillPerMinute), System::currentTimeMillis);
+    }
+
+    LoginThrottle(BucketPolicy usernamePolicy, BucketPolicy ipPolicy, LongSupplier clock) {
+        this.usernamePolicy = usernamePolicy;
+        this.ipPolicy = ipPolicy;
+        this.clock = clock;
+    }
+
+    /**
+     * Take a token for this attempt or throw a THROTTLED LoginRejectedException
+     */
+    public void acquire(String username, String clientIp) {
+        long now = clock.getAsLong();
+        long ipWait = take(ipBuckets, ipPolicy, clientIp == null ? "unknown" : clientIp, now);
+        long usernameWait = username == null ? 0
+            : take(usernameBuckets, usernamePolicy, username.trim().toLowerCase(Locale.ROOT), now);
+        long waitMillis = Math.max(ipWait, usernameWait);
+        if (waitMillis > 0) {
+            throw new LoginRejectedException(LoginRejectedException.Reason.THROTTLED,
+                Math.max(1, (waitMillis + 999) / 1000), "Too many login attempts, try again later");
+        }
+    }
+
+    /**
+     * Forget callers whose buckets have refilled completely
+     */
+    @Scheduled(fixedDelayString = "${auth.throttle.cleanup-interval-ms:60000}")
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        usernameBuckets.values().removeIf(bucket -> bucket.isFull(usernamePolicy, now));
+        ipBuckets.values().removeIf(bucket -> bucket.isFull(ipPolicy, now));
+    }
+
+    /**
+     * 0 if a token was taken, otherwise milliseconds until one is available
+     */
+    private static long take(Map<String, Bucket> buckets, BucketPolicy policy, String key, long now) {
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(policy.capacity, now));
+        return bucket.take(policy, now);
+    }
+
+    record BucketPolicy(int capacity, double refillPerMinute) {
+        double tokensPerMilli() {
+            return refillPerMinute / 60_000.0;
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedAt;
+
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.updatedAt = now;
+        }
+
+        synchronized long take(BucketPolicy policy, long now) {
+            refill(policy, now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / policy.tokensPerMilli());
+        }
+
+        synchronized boolean isFull(BucketPolicy policy, long now) {
+            refill(policy, now);
+            return tokens >= policy.capacity;
+        }
+
+        private void refill(BucketPolicy policy, long now) {
+            if (now > updatedAt) {
+                tokens = Math.min(policy.capacity, tokens + (now - updatedAt) * policy.tokensPerMilli());
+                updatedAt = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.bank.dormant.security;
+
+import com.bank.dormant.model.RevokedToken;
+import com.bank.dormant.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+
+/**
+ * Access tokens revoked before they expire, by jti. The JWT filter checks every
+ * request against an in-memory map (one hash lookup, no database access). Each entry
+ * is also filed in a timing wheel slot by its token's expiry; a tick every tick-ms
+ * drains the slots that came due, so an entry lives only as long as its token could.
+ * The wheel spans the access token lifetime; entries expiring further out go round
+ * again. Revocations are written to revoked_tokens and reloaded at startup.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final RevokedTokenRepository repository;
+    private final long tickMillis;
+    private final LongSupplier clock;
+    // jti -> expiry of the token (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Queue<String>[] wheel;
+    private long lastTick;
+
+    @Autowired
+    public TokenRevocationList(RevokedTokenRepository repository, MeterRegistry meterRegistry,
+                               @Value("${jwt.expiration}") long tokenLifetimeMillis,
+                               @Value("${jwt.revocation.tick-ms:1000}") long tickMillis) {
+        this(repository, tokenLifetimeMillis, tickMillis, System::currentTimeMillis);
+        Gauge.builder("jwt.revocations.size", revoked, Map::size).register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    TokenRevocationList(RevokedTokenRepository repository, long tokenLifetimeMillis, long tickMillis,
+                        LongSupplier clock) {
+        this.repository = repository;
+        this.tickMillis = Math.max(1, tickMillis);
+        this.clock = clock;
+        int slots = (int) (tokenLifetimeMillis / this.tickMillis) + 2;
+        this.wheel = new Queue[slots];
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.lastTick = clock.getAsLong() / this.tickMillis;
+    }
+
+    /**
+     * Whether the token with this jti was revoked
+     */
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.containsKey(tokenId);
+    }
+
+    /**
+     * Revoke a verified token until it expires. Tokens without a jti cannot be revoked
+     * and simply run out.
+     */
+    public void revoke(JwtPrincipal principal) {
+        long expiresAt = principal.expiresAt().toEpochMilli();
+        if (principal.tokenId() == null || expiresAt <= clock.getAsLong()) {
+            return;
+        }
+        if (revoked.containsKey(principal.tokenId())) {
+            return;
+        }
+        // Persist first so a revocation that is in force survives a restart
+        repository.save(new RevokedToken(principal.tokenId(), principal.userId(),
+            toDateTime(expiresAt), toDateTime(clock.getAsLong())));
+        if (revoked.putIfAbsent(principal.tokenId(), expiresAt) == null) {
+            schedule(principal.tokenId(), expiresAt);
+        }
+    }
+
+    /**
+     * Reload revocations whose tokens have not expired yet
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<RevokedToken> active = repository.findByExpiresAtAfter(toDateTime(clock.getAsLong()));
+        for (RevokedToken token : active) {
+            long expiresAt = token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            if (revoked.putIfAbsent(token.getJti(), expiresAt) == null) {
+                schedule(token.getJti(), expiresAt);
+            }
+        }
+        if (!active.isEmpty()) {
+            logger.info("Loaded {} revoked access tokens", active.size());
+        }
+    }
+
+    /**
+     * Advance the wheel to now, dropping entries whose tokens have expired
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.tick-ms:1000}")
+    public void tick() {
+        long now = clock.getAsLong();
+        long currentTick = now / tickMillis;
+        // After a long pause one pass over the whole wheel is enough
+        long from = Math.max(lastTick + 1, currentTick - wheel.length + 1);
+        for (long t = from; t <= currentTick; t++) {
+            Queue<String> slot = wheel[(int) (t % wheel.length)];
+            List<String> notDue = new ArrayList<>();
+            String tokenId;
+            while ((tokenId = slot.poll()) != null) {
+                Long expiresAt = revoked.get(tokenId);
+                if (expiresAt == null) {
+                    continue;
+                }
+                if (expiresAt <= now) {
+                    revoked.remove(tokenId, expiresAt);
+                } else {
+                    notDue.add(tokenId);
+                }
+            }
+            // Expires in a later round of the wheel
+            slot.addAll(notDue);
+        }
+        lastTick = currentTick;
+    }
+
+    /**
+     * Delete persisted revocations of tokens that have expired
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.cleanup-interval-ms:3600000}",
+               initialDelayString = "${jwt.revocation.cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        repository.deleteExpired(toDateTime(clock.getAsLong()));
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    private void schedule(String tokenId, long expiresAt) {
+        wheel[(int) ((expiresAt / tickMillis) % wheel.length)].add(tokenId);
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.dormant.security;
+
+import com.bank.dormant.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Drops a user from {@link UserPrincipalCache} when it is updated (e.g. deactivated
+ * or given another role) or deleted. Evicts at flush and again after commit, so a
+ * request that re-read the old row in between cannot keep it cached.
+ */
+@Component
+public class UserCacheInvalidationListener {
+
+    // Resolved lazily: Hibernate creates this listener while the EntityManagerFactory
+    // (which the cache's repository needs) is still being built
+    private final ObjectProvider<UserPrincipalCache> userPrincipalCacheProvider;
+
+    @Autowired
+    public UserCacheInvalidationListener(ObjectProvider<UserPrincipalCache> userPrincipalCacheProvider) {
+        this.userPrincipalCacheProvider = userPrincipalCacheProvider;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        UserPrincipalCache userPrincipalCache = userPrincipalCacheProvider.getObject();
+        String username = user.getUsername();
+        userPrincipalCache.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    userPrincipalCache.invalidate(username);
+                }
+            });
+        }
+    }
+}
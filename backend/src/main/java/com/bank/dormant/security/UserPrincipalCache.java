@@ -0,0 +1,104 @@
+package com.bank.dormant.security;
+
+import com.bank.dormant.model.User;
+import com.bank.dormant.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Users looked up by the JWT filter, kept for a short TTL in a bounded LRU map so an
+ * authenticated request only queries the users table on a miss. Entries are dropped
+ * as soon as a user is updated or deleted (see {@link UserCacheInvalidationListener});
+ * the TTL bounds staleness for changes made outside JPA.
+ * Hits and misses are counted as cache.gets{cache=users,result=hit|miss}.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+    // Bumped by every invalidation; a load that raced one is not cached
+    private long invalidations;
+
+    @Autowired
+    public UserPrincipalCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                              @Value("${jwt.user-cache.max-entries:10000}") int maxEntries,
+                              @Value("${jwt.user-cache.ttl-ms:30000}") long ttlMillis) {
+        this(userRepository, meterRegistry, maxEntries, ttlMillis, System::currentTimeMillis);
+    }
+
+    UserPrincipalCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                       int maxEntries, long ttlMillis, LongSupplier clock) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = meterRegistry.counter("cache.gets", "cache", "users", "result", "hit");
+        this.misses = meterRegistry.counter("cache.gets", "cache", "users", "result", "miss");
+        Gauge.builder("cache.hit.ratio", this, UserPrincipalCache::hitRatio)
+            .tag("cache", "users")
+            .register(meterRegistry);
+        Gauge.builder("cache.size", this, UserPrincipalCache::size)
+            .tag("cache", "users")
+            .register(meterRegistry);
+    }
+
+    /**
+     * The user with this username, from the cache when fresh
+     */
+    public Optional<User> findByUsername(String username) {
+        long generation;
+        synchronized (this) {
+            Entry entry = entries.get(username);
+            if (entry != null && clock.getAsLong() - entry.loadedAt < ttlMillis) {
+                hits.increment();
+                return Optional.of(entry.user);
+            }
+            misses.increment();
+            generation = invalidations;
+        }
+
+        Optional<User> user = userRepository.findByUsername(username);
+        synchronized (this) {
+            if (user.isPresent() && generation == invalidations) {
+                entries.put(username, new Entry(user.get(), clock.getAsLong()));
+            }
+        }
+        return user;
+    }
+
+    public synchronized void invalidate(String username) {
+        invalidations++;
+        entries.remove(username);
+    }
+
+    public synchronized double size() {
+        return entries.size();
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private record Entry(User user, long loadedAt) {
+    }
+}
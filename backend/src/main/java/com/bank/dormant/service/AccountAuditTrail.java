@@ -0,0 +1,274 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.event.AccountChange;
+import com.bank.dormant.event.AccountSnapshot;
+import com.bank.dormant.event.AccountsChangedEvent;
+import com.bank.dormant.model.AccountChangeType;
+import com.bank.dormant.model.AccountHistory;
+import com.bank.dormant.model.User;
+import com.bank.dormant.repository.AccountHistoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only history of account changes (reclaim status, dates, comments), written
+ * off the request path. Committed changes are turned into history entries and put on
+ * a bounded in-process queue; one writer thread drains whatever has accumulated, up to
+ * batch-size entries, and inserts it in one transaction. While the queue is full,
+ * writers of account changes wait for room (backpressure) instead of dropping entries.
+ * A failed batch is retried up to max-attempts times, then written row by row so one
+ * bad entry cannot hold up the rest; entries that still fail are logged in full to the
+ * dead-letter logger (accounts.audit.dead-letter) and counted. On shutdown the queue is
+ * flushed.
+ */
+@Service
+public class AccountAuditTrail {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountAuditTrail.class);
+    private static final Logger deadLetter = LoggerFactory.getLogger("accounts.audit.dead-letter");
+    private static final long POLL_MILLIS = 100;
+
+    private final AccountHistoryRepository repository;
+    private final TransactionTemplate batchTransaction;
+    private final BlockingQueue<AccountHistory> queue;
+    private final int batchSize;
+    private final long retryDelayMillis;
+    private final int maxAttempts;
+    private final long shutdownTimeoutMillis;
+    private final Counter written;
+    private final Counter backpressureWaits;
+    private final Counter deadLettered;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    @Autowired
+    public AccountAuditTrail(AccountHistoryRepository repository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${accounts.audit.queue-capacity:10000}") int queueCapacity,
+                             @Value("${accounts.audit.batch-size:500}") int batchSize,
+                             @Value("${accounts.audit.retry-delay-ms:1000}") long retryDelayMillis,
+                             @Value("${accounts.audit.max-attempts:5}") int maxAttempts,
+                             @Value("${accounts.audit.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis) {
+        this.repository = repository;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.retryDelayMillis = retryDelayMillis;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.written = meterRegistry.counter("accounts.audit.written");
+        this.backpressureWaits = meterRegistry.counter("accounts.audit.backpressure");
+        this.deadLettered = meterRegistry.counter("accounts.audit.dead-lettered");
+        Gauge.builder("accounts.audit.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+        this.writer = new Thread(this::drain, "account-audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queue history entries for a committed write. Updates that leave the audited
+     * fields unchanged are not recorded.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountsChanged(AccountsChangedEvent event) {
+        String changedBy = event.getActor() != null ? event.getActor() : currentUsername();
+        LocalDateTime changedAt = LocalDateTime.now();
+        for (AccountChange change : event.getChanges()) {
+            AccountHistory entry = toEntry(change, changedBy, changedAt);
+            if (entry != null) {
+                enqueue(entry);
+            }
+        }
+    }
+
+    /**
+     * History of one account, newest first. Entries are written asynchronously, so a
+     * change from the last moments may not be listed yet.
+     */
+    public List<AccountHistory> getHistory(Long accountId) {
+        return repository.findByAccountIdOrderByChangedAtDescIdDesc(accountId);
+    }
+
+    /**
+     * Entries waiting to be written
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Stop the writer after it has written everything queued so far
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        try {
+            writer.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.error("Audit writer did not finish within {} ms; {} history entries were not written",
+                shutdownTimeoutMillis, queue.size());
+            return;
+        }
+        // Entries queued while the writer was finishing
+        List<AccountHistory> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            writeOrDeadLetter(rest);
+        }
+    }
+
+    private void enqueue(AccountHistory entry) {
+        try {
+            if (queue.offer(entry)) {
+                return;
+            }
+            backpressureWaits.increment();
+            while (running) {
+                if (queue.offer(entry, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // The writer is stopping (or this thread was interrupted): write the entry directly
+        writeOrDeadLetter(List.of(entry));
+    }
+
+    private void drain() {
+        List<AccountHistory> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AccountHistory first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeWithRetry(List<AccountHistory> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                write(batch);
+                return;
+            } catch (RuntimeException e) {
+                // Ids assigned by the rolled-back attempt are not in the table
+                batch.forEach(entry -> entry.setId(null));
+                if (attempt >= maxAttempts || !running) {
+                    log.warn("Writing {} history entries failed {} time(s), writing them one by one: {}",
+                        batch.size(), attempt, e.getMessage());
+                    writeOrDeadLetter(batch);
+                    return;
+                }
+                log.warn("Writing {} history entries failed, retrying in {} ms: {}",
+                    batch.size(), retryDelayMillis, e.getMessage());
+                Thread.sleep(retryDelayMillis);
+            }
+        }
+    }
+
+    /**
+     * Write entry by entry; an entry that cannot be written is dead-lettered
+     */
+    private void writeOrDeadLetter(List<AccountHistory> entries) {
+        for (AccountHistory entry : entries) {
+            try {
+                write(List.of(entry));
+            } catch (RuntimeException e) {
+                entry.setId(null);
+                deadLettered.increment();
+                deadLetter.error("accountId={} changeType={} changedBy={} changedAt={} "
+                        + "reclaimStatus={}->{} reclaimDate={}->{} clawbackDate={}->{} comments={}->{}: {}",
+                    entry.getAccountId(), entry.getChangeType(), entry.getChangedBy(), entry.getChangedAt(),
+                    entry.getOldReclaimStatus(), entry.getNewReclaimStatus(),
+                    entry.getOldReclaimDate(), entry.getNewReclaimDate(),
+                    entry.getOldClawbackDate(), entry.getNewClawbackDate(),
+                    entry.getOldComments(), entry.getNewComments(), e.getMessage());
+            }
+        }
+    }
+
+    private void write(List<AccountHistory> entries) {
+        batchTransaction.executeWithoutResult(status -> repository.saveAll(entries));
+        written.increment(entries.size());
+    }
+
+    static AccountHistory toEntry(AccountChange change, String changedBy, LocalDateTime changedAt) {
+        AccountSnapshot before = change.before();
+        AccountSnapshot after = change.after();
+        AccountChangeType type = before == null ? AccountChangeType.CREATED
+            : after == null ? AccountChangeType.DELETED : AccountChangeType.UPDATED;
+        if (type == AccountChangeType.UPDATED
+                && before.reclaimStatus() == after.reclaimStatus()
+                && Objects.equals(before.reclaimDate(), after.reclaimDate())
+                && Objects.equals(before.clawbackDate(), after.clawbackDate())
+                && Objects.equals(before.comments(), after.comments())) {
+            return null;
+        }
+
+        AccountHistory entry = new AccountHistory();
+        entry.setAccountId(before != null ? before.id() : after.id());
+        entry.setChangeType(type);
+        if (before != null) {
+            entry.setOldReclaimStatus(before.reclaimStatus());
+            entry.setOldReclaimDate(before.reclaimDate());
+            entry.setOldClawbackDate(before.clawbackDate());
+            entry.setOldComments(before.comments());
+        }
+        if (after != null) {
+            entry.setNewReclaimStatus(after.reclaimStatus());
+            entry.setNewReclaimDate(after.reclaimDate());
+            entry.setNewClawbackDate(after.clawbackDate());
+            entry.setNewComments(after.comments());
+        }
+        entry.setChangedBy(changedBy);
+        entry.setChangedAt(changedAt);
+        return entry;
+    }
+
+    /**
+     * User of the current request; null for work without one
+     */
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getUsername();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,156 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.config.ReadWriteRoutingDataSource;
+import com.bank.dormant.dto.AccountChangesResponse;
+import com.bank.dormant.repository.AccountTombstoneRepository;
+import com.bank.dormant.repository.DormantAccountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Incremental account sync for clients holding a local copy of the account list.
+ * The cursor is a keyset position (updatedAt, id): a request returns the accounts
+ * modified after it, oldest first. Without a cursor the feed starts from the beginning,
+ * which doubles as the initial load.
+ * <p>
+ * The cursor also carries the time deletions are reported from: the position the client
+ * was last caught up at, or the start of the initial load. It is carried unchanged
+ * across the pages of one catch-up, so paging through rows untouched for longer than
+ * the tombstone retention does not expire the cursor; only a client that has not caught
+ * up within the retention has to reload.
+ * <p>
+ * A transaction still in flight can commit rows whose updatedAt is earlier than rows
+ * already returned. Once the feed has caught up, the cursor is therefore held
+ * overlap-ms behind now, and the rows of that window are sent again on the next poll
+ * (clients upsert by id, so repeats are harmless). Account write transactions are
+ * bounded by accounts.write-timeout-seconds, which must be shorter than the overlap:
+ * a row stamped in a transaction still open at a poll commits before its stamp falls
+ * out of the window. The feed reads the primary: the overlap does not cover replica lag.
+ */
+@Service
+public class AccountChangeFeed {
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final String SEPARATOR = "_";
+
+    private final DormantAccountRepository accountRepository;
+    private final AccountTombstoneRepository tombstoneRepository;
+    private final int pageSize;
+    private final Duration overlap;
+    private final Duration tombstoneRetention;
+    private final Clock clock;
+
+    @Autowired
+    public AccountChangeFeed(DormantAccountRepository accountRepository,
+                             AccountTombstoneRepository tombstoneRepository,
+                             @Value("${accounts.changes.page-size:1000}") int pageSize,
+                             @Value("${accounts.changes.overlap-ms:30000}") long overlapMillis,
+                             @Value("${accounts.write-timeout-seconds:20}") int writeTimeoutSeconds,
+                             @Value("${accounts.changes.tombstone-retention-ms:604800000}") long retentionMillis) {
+        this(accountRepository, tombstoneRepository, pageSize, overlapMillis, writeTimeoutSeconds, retentionMillis,
+            Clock.systemDefaultZone());
+    }
+
+    AccountChangeFeed(DormantAccountRepository accountRepository, AccountTombstoneRepository tombstoneRepository,
+                      int pageSize, long overlapMillis, int writeTimeoutSeconds, long retentionMillis, Clock clock) {
+        if (writeTimeoutSeconds <= 0 || Duration.ofSeconds(writeTimeoutSeconds).toMillis() >= overlapMillis) {
+            throw new IllegalArgumentException("accounts.changes.overlap-ms (" + overlapMillis
+                + ") must exceed accounts.write-timeout-seconds (" + writeTimeoutSeconds + ")");
+        }
+        this.accountRepository = accountRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.pageSize = Math.max(1, pageSize);
+        this.overlap = Duration.ofMillis(overlapMillis);
+        this.tombstoneRetention = Duration.ofMillis(retentionMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * Changes after the cursor (null or blank: everything).
+     * Throws IllegalArgumentException for a malformed cursor and
+     * ChangeCursorExpiredException for one older than the tombstone retention.
+     */
+    @Transactional(readOnly = true)
+    public AccountChangesResponse changesSince(String cursor) {
+        return ReadWriteRoutingDataSource.onPrimary(() -> load(cursor));
+    }
+
+    private AccountChangesResponse load(String cursor) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Position since = cursor == null || cursor.isBlank() ? null : Position.parse(cursor);
+        if (since != null && since.deletedSince().isBefore(now.minus(tombstoneRetention))) {
+            throw new ChangeCursorExpiredException("Cursor is older than the tombstone retention");
+        }
+
+        // A full load has no earlier copy to delete from; deletions in transactions
+        // still in flight when it starts are covered by the overlap
+        Position from = since != null ? since : new Position(BEGINNING, 0L, now.minus(overlap));
+        List<DormantAccountRepository.AccountChangeProjection> changed =
+            accountRepository.findChangedListItems(from.updatedAt(), from.id(), PageRequest.of(0, pageSize));
+        List<Long> deleted = since != null ? tombstoneRepository.findDeletedIdsSince(since.deletedSince()) : List.of();
+
+        boolean hasMore = changed.size() == pageSize;
+        Position next;
+        if (hasMore) {
+            DormantAccountRepository.AccountChangeProjection last = changed.get(changed.size() - 1);
+            next = new Position(last.getUpdatedAt(), last.getId(), from.deletedSince());
+        } else {
+            // Caught up: continue from the start of the overlap window
+            LocalDateTime horizon = now.minus(overlap);
+            Position caughtUp = new Position(horizon, 0L, horizon);
+            next = caughtUp.isAfter(from) ? caughtUp : from;
+        }
+        return new AccountChangesResponse(changed, deleted, next.format(), hasMore);
+    }
+
+    /**
+     * Delete tombstones no valid cursor can reach any more
+     */
+    @Scheduled(fixedDelayString = "${accounts.changes.cleanup-interval-ms:3600000}",
+               initialDelayString = "${accounts.changes.cleanup-interval-ms:3600000}")
+    public void deleteExpiredTombstones() {
+        tombstoneRepository.deleteOlderThan(LocalDateTime.now(clock).minus(tombstoneRetention));
+    }
+
+    /**
+     * Keyset position and the time deletions are reported from; formatted as
+     * {@code <updatedAt ISO-8601>_<id>_<deletedSince ISO-8601>}. Cursors issued
+     * before deletedSince was added ({@code <updatedAt>_<id>}) report deletions
+     * since updatedAt.
+     */
+    private record Position(LocalDateTime updatedAt, Long id, LocalDateTime deletedSince) {
+
+        static Position parse(String cursor) {
+            String[] parts = cursor.split(SEPARATOR, -1);
+            if (parts.length != 2 && parts.length != 3) {
+                throw new IllegalArgumentException("Malformed cursor: " + cursor);
+            }
+            try {
+                LocalDateTime updatedAt = LocalDateTime.parse(parts[0]);
+                return new Position(updatedAt, Long.parseLong(parts[1]),
+                    parts.length == 3 ? LocalDateTime.parse(parts[2]) : updatedAt);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Malformed cursor: " + cursor, e);
+            }
+        }
+
+        boolean isAfter(Position other) {
+            int byTime = updatedAt.compareTo(other.updatedAt);
+            return byTime > 0 || (byTime == 0 && id > other.id);
+        }
+
+        String format() {
+            return updatedAt + SEPARATOR + id + SEPARATOR + deletedSince;
+        }
+    }
+}
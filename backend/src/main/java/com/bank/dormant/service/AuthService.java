@@ -5,32 +5,59 @@ import com.bank.dormant.dto.LoginResponse;
 import com.bank.dormant.model.User;
 import com.bank.dormant.repository.UserRepository;
 import com.bank.dormant.security.JwtUtil;
+import com.bank.dormant.security.LoginThrottle;
+import com.bank.dormant.security.PasswordVerifier;
+import com.bank.dormant.security.TokenRevocationList;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @Service
 public class AuthService {
     
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordVerifier passwordVerifier;
+    private final LoginThrottle loginThrottle;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList tokenRevocationList;
+    private final Executor sessionExecutor;
     
     @Value("${jwt.expiration}")
     private Long jwtExpiration;
     
-    public AuthService(UserRepository userRepository, JwtUtil jwtUtil) {
+    public AuthService(UserRepository userRepository, JwtUtil jwtUtil,
+                       PasswordVerifier passwordVerifier, LoginThrottle loginThrottle,
+                       RefreshTokenService refreshTokenService, TokenRevocationList tokenRevocationList,
+                       @Qualifier("applicationTaskExecutor") Executor sessionExecutor) {
         this.userRepository = userRepository;
         this.jwtUtil = jwtUtil;
         this.passwordEncoder = new BCryptPasswordEncoder();
+        this.passwordVerifier = passwordVerifier;
+        this.loginThrottle = loginThrottle;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationList = tokenRevocationList;
+        this.sessionExecutor = sessionExecutor;
     }
     
     /**
      * Authenticate user with username and password
-     * Returns JWT token if authentication is successful
+     * Returns a short-lived JWT and a refresh token starting a new session if
+     * authentication is successful. Throttling (per username and
+     * client IP) happens before anything else; the BCrypt check runs on the password
+     * verification pool, and the session is then issued on the application task
+     * executor so the pool's threads only hash.
      */
-    public LoginResponse authenticate(LoginRequest loginRequest) {
+    public CompletableFuture<LoginResponse> authenticate(LoginRequest loginRequest, String clientIp) {
+        // Throws LoginRejectedException when over the attempt budget
+        loginThrottle.acquire(loginRequest.getUsername(), clientIp);
+        
         // Find user by username
         User user = userRepository.findByUsername(loginRequest.getUsername())
                 .orElseThrow(() -> new BadCredentialsException("Invalid username or password"));
@@ -40,20 +67,48 @@ public class AuthService {
             throw new BadCredentialsException("User account is inactive");
         }
         
-        // Verify password
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
-            throw new BadCredentialsException("Invalid username or password");
+        // Verify password off the request thread; the refresh token insert runs off the BCrypt pool
+        return passwordVerifier.matches(loginRequest.getPassword(), user.getPassword())
+                .thenApplyAsync(matches -> {
+                    if (!matches) {
+                        throw new BadCredentialsException("Invalid username or password");
+                    }
+                    
+                    return loginResponse(user, refreshTokenService.issue(user));
+                }, sessionExecutor);
+    }
+    
+    /**
+     * Exchange a refresh token for a new access token and the next refresh token of
+     * the same session. No password check: the token is looked up by its hash.
+     */
+    public LoginResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        return loginResponse(rotation.user(), rotation.next());
+    }
+    
+    /**
+     * Revoke the session the refresh token belongs to and the access token itself,
+     * so neither can be used after logout. Either may be null.
+     */
+    public void logout(String refreshToken, String accessToken) {
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
         }
-        
+        jwtUtil.verify(accessToken).ifPresent(tokenRevocationList::revoke);
+    }
+    
+    private LoginResponse loginResponse(User user, RefreshTokenService.Issued refreshToken) {
         // Generate JWT token
         String token = jwtUtil.generateToken(user);
         
-        // Return login response
         return new LoginResponse(
                 token,
                 user.getUsername(),
                 user.getRole().name(),
-                jwtExpiration
+                jwtExpiration,
+                refreshToken.token(),
+                refreshToken.expiresIn()
         );
     }
     
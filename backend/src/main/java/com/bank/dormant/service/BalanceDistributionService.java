@@ -0,0 +1,355 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.config.ReadWriteRoutingDataSource;
+import com.bank.dormant.dto.BalanceDistribution;
+import com.bank.dormant.dto.HistogramBucket;
+import com.bank.dormant.event.AccountChange;
+import com.bank.dormant.event.AccountSnapshot;
+import com.bank.dormant.event.AccountsChangedEvent;
+import com.bank.dormant.repository.DormantAccountRepository;
+import org.apache.datasketches.kll.KllDoublesSketch;
+import org.apache.datasketches.memory.Memory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Per-bank balance distributions: a KLL quantile sketch plus exact fixed-bucket
+ * histogram counts, maintained from the deltas of every committed write.
+ * Both structures are mergeable, so any set of banks is combined without touching
+ * the accounts. Distributions serialized by other nodes (sketch included) can be
+ * merged with the local ones: sketches are heapified and merged, histogram counts add.
+ * Sketches cannot forget a value; a bank whose balances were changed or removed is
+ * marked dirty and rebuilt from the database by the refresh job.
+ * <p>
+ * As for the rollup cube, inserts committing while a rebuild or a bank refresh streams
+ * its balances are applied to the current distributions and buffered; the buffer is
+ * replayed onto the rebuilt ones before they replace the current ones. An insert that
+ * commits in the instant before the query starts can be counted twice until the next
+ * rebuild.
+ */
+@Service
+public class BalanceDistributionService {
+
+    private final DormantAccountRepository repository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int k;
+    private final List<BigDecimal> bounds;
+    private final Object patchLock = new Object();
+    private volatile Map<String, BankDistribution> distributions = new ConcurrentHashMap<>();
+    private final Set<String> dirtyBanks = ConcurrentHashMap.newKeySet();
+    // Changes committed since the running rebuild or refresh started; null when none is running
+    private List<AccountChange> replayBuffer;
+
+    @Autowired
+    public BalanceDistributionService(DormantAccountRepository repository,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${reports.distribution.k:200}") int k,
+                                      @Value("${reports.distribution.histogram-bounds:1000,5000,10000,25000,50000,100000}")
+                                      List<BigDecimal> bounds) {
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.k = k;
+        this.bounds = List.copyOf(new TreeSet<>(bounds));
+    }
+
+    /**
+     * Build every distribution once startup has finished, then periodically rebuild them
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${reports.distribution.rebuild-interval-ms:3600000}",
+               initialDelayString = "${reports.distribution.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        dirtyBanks.clear();
+        startBuffering();
+        Map<String, BankDistribution> built = new ConcurrentHashMap<>();
+        try {
+            ReadWriteRoutingDataSource.onPrimary(() -> readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<DormantAccountRepository.BalanceProjection> rows = repository.streamBalances()) {
+                    rows.forEach(row -> built.computeIfAbsent(row.getBankName(), bank -> newDistribution())
+                        .add(row.getBalance()));
+                }
+            }));
+        } catch (RuntimeException e) {
+            // Keep serving the patched distributions
+            stopBuffering();
+            throw e;
+        }
+
+        synchronized (patchLock) {
+            patch(built, replayBuffer);
+            distributions = built;
+            replayBuffer = null;
+        }
+    }
+
+    /**
+     * Rebuild the banks whose balances were changed or removed since the last refresh
+     */
+    @Scheduled(fixedDelayString = "${reports.distribution.refresh-interval-ms:60000}")
+    public synchronized void refreshDirty() {
+        for (String bank : List.copyOf(dirtyBanks)) {
+            dirtyBanks.remove(bank);
+            startBuffering();
+            BankDistribution rebuilt = newDistribution();
+            try {
+                ReadWriteRoutingDataSource.onPrimary(() -> readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<DormantAccountRepository.BalanceProjection> rows =
+                             repository.streamBalancesByBank(bank)) {
+                        rows.forEach(row -> rebuilt.add(row.getBalance()));
+                    }
+                }));
+            } catch (RuntimeException e) {
+                stopBuffering();
+                dirtyBanks.add(bank);
+                throw e;
+            }
+
+            synchronized (patchLock) {
+                Map<String, BankDistribution> refreshed = new HashMap<>();
+                refreshed.put(bank, rebuilt);
+                // Only this bank was re-read; the others already hold their inserts
+                patch(refreshed, replayBuffer.stream()
+                    .filter(change -> change.after() != null && bank.equals(change.after().bankName()))
+                    .toList());
+                if (rebuilt.count() == 0) {
+                    distributions.remove(bank);
+                } else {
+                    distributions.put(bank, rebuilt);
+                }
+                replayBuffer = null;
+            }
+        }
+    }
+
+    /**
+     * Add inserted balances; mark banks that lost or changed a balance for rebuild
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountsChanged(AccountsChangedEvent event) {
+        synchronized (patchLock) {
+            patch(distributions, event.getChanges());
+            if (replayBuffer != null) {
+                replayBuffer.addAll(event.getChanges());
+            }
+        }
+    }
+
+    /**
+     * Distribution of each requested bank (every bank when none are given), ordered by bank name
+     */
+    public List<BalanceDistribution> getDistributions(Collection<String> bankNames, boolean includeSketch) {
+        Map<String, BankDistribution> source = distributions;
+        List<BalanceDistribution> result = new ArrayList<>();
+        for (String bank : selectBanks(source, bankNames)) {
+            Merged merged = new Merged(KllDoublesSketch.newHeapInstance(k), new long[bounds.size() + 1]);
+            source.get(bank).mergeInto(merged);
+            result.add(toDistribution(bank, merged, includeSketch));
+        }
+        return result;
+    }
+
+    /**
+     * One distribution merged across the requested banks (every bank when none are given)
+     */
+    public BalanceDistribution getMergedDistribution(Collection<String> bankNames, boolean includeSketch) {
+        return getMergedDistribution(bankNames, List.of(), includeSketch);
+    }
+
+    /**
+     * One distribution merged across the requested local banks and distributions
+     * received from other nodes. Each remote distribution must carry its serialized
+     * sketch and a histogram with the same bucket bounds as this node; otherwise
+     * IllegalArgumentException is thrown.
+     */
+    public BalanceDistribution getMergedDistribution(Collection<String> bankNames, List<BalanceDistribution> remote,
+                                                     boolean includeSketch) {
+        Map<String, BankDistribution> source = distributions;
+        Merged merged = new Merged(KllDoublesSketch.newHeapInstance(k), new long[bounds.size() + 1]);
+        for (String bank : selectBanks(source, bankNames)) {
+            source.get(bank).mergeInto(merged);
+        }
+        for (BalanceDistribution distribution : remote) {
+            mergeRemote(distribution, merged);
+        }
+        return toDistribution(null, merged, includeSketch);
+    }
+
+    private void startBuffering() {
+        synchronized (patchLock) {
+            replayBuffer = new ArrayList<>();
+        }
+    }
+
+    private void stopBuffering() {
+        synchronized (patchLock) {
+            replayBuffer = null;
+        }
+    }
+
+    private void patch(Map<String, BankDistribution> target, List<AccountChange> changes) {
+        for (AccountChange change : changes) {
+            AccountSnapshot before = change.before();
+            AccountSnapshot after = change.after();
+            if (before == null) {
+                target.computeIfAbsent(after.bankName(), bank -> newDistribution()).add(after.balance());
+            } else if (after == null
+                    || !before.bankName().equals(after.bankName())
+                    || before.balance().compareTo(after.balance()) != 0) {
+                dirtyBanks.add(before.bankName());
+                if (after != null) {
+                    dirtyBanks.add(after.bankName());
+                }
+            }
+        }
+    }
+
+    private List<String> selectBanks(Map<String, BankDistribution> source, Collection<String> bankNames) {
+        Map<String, String> byLowerCase = new HashMap<>();
+        source.keySet().forEach(bank -> byLowerCase.put(bank.toLowerCase(Locale.ROOT), bank));
+        TreeSet<String> selected = new TreeSet<>();
+        if (bankNames == null || bankNames.isEmpty()) {
+            selected.addAll(source.keySet());
+        } else {
+            bankNames.stream()
+                .filter(Objects::nonNull)
+                .map(bank -> byLowerCase.get(bank.trim().toLowerCase(Locale.ROOT)))
+                .filter(Objects::nonNull)
+                .forEach(selected::add);
+        }
+        return List.copyOf(selected);
+    }
+
+    private BalanceDistribution toDistribution(String bankName, Merged merged, boolean includeSketch) {
+        KllDoublesSketch sketch = merged.sketch();
+        BalanceDistribution distribution = new BalanceDistribution();
+        distribution.setBankName(bankName);
+        distribution.setAccountCount(sketch.getN());
+        distribution.setRankError(sketch.getNormalizedRankError(false));
+        if (!sketch.isEmpty()) {
+            distribution.setMin(money(sketch.getMinItem()));
+            distribution.setMax(money(sketch.getMaxItem()));
+            distribution.setMedian(money(sketch.getQuantile(0.5)));
+            distribution.setP90(money(sketch.getQuantile(0.9)));
+            distribution.setP99(money(sketch.getQuantile(0.99)));
+        }
+
+        List<HistogramBucket> histogram = new ArrayList<>();
+        for (int i = 0; i <= bounds.size(); i++) {
+            histogram.add(new HistogramBucket(
+                i == 0 ? null : bounds.get(i - 1),
+                i == bounds.size() ? null : bounds.get(i),
+                merged.counts()[i]));
+        }
+        distribution.setHistogram(histogram);
+
+        if (includeSketch) {
+            distribution.setSketch(Base64.getEncoder().encodeToString(sketch.toByteArray()));
+        }
+        return distribution;
+    }
+
+    private void mergeRemote(BalanceDistribution remote, Merged target) {
+        if (remote.getSketch() == null) {
+            throw new IllegalArgumentException("Remote distribution has no sketch");
+        }
+        List<HistogramBucket> histogram = remote.getHistogram();
+        if (histogram == null || histogram.size() != bounds.size() + 1) {
+            throw new IllegalArgumentException("Remote histogram has different buckets");
+        }
+        for (int i = 0; i < bounds.size(); i++) {
+            if (histogram.get(i).getUpperBound() == null
+                    || histogram.get(i).getUpperBound().compareTo(bounds.get(i)) != 0) {
+                throw new IllegalArgumentException("Remote histogram has different buckets");
+            }
+        }
+
+        KllDoublesSketch sketch;
+        try {
+            sketch = KllDoublesSketch.heapify(Memory.wrap(Base64.getDecoder().decode(remote.getSketch())));
+        } catch (RuntimeException e) {
+            // Bad base64, truncated bytes or another sketch type
+            throw new IllegalArgumentException("Remote sketch is not a serialized KLL doubles sketch", e);
+        }
+        target.sketch().merge(sketch);
+        for (int i = 0; i < histogram.size(); i++) {
+            target.counts()[i] += histogram.get(i).getCount();
+        }
+    }
+
+    private BankDistribution newDistribution() {
+        return new BankDistribution(KllDoublesSketch.newHeapInstance(k), bounds);
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private record Merged(KllDoublesSketch sketch, long[] counts) {
+    }
+
+    /**
+     * Sketch and histogram of one bank; heap sketches are not thread-safe, so all
+     * access is synchronized on the instance
+     */
+    private static final class BankDistribution {
+        private final KllDoublesSketch sketch;
+        private final List<BigDecimal> bounds;
+        private final long[] counts;
+
+        BankDistribution(KllDoublesSketch sketch, List<BigDecimal> bounds) {
+            this.sketch = sketch;
+            this.bounds = bounds;
+            this.counts = new long[bounds.size() + 1];
+        }
+
+        synchronized void add(BigDecimal balance) {
+            if (balance == null) {
+                return;
+            }
+            sketch.update(balance.doubleValue());
+            counts[bucketOf(balance)]++;
+        }
+
+        synchronized long count() {
+            return sketch.getN();
+        }
+
+        synchronized void mergeInto(Merged target) {
+            target.sketch().merge(sketch);
+            for (int i = 0; i < counts.length; i++) {
+                target.counts()[i] += counts[i];
+            }
+        }
+
+        private int bucketOf(BigDecimal balance) {
+            int bucket = 0;
+            while (bucket < bounds.size() && balance.compareTo(bounds.get(bucket)) >= 0) {
+                bucket++;
+            }
+            return bucket;
+        }
+    }
+}
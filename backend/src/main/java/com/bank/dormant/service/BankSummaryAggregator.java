@@ -0,0 +1,169 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.config.ReadWriteRoutingDataSource;
+import com.bank.dormant.dto.BankSummary;
+import com.bank.dormant.event.AccountChange;
+import com.bank.dormant.event.AccountSnapshot;
+import com.bank.dormant.event.AccountsChangedEvent;
+import com.bank.dormant.repository.DormantAccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-bank account count and total balance, maintained incrementally.
+ * The totals are loaded once with the GROUP BY query and then patched with the
+ * deltas of every committed write, so the summary endpoint costs O(banks).
+ * A periodic verifier re-runs the GROUP BY and repairs banks whose drift persists
+ * across two consecutive checks (a single mismatch can be a commit whose delta is
+ * still being applied).
+ * Requirements: 3.2, 3.3
+ */
+@Service
+public class BankSummaryAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(BankSummaryAggregator.class);
+
+    private final DormantAccountRepository repository;
+    private final Map<String, Totals> totals = new ConcurrentHashMap<>();
+    private final Map<String, Totals> suspectedDrift = new HashMap<>();
+    private volatile boolean initialized;
+
+    @Autowired
+    public BankSummaryAggregator(DormantAccountRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Initial load once startup (including database initialization) has finished
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void initialize() {
+        totals.clear();
+        totals.putAll(loadFromDatabase());
+        suspectedDrift.clear();
+        initialized = true;
+    }
+
+    /**
+     * Current summaries ordered by bank name; falls back to the aggregation query
+     * until the initial load has completed
+     */
+    public List<BankSummary> getSummaries() {
+        Map<String, Totals> source = initialized ? totals : loadFromDatabase();
+        return source.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+            .map(e -> new BankSummary(e.getKey(), e.getValue().count(), e.getValue().balance()))
+            .toList();
+    }
+
+    /**
+     * Apply the deltas of a committed write
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountsChanged(AccountsChangedEvent event) {
+        for (AccountChange change : event.getChanges()) {
+            AccountSnapshot before = change.before();
+            AccountSnapshot after = change.after();
+            if (before != null && after != null
+                    && before.bankName().equals(after.bankName())
+                    && before.balance().compareTo(after.balance()) == 0) {
+                continue; // status/date/comment edits do not affect the summary
+            }
+            if (before != null) {
+                apply(before.bankName(), -1, before.balance().negate());
+            }
+            if (after != null) {
+                apply(after.bankName(), 1, after.balance());
+            }
+        }
+    }
+
+    /**
+     * Compare against the database and repair persistent drift
+     */
+    @Scheduled(fixedDelayString = "${reports.summary.verify-interval-ms:300000}",
+               initialDelayString = "${reports.summary.verify-interval-ms:300000}")
+    public synchronized void verify() {
+        if (!initialized) {
+            return;
+        }
+
+        Map<String, Totals> actual = loadFromDatabase();
+        Map<String, Totals> drift = new HashMap<>();
+        for (String bank : union(actual, totals)) {
+            Totals expected = actual.get(bank);
+            Totals current = totals.get(bank);
+            if (!Totals.same(expected, current)) {
+                drift.put(bank, expected);
+            }
+        }
+
+        for (Map.Entry<String, Totals> entry : drift.entrySet()) {
+            String bank = entry.getKey();
+            if (suspectedDrift.containsKey(bank) && Totals.same(suspectedDrift.get(bank), entry.getValue())) {
+                log.warn("Repairing bank summary drift for {}: in-memory {} vs database {}",
+                    bank, totals.get(bank), entry.getValue());
+                if (entry.getValue() == null) {
+                    totals.remove(bank);
+                } else {
+                    totals.put(bank, entry.getValue());
+                }
+            }
+        }
+
+        suspectedDrift.clear();
+        suspectedDrift.putAll(drift);
+        // Repaired banks no longer drift; keep only the ones still pending confirmation
+        suspectedDrift.keySet().removeIf(bank -> Totals.same(totals.get(bank), actual.get(bank)));
+    }
+
+    private void apply(String bankName, long countDelta, BigDecimal balanceDelta) {
+        totals.compute(bankName, (bank, current) -> {
+            Totals updated = current == null
+                ? new Totals(countDelta, balanceDelta)
+                : new Totals(current.count() + countDelta, current.balance().add(balanceDelta));
+            return updated.count() == 0 ? null : updated;
+        });
+    }
+
+    /**
+     * Per-bank totals from the primary; a lagging replica would look like drift
+     */
+    private Map<String, Totals> loadFromDatabase() {
+        Map<String, Totals> loaded = new HashMap<>();
+        ReadWriteRoutingDataSource.onPrimary(repository::getBankSummaries).forEach(projection -> loaded.put(
+            projection.getBankName(),
+            new Totals(projection.getAccountCount(), projection.getTotalBalance())));
+        return loaded;
+    }
+
+    private static Set<String> union(Map<String, Totals> a, Map<String, Totals> b) {
+        Set<String> keys = new HashSet<>(a.keySet());
+        keys.addAll(b.keySet());
+        return keys;
+    }
+
+    record Totals(long count, BigDecimal balance) {
+        static boolean same(Totals a, Totals b) {
+            if (a == null || b == null) {
+                return a == b;
+            }
+            return a.count == b.count && a.balance.compareTo(b.balance) == 0;
+        }
+    }
+}
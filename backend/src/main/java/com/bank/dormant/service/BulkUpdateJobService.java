@@ -0,0 +1,342 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.dto.AccountFilter;
+import com.bank.dormant.dto.AccountUpdateRequest;
+import com.bank.dormant.dto.BulkUpdateJobRequest;
+import com.bank.dormant.dto.BulkUpdateJobResponse;
+import com.bank.dormant.model.BulkJobStatus;
+import com.bank.dormant.model.BulkUpdateJob;
+import com.bank.dormant.model.BulkUpdateJobChunk;
+import com.bank.dormant.repository.BulkUpdateJobChunkRepository;
+import com.bank.dormant.repository.BulkUpdateJobRepository;
+import com.bank.dormant.repository.DormantAccountRepository;
+import com.bank.dormant.repository.DormantAccountSpecifications;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Background bulk updates for very large selections.
+ * A job is persisted with its selection (sorted id list or filter) and prepared update,
+ * then run on a worker thread as a sequence of chunks. Each chunk is one transaction
+ * that updates the accounts, records the chunk and advances the job's progress, so
+ * row locks are held for one chunk only and a failed or cancelled job resumes after
+ * its last committed chunk. Chunks are taken by keyset (ids above the last committed
+ * id), which keeps resumption exact even when the update changes which rows match.
+ * <p>
+ * Every job is owned by the node that queued it. The owner sends a heartbeat for its
+ * queued and running jobs; a job whose heartbeat goes stale lost its node and is marked
+ * failed (by any node) so it can be resumed. A worker stops as soon as its job is no
+ * longer RUNNING under its node, and a chunk that would record progress for a job it
+ * no longer owns is rolled back, so a resumed job never runs on two workers at once.
+ */
+@Service
+public class BulkUpdateJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkUpdateJobService.class);
+    private static final Set<BulkJobStatus> ACTIVE = EnumSet.of(BulkJobStatus.QUEUED, BulkJobStatus.RUNNING);
+    private static final Set<BulkJobStatus> RESUMABLE = EnumSet.of(BulkJobStatus.FAILED, BulkJobStatus.CANCELLED);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final BulkUpdateJobRepository jobRepository;
+    private final BulkUpdateJobChunkRepository chunkRepository;
+    private final DormantAccountRepository accountRepository;
+    private final DormantAccountService accountService;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final String nodeId;
+    private final Duration staleAfter;
+    private final Set<Long> ownedJobs = ConcurrentHashMap.newKeySet();
+    private final ExecutorService workers;
+
+    @Autowired
+    public BulkUpdateJobService(BulkUpdateJobRepository jobRepository,
+                                BulkUpdateJobChunkRepository chunkRepository,
+                                DormantAccountRepository accountRepository,
+                                DormantAccountService accountService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${accounts.bulk.chunk-size:1000}") int chunkSize,
+                                @Value("${accounts.bulk.job-workers:2}") int workerCount,
+                                @Value("${accounts.bulk.node-id:}") String nodeId,
+                                @Value("${accounts.bulk.stale-after-ms:60000}") long staleAfterMillis,
+                                @Value("${accounts.write-timeout-seconds:20}") int writeTimeoutSeconds) {
+        this.jobRepository = jobRepository;
+        this.chunkRepository = chunkRepository;
+        this.accountRepository = accountRepository;
+        this.accountService = accountService;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // Same bound as the other account writes (see AccountChangeFeed)
+        this.chunkTransaction.setTimeout(writeTimeoutSeconds);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.staleAfter = Duration.ofMillis(staleAfterMillis);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workerCount), runnable -> {
+            Thread thread = new Thread(runnable, "bulk-update-job-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Jobs this node still had queued or running when it stopped have lost their worker;
+     * mark them failed so they can be resumed. Only possible with a configured node id.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        int interrupted = jobRepository.failOwnedBy(ACTIVE, nodeId, "Interrupted by application restart",
+            LocalDateTime.now());
+        if (interrupted > 0) {
+            log.warn("Marked {} interrupted bulk update job(s) as failed; resume them to continue", interrupted);
+        }
+        failAbandonedJobs();
+    }
+
+    /**
+     * Mark jobs whose node stopped sending heartbeats as failed so they can be resumed
+     */
+    @Scheduled(fixedDelayString = "${accounts.bulk.stale-check-interval-ms:30000}",
+               initialDelayString = "${accounts.bulk.stale-check-interval-ms:30000}")
+    public void failAbandonedJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int abandoned = jobRepository.failStale(ACTIVE, now.minus(staleAfter),
+            "Abandoned: no heartbeat from node for " + staleAfter.toSeconds() + " s", now);
+        if (abandoned > 0) {
+            log.warn("Marked {} abandoned bulk update job(s) as failed; resume them to continue", abandoned);
+        }
+    }
+
+    /**
+     * Confirm this node's queued and running jobs
+     */
+    @Scheduled(fixedDelayString = "${accounts.bulk.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        if (!ownedJobs.isEmpty()) {
+            jobRepository.heartbeat(List.copyOf(ownedJobs), nodeId, ACTIVE, LocalDateTime.now());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Validate and persist a job, then queue it for a worker
+     */
+    public BulkUpdateJobResponse submit(BulkUpdateJobRequest request, String username) {
+        AccountUpdateRequest prepared = accountService.prepareBulkUpdate(request.getUpdateData());
+        AccountFilter filter = new AccountFilter(request.getSearch(), request.getBankName(), request.getStatus());
+        boolean hasIds = request.getAccountIds() != null && !request.getAccountIds().isEmpty();
+        if (hasIds == !filter.isEmpty()) {
+            throw new IllegalArgumentException(
+                "Provide either accountIds or at least one of search, bankName or status");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkUpdateJob job = new BulkUpdateJob();
+        job.setStatus(BulkJobStatus.QUEUED);
+        if (hasIds) {
+            long[] ids = request.getAccountIds().stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+            job.setAccountIds(LongStream.of(ids).mapToObj(Long::toString).collect(Collectors.joining(",")));
+            job.setTotalCount(ids.length);
+        } else {
+            job.setSearchTerm(filter.getSearchTerm());
+            job.setBankName(filter.getBankName());
+            job.setFilterStatus(filter.getStatus());
+            job.setTotalCount(accountRepository.count(DormantAccountSpecifications.matching(filter)));
+        }
+        job.setReclaimStatus(prepared.getReclaimStatus());
+        job.setReclaimDate(prepared.getReclaimDate());
+        job.setClawbackDate(prepared.getClawbackDate());
+        job.setComments(prepared.getComments());
+        job.setCreatedBy(username);
+        job.setOwner(nodeId);
+        job.setHeartbeatAt(now);
+        job.setCreatedAt(now);
+        job.setUpdatedAt(now);
+
+        BulkUpdateJob saved = jobRepository.save(job);
+        queue(saved.getId());
+        return new BulkUpdateJobResponse(saved);
+    }
+
+    public Optional<BulkUpdateJobResponse> findJob(Long id) {
+        return jobRepository.findById(id).map(BulkUpdateJobResponse::new);
+    }
+
+    public List<BulkUpdateJobResponse> listRecentJobs() {
+        return jobRepository.findTop50ByOrderByCreatedAtDesc().stream()
+            .map(BulkUpdateJobResponse::new)
+            .toList();
+    }
+
+    public List<BulkUpdateJobChunk> listCommittedChunks(Long id) {
+        return chunkRepository.findByJobIdOrderByChunkIndex(id);
+    }
+
+    /**
+     * Ask a queued or running job to stop after its current chunk.
+     * Returns false when the job is not active.
+     */
+    public boolean cancel(Long id) {
+        return jobRepository.requestCancel(id, ACTIVE, LocalDateTime.now()) > 0;
+    }
+
+    /**
+     * Queue a failed or cancelled job again; it continues after its last committed chunk.
+     * Returns false when the job cannot be resumed.
+     */
+    public boolean resume(Long id) {
+        // A worker of this node that has not noticed the failure yet must stop first
+        if (!ownedJobs.add(id)) {
+            return false;
+        }
+        if (jobRepository.requeue(id, nodeId, RESUMABLE, LocalDateTime.now()) == 0) {
+            ownedJobs.remove(id);
+            return false;
+        }
+        execute(id);
+        return true;
+    }
+
+    private void queue(Long id) {
+        ownedJobs.add(id);
+        execute(id);
+    }
+
+    private void execute(Long id) {
+        workers.execute(() -> {
+            try {
+                run(id);
+            } finally {
+                ownedJobs.remove(id);
+            }
+        });
+    }
+
+    /**
+     * Worker loop: claim the job, then commit chunk after chunk until done, cancelled,
+     * failed or taken away from this node
+     */
+    void run(Long jobId) {
+        if (jobRepository.claim(jobId, nodeId, LocalDateTime.now()) == 0) {
+            return;
+        }
+
+        try {
+            BulkUpdateJob job = jobRepository.findById(jobId).orElseThrow();
+            AccountUpdateRequest update = updateOf(job);
+            long[] ids = job.getAccountIds() != null ? parseIds(job.getAccountIds()) : null;
+            AccountFilter filter = new AccountFilter(job.getSearchTerm(), job.getBankName(), job.getFilterStatus());
+            Long lastId = job.getLastCommittedId();
+            int chunkIndex = job.getCommittedChunks();
+
+            while (true) {
+                BulkUpdateJobRepository.JobControl control = jobRepository.findControl(jobId);
+                if (control == null || control.getStatus() != BulkJobStatus.RUNNING
+                        || !nodeId.equals(control.getOwner())) {
+                    log.warn("Bulk update job {} is no longer running on this node; worker stopped", jobId);
+                    return;
+                }
+                if (Boolean.TRUE.equals(control.getCancelRequested())) {
+                    jobRepository.finish(jobId, nodeId, BulkJobStatus.CANCELLED, null, LocalDateTime.now());
+                    log.info("Bulk update job {} cancelled after {} chunk(s)", jobId, chunkIndex);
+                    return;
+                }
+
+                Long after = lastId;
+                int index = chunkIndex;
+                List<Long> chunk = chunkTransaction.execute(status -> {
+                    List<Long> next = ids != null
+                        ? nextIds(ids, after)
+                        : accountRepository.findIdsMatching(filter, after, chunkSize);
+                    if (!next.isEmpty()) {
+                        LocalDateTime now = LocalDateTime.now();
+                        Long last = next.get(next.size() - 1);
+                        int updated = accountService.applyPreparedUpdate(next, update, job.getCreatedBy());
+                        chunkRepository.save(new BulkUpdateJobChunk(jobId, index, next.get(0), last,
+                            next.size(), updated, now));
+                        if (jobRepository.recordChunk(jobId, nodeId, last, next.size(), updated, now) == 0) {
+                            throw new JobTakenOverException();
+                        }
+                    }
+                    return next;
+                });
+
+                if (chunk == null || chunk.isEmpty()) {
+                    jobRepository.finish(jobId, nodeId, BulkJobStatus.COMPLETED, null, LocalDateTime.now());
+                    log.info("Bulk update job {} completed in {} chunk(s)", jobId, chunkIndex);
+                    return;
+                }
+                lastId = chunk.get(chunk.size() - 1);
+                chunkIndex++;
+            }
+        } catch (JobTakenOverException e) {
+            log.warn("Bulk update job {} is no longer running on this node; its last chunk was rolled back", jobId);
+        } catch (Exception e) {
+            log.error("Bulk update job {} failed; committed chunks are kept and the job can be resumed", jobId, e);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            jobRepository.finish(jobId, nodeId, BulkJobStatus.FAILED,
+                message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message,
+                LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Next chunk of a sorted id list: the ids above {@code after}
+     */
+    private List<Long> nextIds(long[] ids, Long after) {
+        int from = 0;
+        if (after != null) {
+            int position = Arrays.binarySearch(ids, after);
+            from = position >= 0 ? position + 1 : -position - 1;
+        }
+        return LongStream.of(ids).skip(from).limit(chunkSize).boxed().toList();
+    }
+
+    private static long[] parseIds(String ids) {
+        return Arrays.stream(ids.split(",")).mapToLong(Long::parseLong).toArray();
+    }
+
+    /**
+     * Thrown inside a chunk transaction to roll it back when the job was failed or
+     * resumed elsewhere while the chunk ran
+     */
+    private static final class JobTakenOverException extends RuntimeException {
+    }
+
+    private static AccountUpdateRequest updateOf(BulkUpdateJob job) {
+        AccountUpdateRequest update = new AccountUpdateRequest();
+        update.setReclaimStatus(job.getReclaimStatus());
+        update.setReclaimDate(job.getReclaimDate());
+        update.setClawbackDate(job.getClawbackDate());
+        update.setComments(job.getComments());
+        return update;
+    }
+}
@@ -0,0 +1,12 @@
+package com.bank.dormant.service;
+
+/**
+ * A change feed cursor older than the tombstone retention: deletions since then may
+ * have been forgotten, so the client has to load the account list again
+ */
+public class ChangeCursorExpiredException extends RuntimeException {
+
+    public ChangeCursorExpiredException(String message) {
+        super(message);
+    }
+}
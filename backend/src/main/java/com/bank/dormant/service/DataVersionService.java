@@ -0,0 +1,41 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.event.AccountsChangedEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global version counter for dormant account data.
+ * The version is bumped after every committed write, so a response tagged with a
+ * version is never older than that version. The ETag also carries the process start
+ * time so tags issued before a restart can never match tags issued after it.
+ */
+@Service
+public class DataVersionService {
+
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+    private final AtomicLong version = new AtomicLong();
+
+    public long currentVersion() {
+        return version.get();
+    }
+
+    /**
+     * Strong ETag for the given data version
+     */
+    public String etagFor(long dataVersion) {
+        return "\"" + epoch + "-" + dataVersion + "\"";
+    }
+
+    /**
+     * Bump after commit (or immediately when the write ran outside a transaction)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountsChanged(AccountsChangedEvent event) {
+        if (event.getChangedCount() > 0) {
+            version.incrementAndGet();
+        }
+    }
+}
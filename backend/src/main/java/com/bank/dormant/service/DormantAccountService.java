@@ -1,92 +1,286 @@
 package com.bank.dormant.service;
 
+import com.bank.dormant.config.ReadWriteRoutingDataSource;
+import com.bank.dormant.dto.AccountFilter;
 import com.bank.dormant.dto.AccountUpdateRequest;
 import com.bank.dormant.dto.BulkUpdateRequest;
+import com.bank.dormant.dto.BulkUpdateResponse;
+import com.bank.dormant.dto.FilteredBulkUpdateRequest;
+import com.bank.dormant.event.AccountChange;
+import com.bank.dormant.event.AccountSnapshot;
+import com.bank.dormant.event.AccountsChangedEvent;
 import com.bank.dormant.model.DormantAccount;
 import com.bank.dormant.repository.DormantAccountRepository;
 import com.bank.dormant.validation.InputSanitizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class DormantAccountService {
     
+    /**
+     * Timeout of account write transactions; keeps them shorter than the change-feed overlap
+     */
+    static final String WRITE_TIMEOUT = "${accounts.write-timeout-seconds:20}";
+    
     private final DormantAccountRepository repository;
     private final InputSanitizer inputSanitizer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BankSummaryAggregator bankSummaryAggregator;
+    private final int bulkChunkSize;
+    private final Counter singleAttempts;
+    private final Counter singleConflicts;
+    private final Counter bulkAttempts;
+    private final Counter bulkConflicts;
     
     @Autowired
-    public DormantAccountService(DormantAccountRepository repository, InputSanitizer inputSanitizer) {
+    public DormantAccountService(DormantAccountRepository repository, InputSanitizer inputSanitizer,
+                                 ApplicationEventPublisher eventPublisher,
+                                 BankSummaryAggregator bankSummaryAggregator,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${accounts.bulk.chunk-size:1000}") int bulkChunkSize) {
         this.repository = repository;
         this.inputSanitizer = inputSanitizer;
+        this.eventPublisher = eventPublisher;
+        this.bankSummaryAggregator = bankSummaryAggregator;
+        this.bulkChunkSize = Math.max(1, bulkChunkSize);
+        // Conflict rate = accounts.update.conflicts / accounts.update.attempts, per path
+        this.singleAttempts = meterRegistry.counter("accounts.update.attempts", "path", "single");
+        this.singleConflicts = meterRegistry.counter("accounts.update.conflicts", "path", "single");
+        this.bulkAttempts = meterRegistry.counter("accounts.update.attempts", "path", "bulk");
+        this.bulkConflicts = meterRegistry.counter("accounts.update.conflicts", "path", "bulk");
     }
     
     /**
      * Get all dormant accounts
      * Requirements: 3.1
      */
+    @Transactional(readOnly = true)
     public List<DormantAccount> getAllAccounts() {
         return repository.findAll();
     }
     
     /**
-     * Search accounts with case-insensitive filtering
+     * Search accounts with case-insensitive filtering. Returns list rows (displayed
+     * columns and a comment preview), not entities; see getAccountById for the full account.
+     * Read from the primary: the list is served under the current data version's ETag.
      * Requirements: 4.1, 4.2, 4.4, 10.5
      */
-    public List<DormantAccount> searchAccounts(String query) {
-        if (query == null || query.trim().isEmpty()) {
-            return repository.findAll();
-        }
-        // Sanitize search term to prevent injection attacks
-        String sanitizedQuery = inputSanitizer.sanitizeSearchTerm(query);
-        return repository.searchAccounts(sanitizedQuery);
+    @Transactional(readOnly = true)
+    public List<DormantAccountRepository.AccountListProjection> searchAccounts(String query) {
+        return ReadWriteRoutingDataSource.onPrimary(() -> {
+            if (query == null || query.trim().isEmpty()) {
+                return repository.findAllListItems();
+            }
+            // Sanitize search term to prevent injection attacks
+            String sanitizedQuery = inputSanitizer.sanitizeSearchTerm(query);
+            return repository.searchListItems(sanitizedQuery);
+        });
     }
     
     /**
-     * Get account by ID
+     * Get account by ID. Read from the primary: a miss fills the second-level cache.
      * Requirements: 3.1
      */
     public DormantAccount getAccountById(Long id) {
-        return repository.findById(id)
+        return ReadWriteRoutingDataSource.onPrimary(() -> repository.findById(id))
             .orElseThrow(() -> new RuntimeException("Account not found with id: " + id));
     }
     
     /**
-     * Update single account with date validation
+     * Update single account with date validation.
+     * When the request carries the version the client read, a stale version is rejected
+     * with an OptimisticLockingFailureException; the version-checked UPDATE
+     * (WHERE id = ? AND version = ?) also rejects writes that raced this one.
      * Requirements: 5.2, 5.3, 5.4, 5.5, 8.2, 10.2
      */
-    @Transactional
+    @Transactional(timeoutString = WRITE_TIMEOUT)
     public DormantAccount updateAccount(Long id, AccountUpdateRequest request) {
         DormantAccount account = getAccountById(id);
         
         // Validate date relationships (clawback after reclaim)
         validateDateRelationship(request.getReclaimDate(), request.getClawbackDate());
         
+        singleAttempts.increment();
+        if (request.getVersion() != null && !request.getVersion().equals(account.getVersion())) {
+            singleConflicts.increment();
+            throw new ObjectOptimisticLockingFailureException(DormantAccount.class, id);
+        }
+        
+        AccountSnapshot before = AccountSnapshot.of(account);
         updateAccountFields(account, request);
         
-        // Immediate persistence (handled by @Transactional and save)
-        return repository.save(account);
+        // Immediate persistence; flushing here surfaces a lost race as a conflict of this call
+        DormantAccount saved;
+        try {
+            saved = repository.saveAndFlush(account);
+        } catch (OptimisticLockingFailureException e) {
+            singleConflicts.increment();
+            throw e;
+        }
+        eventPublisher.publishEvent(new AccountsChangedEvent(
+            List.of(AccountChange.updated(before, AccountSnapshot.of(saved)))));
+        return saved;
     }
     
     /**
-     * Bulk update accounts - apply updates to all selected accounts
-     * Returns count of updated accounts
+     * Bulk update accounts - apply updates to all selected accounts.
+     * Accounts whose expected version (request.versions) is stale are skipped and
+     * returned as conflicts instead of failing the whole batch.
      * Requirements: 6.2, 6.3, 6.4, 6.5
      */
-    @Transactional
-    public int bulkUpdateAccounts(BulkUpdateRequest request) {
+    @Transactional(timeoutString = WRITE_TIMEOUT)
+    public BulkUpdateResponse bulkUpdateAccounts(BulkUpdateRequest request) {
         // Validate date relationships before applying updates
-        AccountUpdateRequest updateData = request.getUpdateData();
-        validateDateRelationship(updateData.getReclaimDate(), updateData.getClawbackDate());
+        AccountUpdateRequest prepared = prepareBulkUpdate(request.getUpdateData());
+        Map<Long, Long> versions = request.getVersions() != null ? request.getVersions() : Map.of();
+        
+        // Set-based UPDATE per chunk of ids: no entities are loaded or flushed
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getAccountIds()));
+        List<Long> conflictIds = new ArrayList<>();
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += bulkChunkSize) {
+            updated += applyPreparedUpdate(ids.subList(from, Math.min(from + bulkChunkSize, ids.size())),
+                prepared, versions, conflictIds);
+        }
+        return new BulkUpdateResponse(updated, conflictIds);
+    }
+    
+    /**
+     * Bulk update every account matching a search/export filter without the client
+     * sending ids. Matching ids are paged by keyset and each page is updated with one
+     * set-based statement. Returns count of updated accounts.
+     */
+    @Transactional(timeoutString = WRITE_TIMEOUT)
+    public int bulkUpdateMatching(FilteredBulkUpdateRequest request) {
+        AccountUpdateRequest prepared = prepareBulkUpdate(request.getUpdateData());
         
-        // Apply updates to all selected accounts
-        List<DormantAccount> accounts = repository.findAllById(request.getAccountIds());
-        accounts.forEach(account -> updateAccountFields(account, updateData));
+        AccountFilter filter = new AccountFilter(request.getSearch(), request.getBankName(), request.getStatus());
+        if (filter.isEmpty()) {
+            // Guard against an accidental update of every account
+            throw new IllegalArgumentException("At least one of search, bankName or status is required");
+        }
         
-        // Save all and return count of updated accounts
-        List<DormantAccount> updatedAccounts = repository.saveAll(accounts);
-        return updatedAccounts.size();
+        int updated = 0;
+        Long lastId = null;
+        List<Long> chunk;
+        do {
+            chunk = repository.findIdsMatching(filter, lastId, bulkChunkSize);
+            if (!chunk.isEmpty()) {
+                updated += applyPreparedUpdate(chunk, prepared);
+                lastId = chunk.get(chunk.size() - 1);
+            }
+        } while (chunk.size() == bulkChunkSize);
+        return updated;
+    }
+    
+    /**
+     * Validate a bulk update and return a copy with sanitized comments, ready to be
+     * applied chunk by chunk (now or later by a background job)
+     */
+    public AccountUpdateRequest prepareBulkUpdate(AccountUpdateRequest request) {
+        validateDateRelationship(request.getReclaimDate(), request.getClawbackDate());
+        
+        AccountUpdateRequest prepared = new AccountUpdateRequest();
+        prepared.setReclaimStatus(request.getReclaimStatus());
+        prepared.setReclaimDate(request.getReclaimDate());
+        prepared.setClawbackDate(request.getClawbackDate());
+        if (request.getComments() != null) {
+            // Sanitize comments to prevent XSS and injection attacks
+            prepared.setComments(inputSanitizer.sanitize(request.getComments()));
+        }
+        return prepared;
+    }
+    
+    /**
+     * Apply a prepared bulk update to one chunk of ids with a single statement in the
+     * caller's transaction. The narrow pre-read only feeds the change event.
+     * Returns count of updated accounts.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int applyPreparedUpdate(List<Long> ids, AccountUpdateRequest prepared) {
+        return applyPreparedUpdate(ids, prepared, null);
+    }
+    
+    /**
+     * Same, with the changes attributed to actor instead of the current request's user
+     * (for background jobs)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int applyPreparedUpdate(List<Long> ids, AccountUpdateRequest prepared, String actor) {
+        return applyPreparedUpdate(ids, prepared, Map.of(), new ArrayList<>(), actor);
+    }
+    
+    /**
+     * Version-checked variant. The rows are locked (SELECT ... FOR UPDATE) before the update,
+     * so the versions checked and the "before" states published are the ones overwritten.
+     * Ids are grouped by expected version and each group runs
+     * {@code UPDATE ... WHERE id IN (:ids) AND version = :expected}.
+     * Stale ids are added to conflictIds and left untouched.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int applyPreparedUpdate(List<Long> ids, AccountUpdateRequest prepared,
+                                   Map<Long, Long> expectedVersions, List<Long> conflictIds) {
+        return applyPreparedUpdate(ids, prepared, expectedVersions, conflictIds, null);
+    }
+    
+    private int applyPreparedUpdate(List<Long> ids, AccountUpdateRequest prepared,
+                                    Map<Long, Long> expectedVersions, List<Long> conflictIds, String actor) {
+        // Locked until commit: no other writer can change these rows between this read and the UPDATE
+        Map<Long, DormantAccountRepository.AccountStateProjection> states = new LinkedHashMap<>();
+        Map<Long, List<Long>> groups = new LinkedHashMap<>();
+        int conflicts = 0;
+        for (DormantAccountRepository.AccountStateProjection state : repository.lockStatesByIdIn(ids)) {
+            Long expected = expectedVersions.get(state.getId());
+            if (expected != null && !expected.equals(state.getVersion())) {
+                conflictIds.add(state.getId());
+                conflicts++;
+                continue;
+            }
+            states.put(state.getId(), state);
+            groups.computeIfAbsent(expected, version -> new ArrayList<>()).add(state.getId());
+        }
+        bulkAttempts.increment(states.size() + conflicts);
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<AccountChange> changes = new ArrayList<>(states.size());
+        int updated = 0;
+        for (Map.Entry<Long, List<Long>> group : groups.entrySet()) {
+            List<Long> groupIds = group.getValue();
+            int count = repository.bulkUpdate(groupIds, group.getKey(), prepared.getReclaimStatus(),
+                prepared.getReclaimDate(), prepared.getClawbackDate(), prepared.getComments(), now);
+            if (count != groupIds.size()) {
+                // Cannot happen while the lock is held; roll back rather than publish wrong deltas
+                throw new IllegalStateException("Bulk update changed " + count + " of " + groupIds.size()
+                    + " locked accounts");
+            }
+            updated += count;
+            for (Long id : groupIds) {
+                DormantAccountRepository.AccountStateProjection state = states.get(id);
+                AccountSnapshot before = new AccountSnapshot(state.getId(), state.getBankName(),
+                    state.getBalance(), state.getReclaimStatus(), state.getReclaimDate(),
+                    state.getClawbackDate(), state.getComments());
+                changes.add(AccountChange.updated(before, applied(before, prepared)));
+            }
+        }
+        bulkConflicts.increment(conflicts);
+        
+        eventPublisher.publishEvent(new AccountsChangedEvent(changes, actor));
+        return updated;
     }
     
     /**
@@ -94,13 +288,8 @@ public class DormantAccountService {
      * Requirements: 3.2, 3.3
      */
     public List<com.bank.dormant.dto.BankSummary> getBankSummaries() {
-        return repository.getBankSummaries().stream()
-            .map(projection -> new com.bank.dormant.dto.BankSummary(
-                projection.getBankName(),
-                projection.getAccountCount(),
-                projection.getTotalBalance()
-            ))
-            .toList();
+        // Served from the incrementally maintained per-bank totals: O(banks)
+        return bankSummaryAggregator.getSummaries();
     }
     
     /**
@@ -113,6 +302,18 @@ public class DormantAccountService {
         }
     }
     
+    private static AccountSnapshot applied(AccountSnapshot before, AccountUpdateRequest request) {
+        return new AccountSnapshot(
+            before.id(),
+            before.bankName(),
+            before.balance(),
+            request.getReclaimStatus() != null ? request.getReclaimStatus() : before.reclaimStatus(),
+            request.getReclaimDate() != null ? request.getReclaimDate() : before.reclaimDate(),
+            request.getClawbackDate() != null ? request.getClawbackDate() : before.clawbackDate(),
+            request.getComments() != null ? request.getComments() : before.comments()
+        );
+    }
+    
     private void updateAccountFields(DormantAccount account, AccountUpdateRequest request) {
         if (request.getReclaimStatus() != null) {
             account.setReclaimStatus(request.getReclaimStatus());
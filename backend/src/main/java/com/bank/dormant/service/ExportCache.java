@@ -0,0 +1,121 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.dto.AccountFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Size-bounded LRU cache of rendered CSV exports keyed by filter and data version.
+ * Entries for older data versions are dropped as soon as a newer version is stored.
+ */
+@Component
+public class ExportCache {
+
+    private final long maxTotalBytes;
+    private final int maxEntryBytes;
+    private final LinkedHashMap<Key, CachedExport> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public ExportCache(@Value("${reports.export.cache.max-bytes:67108864}") long maxTotalBytes,
+                       @Value("${reports.export.cache.max-entry-bytes:16777216}") int maxEntryBytes) {
+        this.maxTotalBytes = maxTotalBytes;
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    public synchronized CachedExport get(AccountFilter filter, long dataVersion) {
+        return entries.get(new Key(filter, dataVersion));
+    }
+
+    public synchronized void put(AccountFilter filter, long dataVersion, byte[] bytes, long rows) {
+        if (bytes.length > maxEntryBytes || bytes.length > maxTotalBytes) {
+            return;
+        }
+
+        Iterator<Map.Entry<Key, CachedExport>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, CachedExport> entry = it.next();
+            if (entry.getKey().dataVersion < dataVersion) {
+                totalBytes -= entry.getValue().bytes().length;
+                it.remove();
+            }
+        }
+
+        CachedExport previous = entries.put(new Key(filter, dataVersion), new CachedExport(bytes, rows));
+        if (previous != null) {
+            totalBytes -= previous.bytes().length;
+        }
+        totalBytes += bytes.length;
+
+        // Evict least recently used entries until within budget
+        it = entries.entrySet().iterator();
+        while (totalBytes > maxTotalBytes && it.hasNext()) {
+            totalBytes -= it.next().getValue().bytes().length;
+            it.remove();
+        }
+    }
+
+    /**
+     * Wrap an output stream so everything written through it is also captured,
+     * up to the per-entry limit. Returns null from {@link CapturingOutputStream#captured()}
+     * once the limit is exceeded.
+     */
+    public CapturingOutputStream capture(OutputStream out) {
+        return new CapturingOutputStream(out, maxEntryBytes);
+    }
+
+    public record CachedExport(byte[] bytes, long rows) {
+    }
+
+    private record Key(AccountFilter filter, long dataVersion) {
+        Key {
+            Objects.requireNonNull(filter);
+        }
+    }
+
+    public static class CapturingOutputStream extends FilterOutputStream {
+        private final int limit;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        CapturingOutputStream(OutputStream out, int limit) {
+            super(out);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (buffer != null) {
+                buffer.write(b);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (buffer != null) {
+                buffer.write(b, off, len);
+                checkLimit();
+            }
+        }
+
+        public byte[] captured() {
+            return buffer != null ? buffer.toByteArray() : null;
+        }
+
+        private void checkLimit() {
+            if (buffer.size() > limit) {
+                buffer = null;
+            }
+        }
+    }
+}
@@ -1,65 +1,139 @@
 package com.bank.dormant.service;
 
 import com.bank.dormant.dto.UploadResponse;
+import com.bank.dormant.event.AccountChange;
+import com.bank.dormant.event.AccountSnapshot;
+import com.bank.dormant.event.AccountsChangedEvent;
 import com.bank.dormant.model.DormantAccount;
 import com.bank.dormant.repository.DormantAccountRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class FileUploadService {
     
     private final DormantAccountRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate insertTransaction;
+    private final int batchSize;
     
     @Autowired
-    public FileUploadService(DormantAccountRepository repository) {
+    public FileUploadService(DormantAccountRepository repository, ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${accounts.upload.batch-size:1000}") int batchSize,
+                             @Value("${accounts.write-timeout-seconds:20}") int writeTimeoutSeconds) {
         this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        // Each insert commits on its own, bounded like the other account writes
+        // so the change feed overlap covers it
+        this.insertTransaction = new TransactionTemplate(transactionManager);
+        this.insertTransaction.setTimeout(writeTimeoutSeconds);
+        this.batchSize = Math.max(1, batchSize);
     }
     
+    /**
+     * Parse the file and insert its accounts in batches: one duplicate lookup and one
+     * saveAll (sent as JDBC batches) per batch instead of two round trips per row
+     */
     public UploadResponse processFile(MultipartFile file) {
         int successCount = 0;
         int failureCount = 0;
+        List<AccountChange> inserted = new ArrayList<>();
+        List<DormantAccount> pending = new ArrayList<>(batchSize);
         
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()))) {
             String line;
-            boolean isFirstLine = true;
+            ColumnLayout layout = null;
             
             while ((line = reader.readLine()) != null) {
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    continue; // Skip header
+                if (layout == null) {
+                    layout = ColumnLayout.fromHeader(line);
+                    continue; // Header only determines the optional columns
                 }
                 
                 try {
-                    DormantAccount account = parseLine(line);
-                    
-                    Optional<DormantAccount> existing = repository.findByAccountNumber(account.getAccountNumber());
-                    if (existing.isPresent()) {
-                        failureCount++;
-                        continue;
-                    }
-                    
-                    repository.save(account);
-                    successCount++;
+                    pending.add(parseLine(line, layout));
                 } catch (Exception e) {
                     failureCount++;
                 }
+                
+                if (pending.size() == batchSize) {
+                    int saved = saveBatch(pending, inserted);
+                    successCount += saved;
+                    failureCount += pending.size() - saved;
+                    pending.clear();
+                }
             }
+            
+            int saved = saveBatch(pending, inserted);
+            successCount += saved;
+            failureCount += pending.size() - saved;
         } catch (Exception e) {
             return new UploadResponse(successCount, failureCount, "Error processing file: " + e.getMessage());
+        } finally {
+            // Each row is saved in its own transaction, so publish once rows are committed
+            eventPublisher.publishEvent(new AccountsChangedEvent(inserted));
         }
         
         return new UploadResponse(successCount, failureCount, 
             "Upload completed: " + successCount + " accounts added, " + failureCount + " failed");
     }
     
-    private DormantAccount parseLine(String line) {
+    /**
+     * Insert the accounts of one batch that are not already stored (or repeated earlier
+     * in the batch). Returns the number inserted; the rest count as failures.
+     */
+    private int saveBatch(List<DormantAccount> batch, List<AccountChange> inserted) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        
+        Map<String, DormantAccount> byNumber = new LinkedHashMap<>();
+        for (DormantAccount account : batch) {
+            byNumber.putIfAbsent(account.getAccountNumber(), account);
+        }
+        Set<String> existing = new HashSet<>(repository.findExistingAccountNumbers(byNumber.keySet()));
+        byNumber.keySet().removeAll(existing);
+        
+        List<DormantAccount> saved;
+        try {
+            saved = insertTransaction.execute(status -> repository.saveAll(byNumber.values()));
+        } catch (DataAccessException e) {
+            // A row the duplicate check could not catch (e.g. a concurrent upload):
+            // retry row by row so only the offending rows fail
+            saved = new ArrayList<>();
+            for (DormantAccount account : byNumber.values()) {
+                account.setId(null);
+                account.setVersion(null);
+                try {
+                    saved.add(insertTransaction.execute(status -> repository.save(account)));
+                } catch (DataAccessException rowFailure) {
+                    // counted as a failure by the caller
+                }
+            }
+        }
+        
+        saved.forEach(account -> inserted.add(AccountChange.inserted(AccountSnapshot.of(account))));
+        return saved.size();
+    }
+    
+    private DormantAccount parseLine(String line, ColumnLayout layout) {
         String[] parts = line.split("\\|");
         
         DormantAccount account = new DormantAccount();
@@ -68,10 +142,50 @@ public class FileUploadService {
         account.setBankName(parts[2].trim());
         account.setBalance(new java.math.BigDecimal(parts[3].trim()));
         
-        if (parts.length > 4 && !parts[4].trim().isEmpty()) {
-            account.setCustomerEmail(parts[4].trim());
+        String email = layout.value(parts, layout.emailColumn);
+        if (email != null) {
+            account.setCustomerEmail(email);
+        }
+        
+        String lastTransactionDate = layout.value(parts, layout.lastTransactionDateColumn);
+        if (lastTransactionDate != null) {
+            account.setLastTransactionDate(LocalDate.parse(lastTransactionDate, DateTimeFormatter.ISO_LOCAL_DATE));
         }
         
         return account;
     }
+    
+    /**
+     * Positions of the optional columns after the fixed
+     * accountNumber|name|bankName|balance prefix, taken from the header line.
+     * Files without a recognised header keep the historical layout (email in column 5).
+     */
+    private static final class ColumnLayout {
+        private int emailColumn = -1;
+        private int lastTransactionDateColumn = -1;
+        
+        static ColumnLayout fromHeader(String header) {
+            ColumnLayout layout = new ColumnLayout();
+            String[] names = header.split("\\|");
+            for (int i = 4; i < names.length; i++) {
+                String name = names[i].trim().toLowerCase().replaceAll("[^a-z]", "");
+                if (name.equals("customeremail") || name.equals("email")) {
+                    layout.emailColumn = i;
+                } else if (name.equals("lasttransactiondate")) {
+                    layout.lastTransactionDateColumn = i;
+                }
+            }
+            if (layout.emailColumn < 0 && layout.lastTransactionDateColumn < 0) {
+                layout.emailColumn = 4;
+            }
+            return layout;
+        }
+        
+        String value(String[] parts, int column) {
+            if (column < 0 || column >= parts.length || parts[column].trim().isEmpty()) {
+                return null;
+            }
+            return parts[column].trim();
+        }
+    }
 }
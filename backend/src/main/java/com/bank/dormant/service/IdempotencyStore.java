@@ -0,0 +1,190 @@
+package com.bank.dormant.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Responses of write requests keyed by the caller's Idempotency-Key header.
+ * A retry with the same key and the same request (same fingerprint) gets the stored
+ * response without executing again; a retry that arrives while the original is still
+ * running waits for it instead of running a second time. Reusing a key for a different
+ * request is rejected with 422. Server errors are not stored so they can be retried.
+ * A retry gives up waiting after wait-ms with 409 and can be sent again later.
+ * Completed entries live for a fixed TTL and the store holds at most max-entries of
+ * them; entries still in flight are never evicted, so a key cannot run twice.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final ObjectWriter fingerprintWriter;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long waitMillis;
+    private final LongSupplier clock;
+    // Insertion order is expiry order since every entry has the same TTL
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    @Autowired
+    public IdempotencyStore(ObjectMapper objectMapper,
+                            @Value("${accounts.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${accounts.idempotency.ttl-ms:86400000}") long ttlMillis,
+                            @Value("${accounts.idempotency.wait-ms:30000}") long waitMillis) {
+        this(objectMapper, maxEntries, ttlMillis, waitMillis, System::currentTimeMillis);
+    }
+
+    IdempotencyStore(ObjectMapper objectMapper, int maxEntries, long ttlMillis, long waitMillis,
+                     LongSupplier clock) {
+        this.fingerprintWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = ttlMillis;
+        this.waitMillis = waitMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Run action at most once per (username, key). Without a key the action simply runs.
+     * operation identifies the endpoint (method and path) and, with the request body,
+     * forms the fingerprint a retry must match.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String username, String key, String operation, Object request,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+
+        String storeKey = username + '\n' + key;
+        String fingerprint = fingerprint(operation, request);
+        Entry entry;
+        boolean owner = false;
+        synchronized (this) {
+            evict();
+            entry = entries.get(storeKey);
+            if (entry == null) {
+                entry = new Entry(fingerprint, clock.getAsLong());
+                entries.put(storeKey, entry);
+                owner = true;
+                evict();
+            }
+        }
+
+        if (!owner) {
+            if (!entry.fingerprint.equals(fingerprint)) {
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+            }
+            // Completed: replay; in flight: wait a bounded time for the original execution
+            ResponseEntity<T> stored;
+            try {
+                stored = (ResponseEntity<T>) entry.response.get(waitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                return stillRunning();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return stillRunning();
+            } catch (ExecutionException e) {
+                // The original execution failed: surface its exception, not the wrapper
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+            return ResponseEntity.status(stored.getStatusCode())
+                .headers(stored.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(stored.getBody());
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            forget(storeKey, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            forget(storeKey, entry);
+        }
+        entry.response.complete(response);
+        return response;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static <T> ResponseEntity<T> stillRunning() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).header(HttpHeaders.RETRY_AFTER, "1").build();
+    }
+
+    private synchronized void forget(String storeKey, Entry entry) {
+        entries.remove(storeKey, entry);
+    }
+
+    private void evict() {
+        long expiredBefore = clock.getAsLong() - ttlMillis;
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Entry oldest = it.next().getValue();
+            if (!oldest.response.isDone()) {
+                // In flight: evicting it would let a retry run the action a second time
+                continue;
+            }
+            if (oldest.createdAt > expiredBefore && entries.size() <= maxEntries) {
+                break;
+            }
+            it.remove();
+        }
+    }
+
+    private String fingerprint(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(fingerprintWriter.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final long createdAt;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        Entry(String fingerprint, long createdAt) {
+            this.fingerprint = fingerprint;
+            this.createdAt = createdAt;
+        }
+    }
+}
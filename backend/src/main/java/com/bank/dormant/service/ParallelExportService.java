@@ -0,0 +1,153 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.config.ReadWriteRoutingDataSource;
+import com.bank.dormant.dto.AccountFilter;
+import com.bank.dormant.model.DormantAccount;
+import com.bank.dormant.repository.DormantAccountRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Partition-parallel CSV export.
+ * The filtered set is cut into consecutive id ranges of {@code partitionSize} matching
+ * accounts, so one large bank is spread over as many partitions as the rest. Partitions
+ * are queried and formatted concurrently on a dedicated fork-join pool and written to
+ * the output in id order. At most {@code maxBufferedPartitions} formatted partitions are
+ * held in memory at any time. The last range is open-ended, so accounts inserted
+ * during the export are not dropped. Partition queries run in read-only transactions
+ * on the primary, because the result is cached under the current data version.
+ * Requirements: 11.2, 11.3, 11.4
+ */
+@Service
+public class ParallelExportService {
+
+    private final DormantAccountRepository repository;
+    private final ReportService reportService;
+    private final ExportCache exportCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ForkJoinPool exportPool;
+    private final int maxBufferedPartitions;
+    private final int partitionSize;
+
+    @Autowired
+    public ParallelExportService(DormantAccountRepository repository,
+                                 ReportService reportService,
+                                 ExportCache exportCache,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${reports.export.parallelism:0}") int parallelism,
+                                 @Value("${reports.export.max-buffered-partitions:0}") int maxBufferedPartitions,
+                                 @Value("${reports.export.partition-size:5000}") int partitionSize) {
+        this.repository = repository;
+        this.reportService = reportService;
+        this.exportCache = exportCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.exportPool = new ForkJoinPool(threads);
+        this.maxBufferedPartitions = maxBufferedPartitions > 0 ? maxBufferedPartitions : threads * 2;
+        this.partitionSize = Math.max(1, partitionSize);
+    }
+
+    /**
+     * Write the CSV export for the given filter at the given data version, serving
+     * previously rendered bytes from the export cache when available
+     * Returns the number of data rows written
+     */
+    public long exportCSV(AccountFilter filter, long dataVersion, OutputStream out) throws IOException {
+        ExportCache.CachedExport cached = exportCache.get(filter, dataVersion);
+        if (cached != null) {
+            out.write(cached.bytes());
+            out.flush();
+            return cached.rows();
+        }
+
+        ExportCache.CapturingOutputStream capture = exportCache.capture(out);
+        long rows = exportCSV(filter, capture);
+        byte[] rendered = capture.captured();
+        if (rendered != null) {
+            exportCache.put(filter, dataVersion, rendered, rows);
+        }
+        return rows;
+    }
+
+    /**
+     * Write the CSV export for the given filter to the output stream
+     * Returns the number of data rows written
+     */
+    public long exportCSV(AccountFilter filter, OutputStream out) throws IOException {
+        out.write((ReportService.CSV_HEADER + "\n").getBytes(StandardCharsets.UTF_8));
+
+        Deque<CompletableFuture<Chunk>> inFlight = new ArrayDeque<>();
+        Long lowerBound = null;
+        boolean lastRangeQueued = false;
+        long rows = 0;
+
+        try {
+            while (!lastRangeQueued || !inFlight.isEmpty()) {
+                // Keep the window full, then drain the oldest partition in order
+                while (!lastRangeQueued && inFlight.size() < maxBufferedPartitions) {
+                    Long afterId = lowerBound;
+                    Long upToId = nextBoundary(filter, afterId);
+                    inFlight.addLast(CompletableFuture.supplyAsync(
+                        () -> formatPartition(filter, afterId, upToId), exportPool));
+                    lowerBound = upToId;
+                    lastRangeQueued = upToId == null;
+                }
+
+                Chunk chunk = inFlight.removeFirst().join();
+                out.write(chunk.bytes());
+                rows += chunk.rows();
+            }
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Export partition failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            // Client disconnects and failed partitions must not leave work queued behind them
+            inFlight.forEach(future -> future.cancel(true));
+        }
+
+        out.flush();
+        return rows;
+    }
+
+    /**
+     * Last id of the range of partitionSize matching accounts after afterId,
+     * or null when the rest fits into one range
+     */
+    private Long nextBoundary(AccountFilter filter, Long afterId) {
+        return ReadWriteRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(
+            status -> repository.findNthIdMatching(filter, afterId, partitionSize)));
+    }
+
+    private Chunk formatPartition(AccountFilter filter, Long afterId, Long upToId) {
+        List<DormantAccount> accounts = ReadWriteRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(
+            status -> repository.findAllMatchingInIdRange(filter, afterId, upToId)));
+
+        StringBuilder csv = new StringBuilder(accounts.size() * 128);
+        for (DormantAccount account : accounts) {
+            csv.append(reportService.formatCSVRow(account)).append("\n");
+        }
+        return new Chunk(csv.toString().getBytes(StandardCharsets.UTF_8), accounts.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        exportPool.shutdownNow();
+    }
+
+    private record Chunk(byte[] bytes, int rows) {
+    }
+}
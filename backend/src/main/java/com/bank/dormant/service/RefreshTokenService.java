@@ -0,0 +1,167 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.model.RefreshToken;
+import com.bank.dormant.model.User;
+import com.bank.dormant.repository.RefreshTokenRepository;
+import com.bank.dormant.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Server-tracked refresh tokens. A login starts a session (token family); every refresh
+ * consumes the presented token and issues its successor, sliding the idle expiry up to
+ * the session's maximum lifetime. Only the SHA-256 of a token is stored, so a refresh is
+ * one indexed lookup instead of a BCrypt check. Presenting a token that was already used
+ * or revoked revokes the whole family, since a copy of it is in someone else's hands.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository repository;
+    private final UserRepository userRepository;
+    private final Duration ttl;
+    private final Duration maxSession;
+    private final Clock clock;
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenRepository repository, UserRepository userRepository,
+                               @Value("${jwt.refresh.ttl-ms:28800000}") long ttlMillis,
+                               @Value("${jwt.refresh.max-session-ms:604800000}") long maxSessionMillis) {
+        this(repository, userRepository, ttlMillis, maxSessionMillis, Clock.systemDefaultZone());
+    }
+
+    RefreshTokenService(RefreshTokenRepository repository, UserRepository userRepository,
+                        long ttlMillis, long maxSessionMillis, Clock clock) {
+        this.repository = repository;
+        this.userRepository = userRepository;
+        this.ttl = Duration.ofMillis(ttlMillis);
+        this.maxSession = Duration.ofMillis(maxSessionMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * Start a new session for a user who just logged in
+     */
+    public Issued issue(User user) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return store(user, UUID.randomUUID().toString(), now, now);
+    }
+
+    /**
+     * Consume a refresh token and issue its successor in the same session.
+     * Throws BadCredentialsException when the token is unknown, expired, replayed or
+     * its user is no longer active.
+     */
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = find(rawToken)
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        if (current.isRevoked() || current.getUsedAt() != null) {
+            revokeReused(current);
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new BadCredentialsException("Refresh token expired");
+        }
+        User user = userRepository.findById(current.getUserId()).orElse(null);
+        if (user == null || !user.getActive()) {
+            repository.revokeFamily(current.getFamilyId());
+            throw new BadCredentialsException("User account is inactive");
+        }
+        // Conditional update: of two concurrent refreshes with the same token only one wins
+        if (repository.markUsed(current.getId(), now) == 0) {
+            revokeReused(current);
+        }
+        return new Rotation(user, store(user, current.getFamilyId(), current.getSessionStartedAt(), now));
+    }
+
+    /**
+     * End the session the token belongs to (logout). Unknown tokens are ignored.
+     */
+    public void revoke(String rawToken) {
+        find(rawToken).ifPresent(token -> repository.revokeFamily(token.getFamilyId()));
+    }
+
+    /**
+     * Remove tokens past their expiry; they can no longer be used or replayed
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh.cleanup-interval-ms:3600000}",
+               initialDelayString = "${jwt.refresh.cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        int deleted = repository.deleteExpired(LocalDateTime.now(clock));
+        if (deleted > 0) {
+            logger.debug("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private Issued store(User user, String familyId, LocalDateTime sessionStartedAt, LocalDateTime now) {
+        LocalDateTime expiresAt = now.plus(ttl);
+        LocalDateTime sessionEnd = sessionStartedAt.plus(maxSession);
+        if (expiresAt.isAfter(sessionEnd)) {
+            expiresAt = sessionEnd;
+        }
+        if (!expiresAt.isAfter(now)) {
+            throw new BadCredentialsException("Session expired");
+        }
+
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        repository.save(new RefreshToken(hash(rawToken), familyId, user.getId(), sessionStartedAt, expiresAt, now));
+        return new Issued(rawToken, Duration.between(now, expiresAt).toMillis());
+    }
+
+    private void revokeReused(RefreshToken token) {
+        logger.warn("Refresh token reuse for user id {}, revoking session {}", token.getUserId(), token.getFamilyId());
+        repository.revokeFamily(token.getFamilyId());
+        throw new BadCredentialsException("Refresh token already used");
+    }
+
+    private Optional<RefreshToken> find(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return Optional.empty();
+        }
+        return repository.findByTokenHash(hash(rawToken));
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * A newly issued refresh token and the milliseconds until it expires
+     */
+    public record Issued(String token, long expiresIn) {
+    }
+
+    /**
+     * Outcome of a refresh: the session's user and the successor token
+     */
+    public record Rotation(User user, Issued next) {
+    }
+}
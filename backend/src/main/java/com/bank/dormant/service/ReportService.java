@@ -1,13 +1,19 @@
 package com.bank.dormant.service;
 
+import com.bank.dormant.config.ReadWriteRoutingDataSource;
+import com.bank.dormant.dto.AgingBucket;
+import com.bank.dormant.dto.AgingReport;
+import com.bank.dormant.dto.AgingReportRow;
 import com.bank.dormant.model.DormantAccount;
 import com.bank.dormant.model.ReclaimStatus;
 import com.bank.dormant.repository.DormantAccountRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,6 +24,12 @@ import java.util.stream.Collectors;
 @Service
 public class ReportService {
     
+    /**
+     * CSV header line for all account fields
+     */
+    public static final String CSV_HEADER = "Account Number,Bank Name,Balance,Customer Name,Customer Email,"
+        + "Reclaim Status,Reclaim Date,Clawback Date,Comments";
+    
     private final DormantAccountRepository repository;
     
     @Autowired
@@ -33,8 +45,7 @@ public class ReportService {
         StringBuilder csv = new StringBuilder();
         
         // Add CSV headers for all account fields
-        csv.append("Account Number,Bank Name,Balance,Customer Name,Customer Email,")
-           .append("Reclaim Status,Reclaim Date,Clawback Date,Comments\n");
+        csv.append(CSV_HEADER).append("\n");
         
         // Format each account as a CSV row
         for (DormantAccount account : accounts) {
@@ -48,6 +59,7 @@ public class ReportService {
      * Apply filters to get accounts for export
      * Requirements: 11.2
      */
+    @Transactional(readOnly = true)
     public List<DormantAccount> applyFilters(String searchTerm, String bankName, ReclaimStatus status) {
         List<DormantAccount> accounts = repository.findAll();
         
@@ -82,6 +94,31 @@ public class ReportService {
         return accounts;
     }
     
+    /**
+     * Dormancy aging report: balances bucketed by time since last transaction
+     * (0-1y, 1-3y, 3-5y, 5y+, unknown) per bank and reclaim status.
+     * Computed by a single grouped aggregation in the database, read from the primary
+     * because the result is query-cached.
+     */
+    @Transactional(readOnly = true)
+    public AgingReport getAgingReport(LocalDate asOf) {
+        List<AgingReportRow> rows = ReadWriteRoutingDataSource.onPrimary(() -> repository.getAgingBuckets(
+                asOf.minusYears(1), asOf.minusYears(3), asOf.minusYears(5))).stream()
+            .map(p -> new AgingReportRow(p.getBankName(), p.getReclaimStatus(), Arrays.asList(
+                bucket("0-1y", p.getUpToOneYearCount(), p.getUpToOneYearBalance()),
+                bucket("1-3y", p.getOneToThreeYearsCount(), p.getOneToThreeYearsBalance()),
+                bucket("3-5y", p.getThreeToFiveYearsCount(), p.getThreeToFiveYearsBalance()),
+                bucket("5y+", p.getOverFiveYearsCount(), p.getOverFiveYearsBalance()),
+                bucket("unknown", p.getUnknownCount(), p.getUnknownBalance())
+            )))
+            .collect(Collectors.toList());
+        return new AgingReport(asOf, rows);
+    }
+    
+    private AgingBucket bucket(String label, Long count, BigDecimal balance) {
+        return new AgingBucket(label, count != null ? count : 0L, balance != null ? balance : BigDecimal.ZERO);
+    }
+    
     /**
      * Format a single account as a CSV row
      * Requirements: 11.3
@@ -0,0 +1,238 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.dto.AccountFilter;
+import com.bank.dormant.dto.ReportSnapshot;
+import com.bank.dormant.model.ReclaimStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Precomputed report snapshots.
+ * The configured reports ("all" plus one per reclaim status by default) are built
+ * off-peak into gzip-compressed CSV files with a JSON metadata sidecar, so morning
+ * pulls are served straight from disk. The newest {@code retention} generations of
+ * each report are kept.
+ */
+@Service
+public class ReportSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportSnapshotService.class);
+    private static final DateTimeFormatter GENERATION_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final String ALL_ACCOUNTS = "all";
+
+    private final ParallelExportService exportService;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int retention;
+    private final Map<String, AccountFilter> reports;
+    private final Map<String, List<ReportSnapshot>> generations = new ConcurrentHashMap<>();
+    private final ReentrantLock generationLock = new ReentrantLock();
+    private final Clock clock;
+
+    @Autowired
+    public ReportSnapshotService(ParallelExportService exportService,
+                                 ObjectMapper objectMapper,
+                                 @Value("${reports.snapshots.directory:./data/snapshots}") String directory,
+                                 @Value("${reports.snapshots.retention:7}") int retention,
+                                 @Value("${reports.snapshots.reports:all,PENDING,IN_PROGRESS,COMPLETED,FAILED}") List<String> reports) {
+        this(exportService, objectMapper, directory, retention, reports, Clock.systemDefaultZone());
+    }
+
+    ReportSnapshotService(ParallelExportService exportService, ObjectMapper objectMapper, String directory,
+                          int retention, List<String> reports, Clock clock) {
+        this.exportService = exportService;
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+        this.retention = Math.max(1, retention);
+        this.reports = parseReports(reports);
+        this.clock = clock;
+    }
+
+    /**
+     * Load metadata of snapshots written by previous runs
+     */
+    @PostConstruct
+    public void loadExisting() throws IOException {
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.json")) {
+            for (Path file : files) {
+                try {
+                    ReportSnapshot snapshot = objectMapper.readValue(file.toFile(), ReportSnapshot.class);
+                    if (Files.exists(dataFile(snapshot))) {
+                        generations.computeIfAbsent(snapshot.getReport(), k -> new ArrayList<>()).add(snapshot);
+                    }
+                } catch (IOException e) {
+                    log.warn("Ignoring unreadable snapshot metadata {}: {}", file, e.getMessage());
+                }
+            }
+        }
+        generations.values().forEach(list -> list.sort(newestFirst()));
+    }
+
+    /**
+     * Nightly build of all configured reports
+     */
+    @Scheduled(cron = "${reports.snapshots.cron:0 0 2 * * *}")
+    public void scheduledGeneration() {
+        try {
+            generateAll();
+        } catch (Exception e) {
+            log.error("Scheduled report snapshot generation failed", e);
+        }
+    }
+
+    /**
+     * Build every configured report now. Concurrent calls wait for the running build.
+     */
+    public List<ReportSnapshot> generateAll() throws IOException {
+        generationLock.lock();
+        try {
+            List<ReportSnapshot> built = new ArrayList<>();
+            for (Map.Entry<String, AccountFilter> report : reports.entrySet()) {
+                built.add(generate(report.getKey(), report.getValue()));
+            }
+            return built;
+        } finally {
+            generationLock.unlock();
+        }
+    }
+
+    /**
+     * Latest generation of every report
+     */
+    public List<ReportSnapshot> listLatest() {
+        List<ReportSnapshot> latest = new ArrayList<>();
+        for (String report : reports.keySet()) {
+            findLatest(report).ifPresent(latest::add);
+        }
+        return latest;
+    }
+
+    /**
+     * All retained generations of a report, newest first
+     */
+    public List<ReportSnapshot> listGenerations(String report) {
+        List<ReportSnapshot> list = generations.getOrDefault(report, List.of());
+        synchronized (list) {
+            return List.copyOf(list);
+        }
+    }
+
+    public Optional<ReportSnapshot> findLatest(String report) {
+        return listGenerations(report).stream().findFirst();
+    }
+
+    public Optional<ReportSnapshot> find(String report, String generation) {
+        return listGenerations(report).stream()
+            .filter(snapshot -> snapshot.getGeneration().equals(generation))
+            .findFirst();
+    }
+
+    /**
+     * Path of the compressed CSV for a snapshot
+     */
+    public Path dataFile(ReportSnapshot snapshot) {
+        return directory.resolve(snapshot.getReport() + "-" + snapshot.getGeneration() + ".csv.gz");
+    }
+
+    private ReportSnapshot generate(String report, AccountFilter filter) throws IOException {
+        LocalDateTime generatedAt = LocalDateTime.now(clock);
+        ReportSnapshot snapshot = new ReportSnapshot(report, generatedAt.format(GENERATION_FORMAT),
+            0, generatedAt, 0);
+
+        Path target = dataFile(snapshot);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        long rows;
+        try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)), 64 * 1024)) {
+            rows = exportService.exportCSV(filter, out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        snapshot.setRowCount(rows);
+        snapshot.setCompressedBytes(Files.size(target));
+        objectMapper.writeValue(metadataFile(snapshot).toFile(), snapshot);
+
+        List<ReportSnapshot> list = generations.computeIfAbsent(report, k -> new ArrayList<>());
+        synchronized (list) {
+            list.removeIf(existing -> existing.getGeneration().equals(snapshot.getGeneration()));
+            list.add(0, snapshot);
+            list.sort(newestFirst());
+            while (list.size() > retention) {
+                delete(list.remove(list.size() - 1));
+            }
+        }
+
+        log.info("Built report snapshot {} generation {} ({} rows, {} bytes)",
+            report, snapshot.getGeneration(), rows, snapshot.getCompressedBytes());
+        return snapshot;
+    }
+
+    private void delete(ReportSnapshot snapshot) {
+        try {
+            Files.deleteIfExists(dataFile(snapshot));
+            Files.deleteIfExists(metadataFile(snapshot));
+        } catch (IOException e) {
+            log.warn("Failed to delete expired snapshot {}-{}: {}",
+                snapshot.getReport(), snapshot.getGeneration(), e.getMessage());
+        }
+    }
+
+    private Path metadataFile(ReportSnapshot snapshot) {
+        return directory.resolve(snapshot.getReport() + "-" + snapshot.getGeneration() + ".json");
+    }
+
+    private static Comparator<ReportSnapshot> newestFirst() {
+        return Comparator.comparing(ReportSnapshot::getGeneratedAt).reversed();
+    }
+
+    /**
+     * "all" exports every account; a reclaim status name exports that status only
+     */
+    private static Map<String, AccountFilter> parseReports(List<String> names) {
+        Map<String, AccountFilter> parsed = new LinkedHashMap<>();
+        for (String name : names) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (ALL_ACCOUNTS.equalsIgnoreCase(trimmed)) {
+                parsed.put(ALL_ACCOUNTS, AccountFilter.none());
+            } else {
+                ReclaimStatus status = ReclaimStatus.valueOf(trimmed.toUpperCase(Locale.ROOT));
+                parsed.put(status.name().toLowerCase(Locale.ROOT), new AccountFilter(null, null, status));
+            }
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,192 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.config.ReadWriteRoutingDataSource;
+import com.bank.dormant.dto.CubeCell;
+import com.bank.dormant.dto.CubeDimension;
+import com.bank.dormant.event.AccountChange;
+import com.bank.dormant.event.AccountSnapshot;
+import com.bank.dormant.event.AccountsChangedEvent;
+import com.bank.dormant.model.ReclaimStatus;
+import com.bank.dormant.repository.DormantAccountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory rollup cube of account count and balance by
+ * bank x reclaim status x reclaim month x clawback month.
+ * Cells are built from one streamed GROUP BY pass and patched with the deltas of
+ * every committed write; any slice or roll-up is answered by a scan of the cells,
+ * never of the accounts. The cube is rebuilt periodically as a safety net.
+ * <p>
+ * Writes committing while a rebuild streams its GROUP BY keep patching the current
+ * cells and are also buffered; the buffer is replayed onto the rebuilt cells before
+ * they replace the current ones, so those writes are neither lost nor counted twice.
+ * Buffering starts before the rebuild query, so a write that commits in the instant
+ * before the query starts can be counted twice until the next rebuild.
+ */
+@Service
+public class RollupCubeService {
+
+    private static final Comparator<CubeCell> CELL_ORDER = Comparator
+        .comparing(CubeCell::getBankName, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(CubeCell::getReclaimStatus, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(CubeCell::getReclaimMonth, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(CubeCell::getClawbackMonth, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final DormantAccountRepository repository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Object patchLock = new Object();
+    private volatile Map<CellKey, Totals> cells = new ConcurrentHashMap<>();
+    // Changes committed since the running rebuild started; null when none is running
+    private List<AccountChange> rebuildBuffer;
+
+    @Autowired
+    public RollupCubeService(DormantAccountRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Build the cube once startup (including database initialization) has finished,
+     * then periodically rebuild it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${reports.cube.rebuild-interval-ms:3600000}",
+               initialDelayString = "${reports.cube.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        synchronized (patchLock) {
+            rebuildBuffer = new ArrayList<>();
+        }
+        Map<CellKey, Totals> built = new ConcurrentHashMap<>();
+        try {
+            // Primary: commits a lagging replica has not replayed would vanish with the old cells
+            ReadWriteRoutingDataSource.onPrimary(() -> readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<DormantAccountRepository.CubeCellProjection> rows = repository.streamCubeCells()) {
+                    rows.forEach(row -> built.merge(
+                        new CellKey(row.getBankName(), row.getReclaimStatus(),
+                            month(row.getReclaimYear(), row.getReclaimMonth()),
+                            month(row.getClawbackYear(), row.getClawbackMonth())),
+                        new Totals(row.getAccountCount(), row.getTotalBalance()),
+                        Totals::plus));
+                }
+            }));
+        } catch (RuntimeException e) {
+            // Keep serving the patched cells
+            synchronized (patchLock) {
+                rebuildBuffer = null;
+            }
+            throw e;
+        }
+
+        synchronized (patchLock) {
+            patch(built, rebuildBuffer);
+            cells = built;
+            rebuildBuffer = null;
+        }
+    }
+
+    /**
+     * Patch the cells touched by a committed write
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountsChanged(AccountsChangedEvent event) {
+        synchronized (patchLock) {
+            patch(cells, event.getChanges());
+            if (rebuildBuffer != null) {
+                rebuildBuffer.addAll(event.getChanges());
+            }
+        }
+    }
+
+    /**
+     * Slice, dice and roll up the cube.
+     * Filters restrict the cells considered (null = any); the result holds one cell per
+     * distinct combination of the groupBy dimensions, with the other dimensions rolled up.
+     * Drill down by adding a dimension to groupBy and filtering on the parent value.
+     */
+    public List<CubeCell> query(Set<CubeDimension> groupBy, String bankName, ReclaimStatus status,
+                                YearMonth reclaimMonth, YearMonth clawbackMonth) {
+        Map<CellKey, Totals> rolledUp = new HashMap<>();
+        for (Map.Entry<CellKey, Totals> cell : cells.entrySet()) {
+            CellKey key = cell.getKey();
+            if ((bankName != null && !bankName.equalsIgnoreCase(key.bankName()))
+                    || (status != null && status != key.status())
+                    || (reclaimMonth != null && !reclaimMonth.equals(key.reclaimMonth()))
+                    || (clawbackMonth != null && !clawbackMonth.equals(key.clawbackMonth()))) {
+                continue;
+            }
+            CellKey group = new CellKey(
+                groupBy.contains(CubeDimension.BANK) ? key.bankName() : null,
+                groupBy.contains(CubeDimension.STATUS) ? key.status() : null,
+                groupBy.contains(CubeDimension.RECLAIM_MONTH) ? key.reclaimMonth() : null,
+                groupBy.contains(CubeDimension.CLAWBACK_MONTH) ? key.clawbackMonth() : null);
+            rolledUp.merge(group, cell.getValue(), Totals::plus);
+        }
+
+        return rolledUp.entrySet().stream()
+            .filter(e -> e.getValue().count() > 0)
+            .map(e -> new CubeCell(e.getKey().bankName(), e.getKey().status(), e.getKey().reclaimMonth(),
+                e.getKey().clawbackMonth(), e.getValue().count(), e.getValue().balance()))
+            .sorted(CELL_ORDER)
+            .toList();
+    }
+
+    private static void patch(Map<CellKey, Totals> target, List<AccountChange> changes) {
+        for (AccountChange change : changes) {
+            if (change.before() != null) {
+                apply(target, CellKey.of(change.before()), new Totals(-1, change.before().balance().negate()));
+            }
+            if (change.after() != null) {
+                apply(target, CellKey.of(change.after()), new Totals(1, change.after().balance()));
+            }
+        }
+    }
+
+    private static void apply(Map<CellKey, Totals> target, CellKey key, Totals delta) {
+        target.compute(key, (k, current) -> {
+            Totals updated = current == null ? delta : current.plus(delta);
+            return updated.count() == 0 ? null : updated;
+        });
+    }
+
+    private static YearMonth month(Integer year, Integer month) {
+        return year != null && month != null ? YearMonth.of(year, month) : null;
+    }
+
+    private static YearMonth month(LocalDate date) {
+        return date != null ? YearMonth.from(date) : null;
+    }
+
+    private record CellKey(String bankName, ReclaimStatus status, YearMonth reclaimMonth, YearMonth clawbackMonth) {
+        static CellKey of(AccountSnapshot account) {
+            return new CellKey(account.bankName(), account.reclaimStatus(),
+                month(account.reclaimDate()), month(account.clawbackDate()));
+        }
+    }
+
+    private record Totals(long count, BigDecimal balance) {
+        Totals plus(Totals other) {
+            return new Totals(count + other.count, balance.add(Objects.requireNonNullElse(other.balance, BigDecimal.ZERO)));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.dto.CubeCell;
+import com.bank.dormant.dto.CubeDimension;
+import com.bank.dormant.dto.HistoryGranularity;
+import com.bank.dormant.dto.SummaryHistoryPoint;
+import com.bank.dormant.model.BankSummaryHistory;
+import com.bank.dormant.model.ReclaimStatus;
+import com.bank.dormant.model.SummaryHistoryCapture;
+import com.bank.dormant.repository.BankSummaryHistoryRepository;
+import com.bank.dormant.repository.SummaryHistoryCaptureRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Day-by-day history of per-bank, per-status account count and balance.
+ * Once a day the bank x status rollup of the in-memory cube is stored as one row per
+ * bank and status, so a year of one bank is at most 365 x statuses rows read through
+ * the (bank_name, snapshot_date) index. Long ranges are downsampled to weekly or
+ * monthly points; the totals are levels, so each period is represented by its last
+ * captured day rather than a sum.
+ * Captures of one day are serialized on that day's summary_history_captures row, so
+ * concurrent captures (e.g. the daily job on every node) replace rather than double the points.
+ */
+@Service
+public class SummaryHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(SummaryHistoryService.class);
+    private static final Comparator<SummaryHistoryPoint> POINT_ORDER = Comparator
+        .comparing(SummaryHistoryPoint::getBankName)
+        .thenComparing(SummaryHistoryPoint::getReclaimStatus, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(SummaryHistoryPoint::getDate);
+
+    private final BankSummaryHistoryRepository historyRepository;
+    private final SummaryHistoryCaptureRepository captureRepository;
+    private final RollupCubeService rollupCubeService;
+    private final TransactionTemplate captureTransaction;
+
+    @Autowired
+    public SummaryHistoryService(BankSummaryHistoryRepository historyRepository,
+                                 SummaryHistoryCaptureRepository captureRepository,
+                                 RollupCubeService rollupCubeService,
+                                 PlatformTransactionManager transactionManager) {
+        this.historyRepository = historyRepository;
+        this.captureRepository = captureRepository;
+        this.rollupCubeService = rollupCubeService;
+        this.captureTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Daily capture, shortly before midnight so the point reflects the end of the day
+     */
+    @Scheduled(cron = "${reports.history.cron:0 55 23 * * *}")
+    public void scheduledCapture() {
+        try {
+            capture(LocalDate.now());
+        } catch (Exception e) {
+            log.error("Scheduled summary history capture failed", e);
+        }
+    }
+
+    /**
+     * Store the current totals as the points of the given day, replacing any earlier
+     * capture of that day
+     */
+    public int capture(LocalDate date) {
+        try {
+            return captureTransaction.execute(status -> replace(date));
+        } catch (DataIntegrityViolationException e) {
+            // Another capture inserted the day's first row concurrently and has committed: replace its points
+            log.info("Summary history for {} was captured concurrently, capturing again", date);
+            return captureTransaction.execute(status -> replace(date));
+        }
+    }
+
+    private int replace(LocalDate date) {
+        // Held until commit: a concurrent capture of the day waits here instead of inserting alongside
+        SummaryHistoryCapture capture = captureRepository.lockBySnapshotDate(date).orElse(null);
+        if (capture == null) {
+            captureRepository.saveAndFlush(new SummaryHistoryCapture(date, LocalDateTime.now()));
+        } else {
+            capture.setCapturedAt(LocalDateTime.now());
+        }
+
+        historyRepository.deleteBySnapshotDate(date);
+        List<BankSummaryHistory> rows = new ArrayList<>();
+        for (CubeCell cell : rollupCubeService.query(EnumSet.of(CubeDimension.BANK, CubeDimension.STATUS),
+                null, null, null, null)) {
+            rows.add(new BankSummaryHistory(date, cell.getBankName(), cell.getReclaimStatus(),
+                cell.getAccountCount(), cell.getTotalBalance()));
+        }
+        historyRepository.saveAll(rows);
+        log.info("Captured {} summary history points for {}", rows.size(), date);
+        return rows.size();
+    }
+
+    /**
+     * Points between from and to (inclusive) for one bank, or every bank when bankName is null.
+     * With a status only that status is returned; without one the statuses are summed per bank.
+     */
+    @Transactional(readOnly = true)
+    public List<SummaryHistoryPoint> getHistory(String bankName, ReclaimStatus status, LocalDate from,
+                                                LocalDate to, HistoryGranularity granularity) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        List<BankSummaryHistory> rows = bankName != null
+            ? historyRepository.findByBankNameAndSnapshotDateBetweenOrderBySnapshotDate(bankName, from, to)
+            : historyRepository.findBySnapshotDateBetweenOrderBySnapshotDate(from, to);
+
+        // One daily point per series; rows arrive in date order
+        Map<SeriesKey, TreeMap<LocalDate, SummaryHistoryPoint>> series = new LinkedHashMap<>();
+        for (BankSummaryHistory row : rows) {
+            if (status != null && status != row.getReclaimStatus()) {
+                continue;
+            }
+            SeriesKey key = new SeriesKey(row.getBankName(), status);
+            series.computeIfAbsent(key, k -> new TreeMap<>()).merge(row.getSnapshotDate(),
+                new SummaryHistoryPoint(row.getSnapshotDate(), row.getBankName(), status,
+                    row.getAccountCount(), row.getTotalBalance()),
+                SummaryHistoryService::sum);
+        }
+
+        List<SummaryHistoryPoint> points = new ArrayList<>();
+        for (TreeMap<LocalDate, SummaryHistoryPoint> daily : series.values()) {
+            if (granularity == HistoryGranularity.DAY) {
+                points.addAll(daily.values());
+                continue;
+            }
+            // Last captured day of each period; later days overwrite earlier ones
+            Map<LocalDate, SummaryHistoryPoint> periods = new LinkedHashMap<>();
+            for (SummaryHistoryPoint point : daily.values()) {
+                periods.put(periodStart(point.getDate(), granularity), point);
+            }
+            points.addAll(periods.values());
+        }
+        points.sort(POINT_ORDER);
+        return points;
+    }
+
+    private static LocalDate periodStart(LocalDate date, HistoryGranularity granularity) {
+        return granularity == HistoryGranularity.WEEK
+            ? date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+            : date.withDayOfMonth(1);
+    }
+
+    private static SummaryHistoryPoint sum(SummaryHistoryPoint a, SummaryHistoryPoint b) {
+        return new SummaryHistoryPoint(a.getDate(), a.getBankName(), a.getReclaimStatus(),
+            a.getAccountCount() + b.getAccountCount(),
+            a.getTotalBalance().add(Objects.requireNonNullElse(b.getTotalBalance(), BigDecimal.ZERO)));
+    }
+
+    private record SeriesKey(String bankName, ReclaimStatus status) {
+    }
+}
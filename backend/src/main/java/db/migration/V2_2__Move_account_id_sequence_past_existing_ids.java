@@ -0,0 +1,33 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Second half of the pre-Flyway upgrade (see V2_1): accounts of a database created by
+ * the former schema.sql got BIGSERIAL ids, so dormant_accounts_seq is restarted past
+ * the highest one. RESTART WITH only takes a constant, hence a Java migration.
+ * On a database created by V1 the highest id is a seed row and nothing changes.
+ */
+public class V2_2__Move_account_id_sequence_past_existing_ids extends BaseJavaMigration {
+
+    // Ids below this are reserved for the seed rows (see V1)
+    private static final long FIRST_POOLED_ID = 1001;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM dormant_accounts")) {
+                rs.next();
+                maxId = rs.getLong(1);
+            }
+            if (maxId >= FIRST_POOLED_ID) {
+                statement.execute("ALTER SEQUENCE dormant_accounts_seq RESTART WITH " + (maxId + 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+-- Baseline schema: users, dormant accounts, summary history, bulk update jobs,
+-- refresh tokens and revoked access tokens
+
+-- Create users table
+CREATE TABLE users (
+    id BIGSERIAL PRIMARY KEY,
+    username VARCHAR(255) UNIQUE NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(50) NOT NULL,
+    active BOOLEAN NOT NULL DEFAULT true,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Account ids come from a pooled sequence: each value hands the application a block
+-- of 1000 ids (pooled-lo), so INCREMENT BY must match the entity's allocationSize.
+-- Ids below 1001 are reserved for the seed rows in data.sql.
+CREATE SEQUENCE dormant_accounts_seq START WITH 1001 INCREMENT BY 1000;
+
+-- Create dormant_accounts table
+CREATE TABLE dormant_accounts (
+    id BIGINT PRIMARY KEY,
+    account_number VARCHAR(255) UNIQUE NOT NULL,
+    bank_name VARCHAR(255) NOT NULL,
+    balance DECIMAL(15, 2) NOT NULL,
+    customer_name VARCHAR(255),
+    customer_email VARCHAR(255),
+    reclaim_status VARCHAR(50),
+    reclaim_date DATE,
+    clawback_date DATE,
+    comments TEXT,
+    last_transaction_date DATE,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create indexes for dormant_accounts table
+CREATE INDEX idx_account_number ON dormant_accounts(account_number);
+CREATE INDEX idx_bank_name ON dormant_accounts(bank_name);
+CREATE INDEX idx_reclaim_status ON dormant_accounts(reclaim_status);
+CREATE INDEX idx_last_transaction_date ON dormant_accounts(last_transaction_date);
+
+-- Create bank_summary_history table (one row per bank, reclaim status and day)
+CREATE TABLE bank_summary_history (
+    id BIGSERIAL PRIMARY KEY,
+    snapshot_date DATE NOT NULL,
+    bank_name VARCHAR(255) NOT NULL,
+    reclaim_status VARCHAR(50),
+    account_count BIGINT NOT NULL,
+    total_balance DECIMAL(19, 2) NOT NULL
+);
+
+CREATE INDEX idx_summary_history_bank_date ON bank_summary_history(bank_name, snapshot_date);
+CREATE INDEX idx_summary_history_date ON bank_summary_history(snapshot_date);
+
+-- Create bulk_update_jobs table (background bulk updates committed in chunks)
+CREATE TABLE bulk_update_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(50) NOT NULL,
+    cancel_requested BOOLEAN NOT NULL DEFAULT false,
+    account_ids TEXT,
+    search_term VARCHAR(255),
+    bank_name VARCHAR(255),
+    filter_status VARCHAR(50),
+    reclaim_status VARCHAR(50),
+    reclaim_date DATE,
+    clawback_date DATE,
+    comments TEXT,
+    total_count BIGINT NOT NULL DEFAULT 0,
+    processed_count BIGINT NOT NULL DEFAULT 0,
+    updated_count BIGINT NOT NULL DEFAULT 0,
+    committed_chunks INTEGER NOT NULL DEFAULT 0,
+    last_committed_id BIGINT,
+    error_message VARCHAR(1000),
+    created_by VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX idx_bulk_update_jobs_status ON bulk_update_jobs(status);
+
+-- Create bulk_update_job_chunks table (one row per committed chunk)
+CREATE TABLE bulk_update_job_chunks (
+    id BIGSERIAL PRIMARY KEY,
+    job_id BIGINT NOT NULL REFERENCES bulk_update_jobs(id) ON DELETE CASCADE,
+    chunk_index INTEGER NOT NULL,
+    first_id BIGINT NOT NULL,
+    last_id BIGINT NOT NULL,
+    account_count INTEGER NOT NULL,
+    updated_count INTEGER NOT NULL,
+    committed_at TIMESTAMP NOT NULL,
+    UNIQUE (job_id, chunk_index)
+);
+
+-- Create refresh_tokens table (rotating refresh tokens; only the SHA-256 of a token is stored)
+CREATE TABLE refresh_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    token_hash VARCHAR(64) UNIQUE NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    session_started_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    used_at TIMESTAMP,
+    revoked BOOLEAN NOT NULL DEFAULT false
+);
+
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens(family_id);
+CREATE INDEX idx_refresh_tokens_expires ON refresh_tokens(expires_at);
+
+-- Create revoked_tokens table (access tokens revoked before expiry, keyed by jti)
+CREATE TABLE revoked_tokens (
+    jti VARCHAR(36) PRIMARY KEY,
+    user_id BIGINT,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_expires ON revoked_tokens(expires_at);
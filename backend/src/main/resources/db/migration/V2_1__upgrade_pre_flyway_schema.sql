@@ -0,0 +1,87 @@
+-- Upgrade of a database created by the former schema.sql/data.sql scripts, which Flyway
+-- adopts as version 2 (baseline-on-migrate): that schema only has users and
+-- dormant_accounts (BIGSERIAL ids, no version or last_transaction_date column).
+-- Every statement is conditional, so on a database created by V1 this is a no-op.
+-- V2_2 moves the account id sequence past the ids already in use.
+
+ALTER TABLE dormant_accounts ADD COLUMN IF NOT EXISTS last_transaction_date DATE;
+ALTER TABLE dormant_accounts ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+-- Ids come from dormant_accounts_seq now, not from the BIGSERIAL default
+ALTER TABLE dormant_accounts ALTER COLUMN id DROP DEFAULT;
+CREATE INDEX IF NOT EXISTS idx_last_transaction_date ON dormant_accounts(last_transaction_date);
+
+CREATE SEQUENCE IF NOT EXISTS dormant_accounts_seq START WITH 1001 INCREMENT BY 1000;
+
+CREATE TABLE IF NOT EXISTS bank_summary_history (
+    id BIGSERIAL PRIMARY KEY,
+    snapshot_date DATE NOT NULL,
+    bank_name VARCHAR(255) NOT NULL,
+    reclaim_status VARCHAR(50),
+    account_count BIGINT NOT NULL,
+    total_balance DECIMAL(19, 2) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_summary_history_bank_date ON bank_summary_history(bank_name, snapshot_date);
+CREATE INDEX IF NOT EXISTS idx_summary_history_date ON bank_summary_history(snapshot_date);
+
+CREATE TABLE IF NOT EXISTS bulk_update_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(50) NOT NULL,
+    cancel_requested BOOLEAN NOT NULL DEFAULT false,
+    account_ids TEXT,
+    search_term VARCHAR(255),
+    bank_name VARCHAR(255),
+    filter_status VARCHAR(50),
+    reclaim_status VARCHAR(50),
+    reclaim_date DATE,
+    clawback_date DATE,
+    comments TEXT,
+    total_count BIGINT NOT NULL DEFAULT 0,
+    processed_count BIGINT NOT NULL DEFAULT 0,
+    updated_count BIGINT NOT NULL DEFAULT 0,
+    committed_chunks INTEGER NOT NULL DEFAULT 0,
+    last_committed_id BIGINT,
+    error_message VARCHAR(1000),
+    created_by VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_bulk_update_jobs_status ON bulk_update_jobs(status);
+
+CREATE TABLE IF NOT EXISTS bulk_update_job_chunks (
+    id BIGSERIAL PRIMARY KEY,
+    job_id BIGINT NOT NULL REFERENCES bulk_update_jobs(id) ON DELETE CASCADE,
+    chunk_index INTEGER NOT NULL,
+    first_id BIGINT NOT NULL,
+    last_id BIGINT NOT NULL,
+    account_count INTEGER NOT NULL,
+    updated_count INTEGER NOT NULL,
+    committed_at TIMESTAMP NOT NULL,
+    UNIQUE (job_id, chunk_index)
+);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    token_hash VARCHAR(64) UNIQUE NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    session_started_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    used_at TIMESTAMP,
+    revoked BOOLEAN NOT NULL DEFAULT false
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family ON refresh_tokens(family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires ON refresh_tokens(expires_at);
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti VARCHAR(36) PRIMARY KEY,
+    user_id BIGINT,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires ON revoked_tokens(expires_at);
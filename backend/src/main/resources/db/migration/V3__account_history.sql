@@ -0,0 +1,23 @@
+-- Append-only audit trail of account changes (reclaim status, dates, comments),
+-- written in batches by AccountAuditTrail. No foreign key: history outlives the account.
+
+-- Pooled sequence (pooled-lo, blocks of 1000) so history inserts can be JDBC-batched
+CREATE SEQUENCE account_history_seq START WITH 1 INCREMENT BY 1000;
+
+CREATE TABLE account_history (
+    id BIGINT PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    old_reclaim_status VARCHAR(50),
+    new_reclaim_status VARCHAR(50),
+    old_reclaim_date DATE,
+    new_reclaim_date DATE,
+    old_clawback_date DATE,
+    new_clawback_date DATE,
+    old_comments TEXT,
+    new_comments TEXT,
+    changed_by VARCHAR(255),
+    changed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_account_history_account ON account_history(account_id, changed_at);
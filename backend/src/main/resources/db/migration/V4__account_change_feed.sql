@@ -0,0 +1,11 @@
+-- Incremental change feed (GET /api/accounts/changes): accounts are read by keyset on
+-- (updated_at, id); deleted accounts leave a tombstone for the retention period.
+
+CREATE INDEX idx_dormant_accounts_updated ON dormant_accounts(updated_at, id);
+
+CREATE TABLE account_tombstones (
+    account_id BIGINT PRIMARY KEY,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_account_tombstones_deleted ON account_tombstones(deleted_at);
@@ -0,0 +1,6 @@
+-- Bulk update job ownership: the node whose worker has the job queued or running, and
+-- when that node last confirmed it. Only jobs whose heartbeat is stale are failed as
+-- abandoned, so jobs still running on other nodes are left alone.
+
+ALTER TABLE bulk_update_jobs ADD COLUMN owner VARCHAR(255);
+ALTER TABLE bulk_update_jobs ADD COLUMN heartbeat_at TIMESTAMP;
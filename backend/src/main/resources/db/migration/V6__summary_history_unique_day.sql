@@ -0,0 +1,21 @@
+-- One summary history point per day, bank and reclaim status. Captures of the same day
+-- used to run unlocked delete-then-insert, so two concurrent captures could both insert
+-- their rows. Duplicates left by that are removed (keeping the first row of each point)
+-- before the key is added.
+
+DELETE FROM bank_summary_history WHERE id NOT IN (
+    SELECT MIN(id) FROM bank_summary_history GROUP BY snapshot_date, bank_name, reclaim_status
+);
+
+ALTER TABLE bank_summary_history
+    ADD CONSTRAINT uk_summary_history_point UNIQUE (snapshot_date, bank_name, reclaim_status);
+
+-- The key's index serves lookups and deletes by snapshot_date
+DROP INDEX idx_summary_history_date;
+
+-- A unique key does not compare NULL statuses, so captures of a day are also serialized
+-- on that day's row here (SELECT ... FOR UPDATE)
+CREATE TABLE summary_history_captures (
+    snapshot_date DATE PRIMARY KEY,
+    captured_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,5 @@
+-- V1 states that ids below 1001 are reserved for the seed rows of data.sql; those rows
+-- come from V2__seed_data.sql since the move to Flyway. Recorded on the sequence itself
+-- because an applied migration must not be edited (its checksum would no longer match).
+
+COMMENT ON SEQUENCE dormant_accounts_seq IS 'Ids below 1001 are reserved for the seed rows of V2__seed_data.sql';
@@ -0,0 +1,107 @@
+package com.bank.dormant;
+
+import com.bank.dormant.dto.AccountUpdateRequest;
+import com.bank.dormant.model.DormantAccount;
+import com.bank.dormant.repository.DormantAccountRepository;
+import com.bank.dormant.service.DataVersionService;
+import com.bank.dormant.service.DormantAccountService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the application against the H2 profile (Flyway migrations, second-level
+ * and query cache regions from ehcache.xml, routing data source).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("h2")
+class DormantAccountsApplicationTest {
+
+    @Autowired
+    private DormantAccountRepository accountRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DormantAccountService accountService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testFindById_RepeatedReadIsServedFromSecondLevelCache() {
+        // Act
+        DormantAccount first = accountRepository.findById(1L).orElseThrow();
+        DormantAccount second = accountRepository.findById(1L).orElseThrow();
+
+        // Assert
+        assertEquals(first.getAccountNumber(), second.getAccountNumber());
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 1);
+    }
+
+    @Test
+    void testGetAgingBuckets_CachedUntilAccountsAreWritten() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        accountRepository.getAgingBuckets(today.minusYears(1), today.minusYears(3), today.minusYears(5));
+
+        // Act
+        accountRepository.getAgingBuckets(today.minusYears(1), today.minusYears(3), today.minusYears(5));
+        long hitsBeforeWrite = statistics.getQueryCacheHitCount();
+        DormantAccount account = new DormantAccount();
+        account.setAccountNumber("CTX-CACHE-1");
+        account.setBankName("Context Test Bank");
+        account.setBalance(new BigDecimal("1.00"));
+        accountRepository.save(account);
+        var afterWrite = accountRepository.getAgingBuckets(
+            today.minusYears(1), today.minusYears(3), today.minusYears(5));
+
+        // Assert
+        assertEquals(1, hitsBeforeWrite);
+        assertTrue(afterWrite.stream().anyMatch(row -> "Context Test Bank".equals(row.getBankName())));
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void testDataVersion_BumpedOnlyOnceTheWriteCommits() {
+        // Arrange
+        long before = dataVersionService.currentVersion();
+        AccountUpdateRequest update = new AccountUpdateRequest();
+        update.setComments("version test");
+
+        // Act
+        long duringTransaction = new TransactionTemplate(transactionManager).execute(status -> {
+            accountService.applyPreparedUpdate(List.of(2L), update, "test");
+            return dataVersionService.currentVersion();
+        });
+
+        // Assert
+        assertEquals(before, duringTransaction);
+        assertEquals(before + 1, dataVersionService.currentVersion());
+    }
+}
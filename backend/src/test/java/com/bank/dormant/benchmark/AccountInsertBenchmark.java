@@ -0,0 +1,98 @@
+package com.bank.dormant.benchmark;
+
+import com.bank.dormant.dto.UploadResponse;
+import com.bank.dormant.repository.DormantAccountRepository;
+import com.bank.dormant.service.FileUploadService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Insert throughput of the upload path against the H2 profile: row by row (batch size 1,
+ * i.e. one duplicate lookup and one insert transaction per row, as before batching) versus
+ * 1000-row batches sent as JDBC batches with pooled sequence ids.
+ * Not part of the regular test run; execute with
+ * mvn test -Dtest=AccountInsertBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@ActiveProfiles("h2")
+class AccountInsertBenchmark {
+
+    private static final int ROWS = 20_000;
+
+    @Autowired
+    private DormantAccountRepository repository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareRowByRowWithBatchedInserts() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        FileUploadService rowByRow = new FileUploadService(repository, eventPublisher, transactionManager, 1, 20);
+        FileUploadService batched = new FileUploadService(repository, eventPublisher, transactionManager, 1000, 20);
+
+        // Warm up both paths (JIT, statement caches, first sequence block)
+        upload(rowByRow, "WARM-ROW", 2_000);
+        upload(batched, "WARM-BATCH", 2_000);
+
+        Result single = measure(statistics, rowByRow, "ROW");
+        Result batch = measure(statistics, batched, "BATCH");
+
+        System.out.printf("row-by-row: %,d rows in %,d ms (%,.0f rows/s), %,d statements%n",
+            ROWS, single.millis, single.rowsPerSecond(), single.statements);
+        System.out.printf("batched:    %,d rows in %,d ms (%,.0f rows/s), %,d statements%n",
+            ROWS, batch.millis, batch.rowsPerSecond(), batch.statements);
+
+        // Batching collapses the per-row round trips: inserts go out 50 per JDBC batch,
+        // ids are reserved 1000 at a time and duplicates are checked once per batch
+        assertTrue(batch.statements * 20 < single.statements,
+            "expected far fewer statements with batching: " + batch.statements + " vs " + single.statements);
+        assertTrue(batch.rowsPerSecond() > single.rowsPerSecond(),
+            "expected higher insert throughput with batching");
+    }
+
+    private Result measure(Statistics statistics, FileUploadService service, String prefix) {
+        statistics.clear();
+        long start = System.nanoTime();
+        UploadResponse response = upload(service, prefix, ROWS);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(ROWS, response.getSuccessCount());
+        return new Result(Math.max(1, millis), statistics.getPrepareStatementCount());
+    }
+
+    private UploadResponse upload(FileUploadService service, String prefix, int rows) {
+        StringBuilder file = new StringBuilder("accountNumber|customerName|bankName|balance|customerEmail\n");
+        for (int i = 0; i < rows; i++) {
+            file.append(prefix).append('-').append(i).append("|Customer ").append(i)
+                .append("|Bench Bank ").append(i % 10).append('|').append(100 + i % 5000).append(".00")
+                .append("|customer").append(i).append("@example.com\n");
+        }
+        return service.processFile(new MockMultipartFile("file", "bench.txt", "text/plain",
+            file.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private record Result(long millis, long statements) {
+        double rowsPerSecond() {
+            return ROWS * 1000.0 / millis;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.bank.dormant.benchmark;
+
+import com.bank.dormant.model.Role;
+import com.bank.dormant.model.User;
+import com.bank.dormant.repository.RevokedTokenRepository;
+import com.bank.dormant.repository.UserRepository;
+import com.bank.dormant.security.JwtAuthenticationFilter;
+import com.bank.dormant.security.JwtUtil;
+import com.bank.dormant.security.TokenRevocationList;
+import com.bank.dormant.security.UserPrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JWT authentication in JwtAuthenticationFilter:
+ * the former four parses with a rebuilt key and parser each time, one parse with the
+ * prebuilt parser (verified-token cache disabled), and a verified-token cache hit.
+ * The user repository is stubbed so only the token handling and user cache are measured.
+ * Not part of the regular test run; execute with
+ * mvn test -Dtest=JwtFilterBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private String token;
+    private User user;
+    private JwtAuthenticationFilter singleParseFilter;
+    private JwtAuthenticationFilter cachedFilter;
+
+    @Setup
+    public void setUp() {
+        user = new User(1L, "admin", "hash", Role.ADMIN, true, null, null);
+        UserRepository users = (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+            new Class<?>[] {UserRepository.class},
+            (proxy, method, args) -> method.getName().equals("findByUsername") ? Optional.of(user) : null);
+
+        JwtUtil uncached = jwtUtil(0);
+        token = uncached.generateToken(user);
+        singleParseFilter = filter(uncached, users);
+        cachedFilter = filter(jwtUtil(10_000), users);
+    }
+
+    /**
+     * Baseline: the JWT work the filter did before (username, validate + expiry, role),
+     * each building a new key and parser
+     */
+    @Benchmark
+    public void fourParses(Blackhole blackhole) {
+        String username = legacyClaims(token).getSubject();
+        boolean valid = legacyClaims(token) != null && legacyClaims(token).getExpiration().after(new Date());
+        String role = legacyClaims(token).get("role", String.class);
+        blackhole.consume(username);
+        blackhole.consume(valid);
+        blackhole.consume(role);
+        blackhole.consume(Optional.of(user));
+    }
+
+    @Benchmark
+    public void filterSingleParse() throws Exception {
+        authenticate(singleParseFilter);
+    }
+
+    @Benchmark
+    public void filterCachedToken() throws Exception {
+        authenticate(cachedFilter);
+    }
+
+    private void authenticate(JwtAuthenticationFilter filter) throws Exception {
+        // A new request each time: OncePerRequestFilter skips requests it has already seen
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/accounts");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), CHAIN);
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            throw new IllegalStateException("token was not accepted");
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+            .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+            .build()
+            .parseSignedClaims(token)
+            .getPayload();
+    }
+
+    private static JwtUtil jwtUtil(int cacheSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "issuer", "dormant-accounts-service");
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", cacheSize);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+
+    private static JwtAuthenticationFilter filter(JwtUtil jwtUtil, UserRepository users) {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "userPrincipalCache",
+            new UserPrincipalCache(users, new SimpleMeterRegistry(), 100, 30_000));
+        ReflectionTestUtils.setField(filter, "tokenRevocationList", new TokenRevocationList(
+            Mockito.mock(RevokedTokenRepository.class), new SimpleMeterRegistry(), 3_600_000L, 1000));
+        return filter;
+    }
+
+    @Test
+    void runBenchmarks() throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(JwtFilterBenchmark.class.getName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,168 @@
+package com.bank.dormant.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final AtomicReference<String> session = new AtomicReference<>("alice");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReplicaLagMonitor monitor;
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(primary.getConnection()).thenReturn(primaryConnection);
+        lenient().when(replica.getConnection()).thenReturn(replicaConnection);
+        lenient().when(replicaConnection.isValid(1)).thenReturn(true);
+        lenient().when(primaryConnection.getCatalog()).thenReturn("primary");
+        lenient().when(replicaConnection.getCatalog()).thenReturn("replica");
+        // No lag query: the replica counts as current while reachable
+        monitor = new ReplicaLagMonitor(replica, null, 5000, now::get);
+        monitor.check();
+        routing = new ReadWriteRoutingDataSource(primary, replica, monitor, meterRegistry, session::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void testGetConnection_RoutesReadOnlyTransactionsToReplica() throws SQLException {
+        // Act
+        String write = targetOf(false);
+        String read = targetOf(true);
+
+        // Assert
+        assertEquals("primary", write);
+        assertEquals("replica", read);
+        assertEquals(1.0, meterRegistry.counter("datasource.routing", "target", "primary").count());
+        assertEquals(1.0, meterRegistry.counter("datasource.routing", "target", "replica").count());
+    }
+
+    @Test
+    void testGetConnection_PinsOnlyTheWritingSessionToPrimaryUntilReplicaCatchesUp() throws SQLException {
+        // Arrange
+        now.addAndGet(100);
+        try (Connection connection = routing.getConnection()) {
+            connection.commit();
+        }
+
+        // Act
+        String writerRead = targetOf(true);
+        session.set("bob");
+        String otherRead = targetOf(true);
+        now.addAndGet(100);
+        monitor.check();
+        session.set("alice");
+        String writerReadAfterCatchUp = targetOf(true);
+
+        // Assert
+        assertEquals("primary", writerRead);
+        assertEquals("replica", otherRead);
+        assertEquals("replica", writerReadAfterCatchUp);
+    }
+
+    @Test
+    void testGetConnection_ReadOnlyCommitOnPrimaryIsNotAWrite() throws SQLException {
+        // Arrange
+        when(primaryConnection.isReadOnly()).thenReturn(true);
+        now.addAndGet(100);
+
+        // Act
+        try (Connection connection = routing.getConnection()) {
+            connection.commit();
+        }
+
+        // Assert
+        verify(primaryConnection).commit();
+        assertEquals("replica", targetOf(true));
+    }
+
+    @Test
+    void testOnPrimary_RoutesPinnedReadOnlyWorkToPrimaryWithoutRecordingAWrite() throws SQLException {
+        // Arrange
+        when(primaryConnection.isReadOnly()).thenReturn(true);
+
+        // Act
+        String pinned = ReadWriteRoutingDataSource.onPrimary(() -> {
+            try (Connection connection = readOnlyConnection()) {
+                connection.commit();
+                return connection.getCatalog();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        String afterwards = targetOf(true);
+
+        // Assert
+        assertEquals("primary", pinned);
+        assertEquals("replica", afterwards);
+        assertEquals(0, monitor.trackedSessions());
+    }
+
+    @Test
+    void testGetConnection_FallsBackToPrimaryWhileReplicaIsUnavailable() throws SQLException {
+        // Arrange
+        when(replica.getConnection()).thenThrow(new SQLException("down"));
+        monitor.check();
+
+        // Act & Assert
+        assertEquals("primary", targetOf(true));
+    }
+
+    @Test
+    void testCurrentSession_UsesSharedSessionWithoutAuthenticatedUser() {
+        // Act & Assert
+        assertEquals(ReadWriteRoutingDataSource.SYSTEM_SESSION, ReadWriteRoutingDataSource.currentSession());
+    }
+
+    private Connection readOnlyConnection() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            return routing.getConnection();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    private String targetOf(boolean readOnly) throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        try (Connection connection = routing.getConnection()) {
+            return connection.getCatalog();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+}
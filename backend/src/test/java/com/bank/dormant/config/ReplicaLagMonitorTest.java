@@ -0,0 +1,83 @@
+package com.bank.dormant.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaLagMonitorTest {
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    void testIsReplicaReadable_WaitsUntilReplicaHasAppliedTheSessionsLastWrite() throws SQLException {
+        // Arrange
+        lagReturns(200);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT lag", 5000, now::get);
+        monitor.check();
+        assertTrue(monitor.isReplicaReadable("alice"));
+
+        // Act
+        now.addAndGet(100);
+        monitor.recordWrite("alice");
+        boolean writerAfterWrite = monitor.isReplicaReadable("alice");
+        boolean otherAfterWrite = monitor.isReplicaReadable("bob");
+        now.addAndGet(1000);
+        monitor.check();
+
+        // Assert
+        assertFalse(writerAfterWrite);
+        assertTrue(otherAfterWrite);
+        assertTrue(monitor.isReplicaReadable("alice"));
+        assertEquals(0, monitor.trackedSessions());
+    }
+
+    @Test
+    void testCheck_FallsBackToPrimaryWhenReplicaLagsOrFails() throws SQLException {
+        // Arrange
+        lagReturns(6000);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT lag", 5000, now::get);
+
+        // Act
+        monitor.check();
+        boolean lagging = monitor.isReplicaReadable("alice");
+        when(replica.getConnection()).thenThrow(new SQLException("down"));
+        monitor.check();
+
+        // Assert
+        assertFalse(lagging);
+        assertFalse(monitor.isReplicaReadable("alice"));
+    }
+
+    private void lagReturns(long lag) throws SQLException {
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(lag);
+    }
+}
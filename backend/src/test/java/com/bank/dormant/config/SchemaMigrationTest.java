@@ -0,0 +1,125 @@
+package com.bank.dormant.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaMigrationTest {
+
+    @Test
+    void testMigrate_UpgradesDatabaseCreatedByFormerSchemaScript() throws SQLException {
+        // Arrange
+        String url = newDatabase();
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement()) {
+            // Former schema.sql and a few data.sql/uploaded rows
+            statement.execute("CREATE TABLE users (id BIGSERIAL PRIMARY KEY, username VARCHAR(255) UNIQUE NOT NULL, " +
+                "password VARCHAR(255) NOT NULL, role VARCHAR(50) NOT NULL, active BOOLEAN NOT NULL DEFAULT true, " +
+                "created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+                "updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            statement.execute("CREATE TABLE dormant_accounts (id BIGSERIAL PRIMARY KEY, " +
+                "account_number VARCHAR(255) UNIQUE NOT NULL, bank_name VARCHAR(255) NOT NULL, " +
+                "balance DECIMAL(15, 2) NOT NULL, customer_name VARCHAR(255), customer_email VARCHAR(255), " +
+                "reclaim_status VARCHAR(50), reclaim_date DATE, clawback_date DATE, comments TEXT, " +
+                "created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+                "updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            statement.execute("CREATE INDEX idx_account_number ON dormant_accounts(account_number)");
+            statement.execute("INSERT INTO dormant_accounts (id, account_number, bank_name, balance) " +
+                "VALUES (1, 'ACC1', 'Bank A', 10.00), (2500, 'ACC2500', 'Bank A', 20.00)");
+        }
+
+        // Act
+        migrate(url);
+
+        // Assert
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement()) {
+            assertEquals(0, queryLong(statement, "SELECT version FROM dormant_accounts WHERE id = 2500"));
+            assertEquals(2501, queryLong(statement, "SELECT NEXT VALUE FOR dormant_accounts_seq"));
+            assertEquals(0, queryLong(statement, "SELECT COUNT(*) FROM bulk_update_jobs WHERE owner IS NULL"));
+            assertEquals(0, queryLong(statement, "SELECT COUNT(*) FROM account_history"));
+            assertEquals(0, queryLong(statement, "SELECT COUNT(*) FROM refresh_tokens"));
+            // Adopted as version 2: the seed migration did not run again
+            assertEquals(0, queryLong(statement, "SELECT COUNT(*) FROM users"));
+        }
+    }
+
+    @Test
+    void testMigrate_UpgradeIsNoOpOnNewDatabase() throws SQLException {
+        // Arrange
+        String url = newDatabase();
+
+        // Act
+        migrate(url);
+
+        // Assert
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement()) {
+            assertEquals(2, queryLong(statement, "SELECT COUNT(*) FROM users"));
+            assertEquals(1001, queryLong(statement, "SELECT NEXT VALUE FOR dormant_accounts_seq"));
+        }
+    }
+
+    @Test
+    void testMigrate_KeepsOneSummaryHistoryPointPerDayBankAndStatus() throws SQLException {
+        // Arrange: two concurrent captures of the same day before V6
+        String url = newDatabase();
+        migrate(url, "5");
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement()) {
+            for (int capture = 0; capture < 2; capture++) {
+                statement.execute("INSERT INTO bank_summary_history " +
+                    "(snapshot_date, bank_name, reclaim_status, account_count, total_balance) VALUES " +
+                    "(DATE '2024-01-01', 'Bank A', 'PENDING', 2, 20.00), " +
+                    "(DATE '2024-01-01', 'Bank A', NULL, 1, 10.00)");
+            }
+        }
+
+        // Act
+        migrate(url, "latest");
+
+        // Assert
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement()) {
+            assertEquals(2, queryLong(statement, "SELECT COUNT(*) FROM bank_summary_history"));
+            assertThrows(SQLException.class, () -> statement.execute("INSERT INTO bank_summary_history " +
+                "(snapshot_date, bank_name, reclaim_status, account_count, total_balance) " +
+                "VALUES (DATE '2024-01-01', 'Bank A', 'PENDING', 2, 20.00)"));
+        }
+    }
+
+    private static String newDatabase() {
+        return "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    }
+
+    private static void migrate(String url) {
+        migrate(url, "latest");
+    }
+
+    private static void migrate(String url, String target) {
+        // Same settings as spring.flyway in application.yml
+        Flyway.configure()
+            .dataSource(url, "", "")
+            .locations("classpath:db/migration")
+            .baselineOnMigrate(true)
+            .baselineVersion("2")
+            .target(target)
+            .load()
+            .migrate();
+    }
+
+    private static long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            assertTrue(rs.next());
+            return rs.getLong(1);
+        }
+    }
+}
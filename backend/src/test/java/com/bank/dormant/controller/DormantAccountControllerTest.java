@@ -0,0 +1,97 @@
+package com.bank.dormant.controller;
+
+import com.bank.dormant.repository.DormantAccountRepository;
+import com.bank.dormant.service.AccountAuditTrail;
+import com.bank.dormant.service.AccountChangeFeed;
+import com.bank.dormant.service.DataVersionService;
+import com.bank.dormant.service.DormantAccountService;
+import com.bank.dormant.service.FileUploadService;
+import com.bank.dormant.service.IdempotencyStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DormantAccountControllerTest {
+
+    @Mock
+    private DormantAccountService service;
+
+    private final DataVersionService dataVersionService = new DataVersionService();
+
+    private DormantAccountController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new DormantAccountController(service, mock(FileUploadService.class), dataVersionService,
+            mock(IdempotencyStore.class), mock(AccountAuditTrail.class), mock(AccountChangeFeed.class));
+    }
+
+    @Test
+    void testGetAccounts_TagsResponseWithCurrentDataVersion() {
+        // Arrange
+        when(service.searchAccounts(null)).thenReturn(List.of());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        ResponseEntity<List<DormantAccountRepository.AccountListProjection>> result =
+            controller.getAccounts(null, new ServletWebRequest(get(null), response));
+
+        // Assert
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(dataVersionService.etagFor(dataVersionService.currentVersion()), result.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetAccounts_NotModifiedWithoutQueryingWhenTagIsCurrent() {
+        // Arrange
+        String etag = dataVersionService.etagFor(dataVersionService.currentVersion());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        ResponseEntity<List<DormantAccountRepository.AccountListProjection>> result =
+            controller.getAccounts(null, new ServletWebRequest(get(etag), response));
+
+        // Assert
+        assertNull(result);
+        assertEquals(304, response.getStatus());
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void testGetAccounts_StaleTagGetsFullResponse() {
+        // Arrange
+        String stale = dataVersionService.etagFor(dataVersionService.currentVersion() - 1);
+        when(service.searchAccounts(null)).thenReturn(List.of());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        ResponseEntity<List<DormantAccountRepository.AccountListProjection>> result =
+            controller.getAccounts(null, new ServletWebRequest(get(stale), response));
+
+        // Assert
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        verify(service).searchAccounts(null);
+    }
+
+    private static MockHttpServletRequest get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/accounts");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,88 @@
+package com.bank.dormant.security;
+
+import com.bank.dormant.model.Role;
+import com.bank.dormant.model.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @Test
+    void testVerify_ReturnsPrincipalFromSingleParse() {
+        // Arrange
+        JwtUtil jwtUtil = jwtUtil(3_600_000L, 10);
+        String token = jwtUtil.generateToken(user());
+
+        // Act
+        Optional<JwtPrincipal> principal = jwtUtil.verify(token);
+
+        // Assert
+        assertTrue(principal.isPresent());
+        assertEquals("operator", principal.get().username());
+        assertEquals(7L, principal.get().userId());
+        assertEquals(Role.OPERATOR, principal.get().role());
+        assertSame(principal.get(), jwtUtil.verify(token).orElseThrow());
+    }
+
+    @Test
+    void testVerify_RejectsTamperedAndExpiredTokens() {
+        // Arrange
+        JwtUtil jwtUtil = jwtUtil(3_600_000L, 10);
+        String token = jwtUtil.generateToken(user());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        String expired = jwtUtil(-1_000L, 10).generateToken(user());
+
+        // Act & Assert
+        assertTrue(jwtUtil.verify(tampered).isEmpty());
+        assertTrue(jwtUtil.verify(expired).isEmpty());
+        assertTrue(jwtUtil.verify("not-a-jwt").isEmpty());
+        assertFalse(jwtUtil.validateToken(expired));
+    }
+
+    @Test
+    void testVerify_AcceptsTokenSignedWithHs256BeforeTheSwitch() {
+        // Arrange: tokens issued before the upgrade were always signed with HS256
+        JwtUtil jwtUtil = jwtUtil(3_600_000L, 10);
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        String legacy = Jwts.builder()
+            .claims(Map.of("role", "OPERATOR", "userId", 7L))
+            .subject("operator")
+            .expiration(new Date(System.currentTimeMillis() + 60_000))
+            .signWith(key, Jwts.SIG.HS256)
+            .compact();
+
+        // Act
+        Optional<JwtPrincipal> principal = jwtUtil.verify(legacy);
+
+        // Assert
+        assertTrue(principal.isPresent());
+        assertEquals("HS512", Jwts.parser().verifyWith(key).build()
+            .parseSignedClaims(jwtUtil.generateToken(user())).getHeader().getAlgorithm());
+    }
+
+    private static User user() {
+        return new User(7L, "operator", "hash", Role.OPERATOR, true, null, null);
+    }
+
+    private static JwtUtil jwtUtil(long expiration, int cacheSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", expiration);
+        ReflectionTestUtils.setField(jwtUtil, "issuer", "dormant-accounts-service");
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", cacheSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
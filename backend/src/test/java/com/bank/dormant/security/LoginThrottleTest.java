@@ -0,0 +1,44 @@
+package com.bank.dormant.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final LoginThrottle throttle = new LoginThrottle(
+        new LoginThrottle.BucketPolicy(2, 6), new LoginThrottle.BucketPolicy(3, 60), now::get);
+
+    @Test
+    void testAcquire_ThrottlesUsernameUntilRefilled() {
+        // Arrange
+        throttle.acquire("Admin", "10.0.0.1");
+        throttle.acquire("admin", "10.0.0.2");
+
+        // Act
+        LoginRejectedException rejected = assertThrows(LoginRejectedException.class,
+            () -> throttle.acquire("admin", "10.0.0.3"));
+        now.addAndGet(10_000);
+
+        // Assert
+        assertEquals(LoginRejectedException.Reason.THROTTLED, rejected.getReason());
+        assertEquals(10, rejected.getRetryAfterSeconds());
+        assertDoesNotThrow(() -> throttle.acquire("admin", "10.0.0.4"));
+    }
+
+    @Test
+    void testAcquire_ThrottlesIpAcrossUsernames() {
+        // Arrange
+        throttle.acquire("a", "10.0.0.1");
+        throttle.acquire("b", "10.0.0.1");
+        throttle.acquire("c", "10.0.0.1");
+
+        // Act & Assert
+        assertThrows(LoginRejectedException.class, () -> throttle.acquire("d", "10.0.0.1"));
+        assertDoesNotThrow(() -> throttle.acquire("d", "10.0.0.2"));
+    }
+}
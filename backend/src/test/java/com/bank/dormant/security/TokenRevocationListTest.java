@@ -0,0 +1,119 @@
+package com.bank.dormant.security;
+
+import com.bank.dormant.model.RevokedToken;
+import com.bank.dormant.model.Role;
+import com.bank.dormant.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Mock
+    private RevokedTokenRepository repository;
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    private TokenRevocationList revocations;
+
+    @BeforeEach
+    void setUp() {
+        // Wheel covers 15 minute tokens in 1 second ticks
+        revocations = new TokenRevocationList(repository, 15 * MINUTE, 1000, now::get);
+    }
+
+    @Test
+    void testRevoke_IsCheckedInMemoryAndPersisted() {
+        // Act
+        revocations.revoke(principal("jti-1", now.get() + 10 * MINUTE));
+
+        // Assert
+        assertTrue(revocations.isRevoked("jti-1"));
+        assertFalse(revocations.isRevoked("jti-2"));
+        assertFalse(revocations.isRevoked(null));
+        verify(repository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void testTick_DropsEntriesOnceTheirTokensExpire() {
+        // Arrange
+        revocations.revoke(principal("short", now.get() + MINUTE));
+        revocations.revoke(principal("long", now.get() + 10 * MINUTE));
+
+        // Act
+        now.addAndGet(MINUTE + 1000);
+        revocations.tick();
+
+        // Assert
+        assertFalse(revocations.isRevoked("short"));
+        assertTrue(revocations.isRevoked("long"));
+        assertEquals(1, revocations.size());
+    }
+
+    @Test
+    void testTick_KeepsEntriesExpiringBeyondOneTurnOfTheWheel() {
+        // Arrange: token lifetime longer than the wheel span
+        revocations.revoke(principal("beyond", now.get() + 40 * MINUTE));
+
+        // Act
+        for (int minute = 1; minute <= 39; minute++) {
+            now.addAndGet(MINUTE);
+            revocations.tick();
+        }
+        boolean revokedBeforeExpiry = revocations.isRevoked("beyond");
+        now.addAndGet(2 * MINUTE);
+        revocations.tick();
+
+        // Assert
+        assertTrue(revokedBeforeExpiry);
+        assertFalse(revocations.isRevoked("beyond"));
+    }
+
+    @Test
+    void testLoad_RestoresRevocationsStillInForce() {
+        // Arrange
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(
+            Instant.ofEpochMilli(now.get() + 5 * MINUTE), ZoneId.systemDefault());
+        when(repository.findByExpiresAtAfter(any())).thenReturn(
+            List.of(new RevokedToken("jti-1", 1L, expiresAt, expiresAt.minusMinutes(10))));
+
+        // Act
+        revocations.load();
+
+        // Assert
+        assertTrue(revocations.isRevoked("jti-1"));
+        now.addAndGet(5 * MINUTE + 1000);
+        revocations.tick();
+        assertFalse(revocations.isRevoked("jti-1"));
+    }
+
+    @Test
+    void testRevoke_IgnoresExpiredTokensAndTokensWithoutJti() {
+        // Act
+        revocations.revoke(principal(null, now.get() + MINUTE));
+        revocations.revoke(principal("expired", now.get() - 1));
+
+        // Assert
+        assertEquals(0, revocations.size());
+        verifyNoInteractions(repository);
+    }
+
+    private JwtPrincipal principal(String tokenId, long expiresAt) {
+        return new JwtPrincipal("admin", 1L, Role.ADMIN, tokenId, Instant.ofEpochMilli(expiresAt));
+    }
+}
@@ -0,0 +1,76 @@
+package com.bank.dormant.security;
+
+import com.bank.dormant.model.Role;
+import com.bank.dormant.model.User;
+import com.bank.dormant.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserPrincipalCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final AtomicLong now = new AtomicLong();
+
+    private MeterRegistry meterRegistry;
+
+    private UserPrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserPrincipalCache(userRepository, meterRegistry, 10, 30_000, now::get);
+    }
+
+    @Test
+    void testFindByUsername_QueriesOnlyOnMissUntilTtl() {
+        // Arrange
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user(Role.ADMIN)));
+
+        // Act
+        cache.findByUsername("admin");
+        cache.findByUsername("admin");
+        now.addAndGet(30_000);
+        cache.findByUsername("admin");
+
+        // Assert
+        verify(userRepository, times(2)).findByUsername("admin");
+        assertEquals(1.0, meterRegistry.counter("cache.gets", "cache", "users", "result", "hit").count());
+        assertEquals(2.0, meterRegistry.counter("cache.gets", "cache", "users", "result", "miss").count());
+        assertEquals(1.0 / 3, meterRegistry.get("cache.hit.ratio").gauge().value(), 1e-9);
+    }
+
+    @Test
+    void testInvalidate_ReloadsChangedUser() {
+        // Arrange
+        when(userRepository.findByUsername("admin"))
+            .thenReturn(Optional.of(user(Role.ADMIN)))
+            .thenReturn(Optional.of(user(Role.OPERATOR)));
+        cache.findByUsername("admin");
+
+        // Act
+        cache.invalidate("admin");
+        Optional<User> reloaded = cache.findByUsername("admin");
+
+        // Assert
+        assertEquals(Role.OPERATOR, reloaded.orElseThrow().getRole());
+        verify(userRepository, times(2)).findByUsername("admin");
+    }
+
+    private static User user(Role role) {
+        return new User(1L, "admin", "hash", role, true, null, null);
+    }
+}
@@ -0,0 +1,166 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.event.AccountChange;
+import com.bank.dormant.event.AccountSnapshot;
+import com.bank.dormant.event.AccountsChangedEvent;
+import com.bank.dormant.model.AccountChangeType;
+import com.bank.dormant.model.AccountHistory;
+import com.bank.dormant.model.ReclaimStatus;
+import com.bank.dormant.repository.AccountHistoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountAuditTrailTest {
+
+    @Mock
+    private AccountHistoryRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<AccountHistory> saved = new CopyOnWriteArrayList<>();
+
+    private AccountAuditTrail auditTrail;
+
+    @AfterEach
+    void tearDown() {
+        auditTrail.shutdown();
+    }
+
+    @Test
+    void testOnAccountsChanged_WritesChangesAndSkipsUnchangedAccounts() {
+        // Arrange
+        recordSaves(0);
+        auditTrail = new AccountAuditTrail(repository, transactionManager, new SimpleMeterRegistry(),
+            100, 50, 10, 5, 5000);
+
+        // Act
+        auditTrail.onAccountsChanged(new AccountsChangedEvent(List.of(
+            AccountChange.updated(snapshot(1L, ReclaimStatus.PENDING, null, "old"),
+                snapshot(1L, ReclaimStatus.COMPLETED, LocalDate.of(2024, 3, 1), "done")),
+            AccountChange.updated(snapshot(2L, ReclaimStatus.PENDING, null, "same"),
+                snapshot(2L, ReclaimStatus.PENDING, null, "same")),
+            AccountChange.inserted(snapshot(3L, ReclaimStatus.PENDING, null, null))
+        )));
+        auditTrail.shutdown();
+
+        // Assert
+        List<AccountHistory> entries = new ArrayList<>(saved);
+        entries.sort(Comparator.comparing(AccountHistory::getAccountId));
+        assertEquals(2, entries.size());
+        AccountHistory update = entries.get(0);
+        assertEquals(1L, update.getAccountId());
+        assertEquals(AccountChangeType.UPDATED, update.getChangeType());
+        assertEquals(ReclaimStatus.PENDING, update.getOldReclaimStatus());
+        assertEquals(ReclaimStatus.COMPLETED, update.getNewReclaimStatus());
+        assertEquals(LocalDate.of(2024, 3, 1), update.getNewReclaimDate());
+        assertEquals("old", update.getOldComments());
+        assertEquals("done", update.getNewComments());
+        assertNotNull(update.getChangedAt());
+        AccountHistory insert = entries.get(1);
+        assertEquals(3L, insert.getAccountId());
+        assertEquals(AccountChangeType.CREATED, insert.getChangeType());
+        assertNull(insert.getOldReclaimStatus());
+        assertEquals(0, auditTrail.pending());
+    }
+
+    @Test
+    void testWriter_RetriesFailedBatchUntilWritten() {
+        // Arrange
+        recordSaves(1);
+        auditTrail = new AccountAuditTrail(repository, transactionManager, new SimpleMeterRegistry(),
+            100, 50, 10, 5, 5000);
+
+        // Act
+        auditTrail.onAccountsChanged(new AccountsChangedEvent(List.of(
+            AccountChange.updated(snapshot(1L, ReclaimStatus.PENDING, null, null),
+                snapshot(1L, ReclaimStatus.FAILED, null, null)))));
+
+        // Assert
+        verify(repository, timeout(2000).times(2)).saveAll(any());
+        assertEquals(1, saved.size());
+        assertEquals(ReclaimStatus.FAILED, saved.get(0).getNewReclaimStatus());
+    }
+
+    @Test
+    void testWriter_WritesRowByRowAfterMaxAttemptsAndDeadLettersRowsThatStillFail() {
+        // Arrange: any insert including account 2 fails
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        when(repository.saveAll(any())).thenAnswer(invocation -> {
+            List<AccountHistory> entries = new ArrayList<>();
+            invocation.<Iterable<AccountHistory>>getArgument(0).forEach(entries::add);
+            if (entries.stream().anyMatch(entry -> entry.getAccountId() == 2L)) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            saved.addAll(entries);
+            return entries;
+        });
+        auditTrail = new AccountAuditTrail(repository, transactionManager, meterRegistry, 100, 50, 10, 2, 5000);
+
+        // Act
+        auditTrail.onAccountsChanged(new AccountsChangedEvent(List.of(
+            AccountChange.inserted(snapshot(1L, ReclaimStatus.PENDING, null, null)),
+            AccountChange.inserted(snapshot(2L, ReclaimStatus.PENDING, null, "x".repeat(100))),
+            AccountChange.inserted(snapshot(3L, ReclaimStatus.PENDING, null, null)))));
+        auditTrail.shutdown();
+
+        // Assert
+        assertEquals(List.of(1L, 3L), saved.stream().map(AccountHistory::getAccountId).sorted().toList());
+        assertEquals(1.0, meterRegistry.counter("accounts.audit.dead-lettered").count());
+        assertEquals(0, auditTrail.pending());
+    }
+
+    @Test
+    void testOnAccountsChanged_AttributesChangesToEventActor() {
+        // Arrange
+        recordSaves(0);
+        auditTrail = new AccountAuditTrail(repository, transactionManager, new SimpleMeterRegistry(),
+            100, 50, 10, 5, 5000);
+
+        // Act
+        auditTrail.onAccountsChanged(new AccountsChangedEvent(List.of(
+            AccountChange.updated(snapshot(1L, ReclaimStatus.PENDING, null, null),
+                snapshot(1L, ReclaimStatus.IN_PROGRESS, null, null))), "operator"));
+        auditTrail.shutdown();
+
+        // Assert
+        assertEquals(1, saved.size());
+        assertEquals("operator", saved.get(0).getChangedBy());
+    }
+
+    private void recordSaves(int failuresFirst) {
+        AtomicInteger failures = new AtomicInteger(failuresFirst);
+        when(repository.saveAll(any())).thenAnswer(invocation -> {
+            if (failures.getAndDecrement() > 0) {
+                throw new DataAccessResourceFailureException("database unavailable");
+            }
+            Iterable<AccountHistory> entries = invocation.getArgument(0);
+            entries.forEach(saved::add);
+            return entries;
+        });
+    }
+
+    private static AccountSnapshot snapshot(Long id, ReclaimStatus status, LocalDate reclaimDate, String comments) {
+        return new AccountSnapshot(id, "Bank A", new BigDecimal("100.00"), status, reclaimDate, null, comments);
+    }
+}
@@ -0,0 +1,175 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.dto.AccountChangesResponse;
+import com.bank.dormant.repository.AccountTombstoneRepository;
+import com.bank.dormant.repository.DormantAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountChangeFeedTest {
+
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Mock
+    private DormantAccountRepository accountRepository;
+
+    @Mock
+    private AccountTombstoneRepository tombstoneRepository;
+
+    private AccountChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(NOW.atZone(ZONE).toInstant(), ZONE);
+        // Pages of 2, 30 s overlap, 20 s write timeout, 1 day tombstone retention
+        feed = feedAt(NOW);
+    }
+
+    @Test
+    void testChangesSince_CaughtUpCursorStaysOverlapBehindNow() {
+        // Arrange
+        DormantAccountRepository.AccountChangeProjection row = mock(DormantAccountRepository.AccountChangeProjection.class);
+        when(accountRepository.findChangedListItems(LocalDateTime.of(1970, 1, 1, 0, 0), 0L, PageRequest.of(0, 2)))
+            .thenReturn(List.of(row));
+
+        // Act
+        AccountChangesResponse response = feed.changesSince(null);
+
+        // Assert
+        assertEquals(1, response.getChanged().size());
+        assertTrue(response.getDeleted().isEmpty());
+        assertFalse(response.isHasMore());
+        assertEquals("2024-06-01T11:59:30_0_2024-06-01T11:59:30", response.getCursor());
+        verifyNoInteractions(tombstoneRepository);
+    }
+
+    @Test
+    void testChangesSince_RowCommittedAfterPollIsReturnedByNextPoll() {
+        // Arrange: the database only returns committed rows after the keyset position
+        List<DormantAccountRepository.AccountChangeProjection> committed = new ArrayList<>();
+        when(accountRepository.findChangedListItems(any(), any(), any())).thenAnswer(invocation -> {
+            LocalDateTime since = invocation.getArgument(0);
+            Long afterId = invocation.getArgument(1);
+            return committed.stream()
+                .filter(row -> row.getUpdatedAt().isAfter(since)
+                    || (row.getUpdatedAt().isEqual(since) && row.getId() > afterId))
+                .toList();
+        });
+        when(tombstoneRepository.findDeletedIdsSince(any())).thenReturn(List.of());
+        // Stamped as its transaction began, just under the write timeout before the poll
+        DormantAccountRepository.AccountChangeProjection late = mock(DormantAccountRepository.AccountChangeProjection.class);
+        when(late.getUpdatedAt()).thenReturn(NOW.minusSeconds(20).plusNanos(1_000_000));
+        AccountChangesResponse first = feed.changesSince(NOW.minusMinutes(1) + "_0");
+
+        // Act: the transaction commits just before its timeout, after the poll
+        committed.add(late);
+        AccountChangesResponse second = feedAt(NOW.plusSeconds(1)).changesSince(first.getCursor());
+
+        // Assert
+        assertTrue(first.getChanged().isEmpty());
+        assertEquals(List.of(late), second.getChanged());
+    }
+
+    @Test
+    void testConstructor_RejectsOverlapNotExceedingWriteTimeout() {
+        // Arrange
+        Clock clock = Clock.fixed(NOW.atZone(ZONE).toInstant(), ZONE);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new AccountChangeFeed(accountRepository,
+            tombstoneRepository, 2, 20_000, 20, 86_400_000, clock));
+        assertThrows(IllegalArgumentException.class, () -> new AccountChangeFeed(accountRepository,
+            tombstoneRepository, 2, 30_000, 0, 86_400_000, clock));
+    }
+
+    @Test
+    void testChangesSince_FullPageContinuesAfterLastRowAndReportsTombstones() {
+        // Arrange
+        LocalDateTime since = NOW.minusMinutes(5);
+        DormantAccountRepository.AccountChangeProjection first = mock(DormantAccountRepository.AccountChangeProjection.class);
+        DormantAccountRepository.AccountChangeProjection last = mock(DormantAccountRepository.AccountChangeProjection.class);
+        when(last.getId()).thenReturn(42L);
+        when(last.getUpdatedAt()).thenReturn(NOW.minusMinutes(4));
+        when(accountRepository.findChangedListItems(since, 7L, PageRequest.of(0, 2))).thenReturn(List.of(first, last));
+        when(tombstoneRepository.findDeletedIdsSince(since)).thenReturn(List.of(9L));
+
+        // Act
+        AccountChangesResponse response = feed.changesSince(since + "_7");
+
+        // Assert
+        assertTrue(response.isHasMore());
+        assertEquals(List.of(9L), response.getDeleted());
+        assertEquals("2024-06-01T11:56_42_2024-06-01T11:55", response.getCursor());
+    }
+
+    @Test
+    void testChangesSince_PagesThroughRowsOlderThanTombstoneRetention() {
+        // Arrange: untouched for a month, longer than the 1 day retention
+        LocalDateTime old = NOW.minusDays(30);
+        DormantAccountRepository.AccountChangeProjection first = mock(DormantAccountRepository.AccountChangeProjection.class);
+        DormantAccountRepository.AccountChangeProjection second = mock(DormantAccountRepository.AccountChangeProjection.class);
+        DormantAccountRepository.AccountChangeProjection third = mock(DormantAccountRepository.AccountChangeProjection.class);
+        when(second.getId()).thenReturn(2L);
+        when(second.getUpdatedAt()).thenReturn(old);
+        when(accountRepository.findChangedListItems(LocalDateTime.of(1970, 1, 1, 0, 0), 0L, PageRequest.of(0, 2)))
+            .thenReturn(List.of(first, second));
+        when(accountRepository.findChangedListItems(old, 2L, PageRequest.of(0, 2))).thenReturn(List.of(third));
+        when(tombstoneRepository.findDeletedIdsSince(NOW.minusSeconds(30))).thenReturn(List.of(9L));
+        AccountChangesResponse page1 = feed.changesSince(null);
+
+        // Act
+        AccountChangesResponse page2 = feed.changesSince(page1.getCursor());
+
+        // Assert
+        assertTrue(page1.isHasMore());
+        assertEquals("2024-05-02T12:00_2_2024-06-01T11:59:30", page1.getCursor());
+        assertEquals(List.of(third), page2.getChanged());
+        // Deleted while the load was paging
+        assertEquals(List.of(9L), page2.getDeleted());
+        assertFalse(page2.isHasMore());
+    }
+
+    @Test
+    void testChangesSince_RejectsMalformedAndExpiredCursors() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> feed.changesSince("yesterday"));
+        assertThrows(IllegalArgumentException.class, () -> feed.changesSince("2024-06-01T11:00_x"));
+        assertThrows(ChangeCursorExpiredException.class,
+            () -> feed.changesSince(NOW.minusDays(2) + "_1"));
+        assertThrows(ChangeCursorExpiredException.class,
+            () -> feed.changesSince(NOW.minusDays(30) + "_1_" + NOW.minusDays(2)));
+        verify(accountRepository, never()).findChangedListItems(any(), any(), any());
+    }
+
+    @Test
+    void testDeleteExpiredTombstones_UsesRetention() {
+        // Act
+        feed.deleteExpiredTombstones();
+
+        // Assert
+        verify(tombstoneRepository).deleteOlderThan(LocalDateTime.ofInstant(
+            Instant.parse("2024-05-31T12:00:00Z"), ZONE));
+    }
+
+    private AccountChangeFeed feedAt(LocalDateTime now) {
+        Clock clock = Clock.fixed(now.atZone(ZONE).toInstant(), ZONE);
+        return new AccountChangeFeed(accountRepository, tombstoneRepository, 2, 30_000, 20, 86_400_000, clock);
+    }
+}
@@ -0,0 +1,204 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.dto.BalanceDistribution;
+import com.bank.dormant.event.AccountChange;
+import com.bank.dormant.event.AccountSnapshot;
+import com.bank.dormant.event.AccountsChangedEvent;
+import com.bank.dormant.model.ReclaimStatus;
+import com.bank.dormant.repository.DormantAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceDistributionServiceTest {
+
+    @Mock
+    private DormantAccountRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BalanceDistributionService distributionService;
+
+    @BeforeEach
+    void setUp() {
+        distributionService = new BalanceDistributionService(repository, transactionManager, 200,
+            List.of(new BigDecimal("100"), new BigDecimal("1000")));
+        List<DormantAccountRepository.BalanceProjection> rows = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            rows.add(balance("Bank A", BigDecimal.valueOf(i * 10L)));
+        }
+        rows.add(balance("Bank B", new BigDecimal("5000.00")));
+        when(repository.streamBalances()).thenReturn(rows.stream());
+        distributionService.rebuild();
+    }
+
+    @Test
+    void testGetDistributions_QuantilesAndHistogram() {
+        // Act
+        List<BalanceDistribution> result = distributionService.getDistributions(List.of("bank a"), false);
+
+        // Assert
+        assertEquals(1, result.size());
+        BalanceDistribution bankA = result.get(0);
+        assertEquals("Bank A", bankA.getBankName());
+        assertEquals(100, bankA.getAccountCount());
+        assertEquals(0, new BigDecimal("10.00").compareTo(bankA.getMin()));
+        assertEquals(0, new BigDecimal("1000.00").compareTo(bankA.getMax()));
+        // Below k items the sketch is exact
+        assertEquals(0, new BigDecimal("500.00").compareTo(bankA.getMedian()));
+        assertEquals(0, new BigDecimal("900.00").compareTo(bankA.getP90()));
+        assertEquals(3, bankA.getHistogram().size());
+        assertEquals(9, bankA.getHistogram().get(0).getCount());
+        assertEquals(90, bankA.getHistogram().get(1).getCount());
+        assertEquals(1, bankA.getHistogram().get(2).getCount());
+        assertNull(bankA.getSketch());
+    }
+
+    @Test
+    void testGetMergedDistribution_CombinesBanksAndInserts() {
+        // Arrange
+        distributionService.onAccountsChanged(new AccountsChangedEvent(List.of(
+            AccountChange.inserted(snapshot("Bank B", "7000.00")))));
+
+        // Act
+        BalanceDistribution merged = distributionService.getMergedDistribution(null, true);
+
+        // Assert
+        assertNull(merged.getBankName());
+        assertEquals(102, merged.getAccountCount());
+        assertEquals(0, new BigDecimal("7000.00").compareTo(merged.getMax()));
+        assertEquals(3, merged.getHistogram().get(2).getCount());
+        assertNotNull(merged.getSketch());
+        assertTrue(merged.getRankError() > 0 && merged.getRankError() < 0.02);
+    }
+
+    @Test
+    void testGetMergedDistribution_MergesRemoteSketchesAndHistograms() {
+        // Arrange
+        BalanceDistributionService otherNode = new BalanceDistributionService(mock(DormantAccountRepository.class),
+            transactionManager, 200, List.of(new BigDecimal("100"), new BigDecimal("1000")));
+        otherNode.onAccountsChanged(new AccountsChangedEvent(List.of(
+            AccountChange.inserted(snapshot("Bank C", "20000.00")),
+            AccountChange.inserted(snapshot("Bank C", "50.00")))));
+        BalanceDistribution remote = otherNode.getMergedDistribution(null, true);
+
+        // Act
+        BalanceDistribution merged = distributionService.getMergedDistribution(List.of("Bank A"), List.of(remote), false);
+
+        // Assert
+        assertEquals(102, merged.getAccountCount());
+        assertEquals(0, new BigDecimal("10.00").compareTo(merged.getMin()));
+        assertEquals(0, new BigDecimal("20000.00").compareTo(merged.getMax()));
+        assertEquals(10, merged.getHistogram().get(0).getCount());
+        assertEquals(90, merged.getHistogram().get(1).getCount());
+        assertEquals(2, merged.getHistogram().get(2).getCount());
+    }
+
+    @Test
+    void testGetMergedDistribution_RejectsIncompatibleRemoteDistribution() {
+        // Arrange
+        BalanceDistribution withoutSketch = distributionService.getMergedDistribution(null, false);
+        BalanceDistribution garbled = distributionService.getMergedDistribution(null, true);
+        garbled.setSketch("bm90IGEgc2tldGNo");
+        BalanceDistribution otherBuckets = distributionService.getMergedDistribution(null, true);
+        otherBuckets.setHistogram(otherBuckets.getHistogram().subList(0, 2));
+
+        // Act & Assert
+        for (BalanceDistribution remote : List.of(withoutSketch, garbled, otherBuckets)) {
+            assertThrows(IllegalArgumentException.class,
+                () -> distributionService.getMergedDistribution(null, List.of(remote), false));
+        }
+    }
+
+    @Test
+    void testRefreshDirty_RebuildsBankThatChangedBalance() {
+        // Arrange
+        distributionService.onAccountsChanged(new AccountsChangedEvent(List.of(AccountChange.updated(
+            snapshot("Bank B", "5000.00"), snapshot("Bank B", "10.00")))));
+        when(repository.streamBalancesByBank("Bank B"))
+            .thenReturn(Stream.of(balance("Bank B", new BigDecimal("10.00"))));
+
+        // Act
+        distributionService.refreshDirty();
+        distributionService.refreshDirty();
+
+        // Assert
+        BalanceDistribution bankB = distributionService.getDistributions(List.of("Bank B"), false).get(0);
+        assertEquals(1, bankB.getAccountCount());
+        assertEquals(0, new BigDecimal("10.00").compareTo(bankB.getMax()));
+        verify(repository, times(1)).streamBalancesByBank("Bank B");
+    }
+
+    @Test
+    void testRebuild_KeepsInsertCommittedWhileStreaming() {
+        // Arrange: the insert commits after the rebuild query took its snapshot
+        when(repository.streamBalances()).thenAnswer(invocation -> {
+            distributionService.onAccountsChanged(new AccountsChangedEvent(List.of(
+                AccountChange.inserted(snapshot("Bank B", "7000.00")))));
+            return Stream.of(balance("Bank B", new BigDecimal("5000.00")));
+        });
+
+        // Act
+        distributionService.rebuild();
+
+        // Assert
+        BalanceDistribution bankB = distributionService.getDistributions(List.of("Bank B"), false).get(0);
+        assertEquals(2, bankB.getAccountCount());
+        assertEquals(0, new BigDecimal("7000.00").compareTo(bankB.getMax()));
+    }
+
+    @Test
+    void testRefreshDirty_KeepsInsertCommittedWhileStreaming() {
+        // Arrange
+        distributionService.onAccountsChanged(new AccountsChangedEvent(List.of(AccountChange.updated(
+            snapshot("Bank B", "5000.00"), snapshot("Bank B", "10.00")))));
+        when(repository.streamBalancesByBank("Bank B")).thenAnswer(invocation -> {
+            distributionService.onAccountsChanged(new AccountsChangedEvent(List.of(
+                AccountChange.inserted(snapshot("Bank B", "7000.00")),
+                AccountChange.inserted(snapshot("Bank A", "20.00")))));
+            return Stream.of(balance("Bank B", new BigDecimal("10.00")));
+        });
+
+        // Act
+        distributionService.refreshDirty();
+
+        // Assert
+        BalanceDistribution bankB = distributionService.getDistributions(List.of("Bank B"), false).get(0);
+        assertEquals(2, bankB.getAccountCount());
+        assertEquals(0, new BigDecimal("10.00").compareTo(bankB.getMin()));
+        assertEquals(0, new BigDecimal("7000.00").compareTo(bankB.getMax()));
+        // Applied to the current Bank A distribution once, not replayed onto it again
+        assertEquals(101, distributionService.getDistributions(List.of("Bank A"), false).get(0).getAccountCount());
+    }
+
+    private AccountSnapshot snapshot(String bank, String balance) {
+        return new AccountSnapshot(1L, bank, new BigDecimal(balance), ReclaimStatus.PENDING, null, null, null);
+    }
+
+    private DormantAccountRepository.BalanceProjection balance(String bank, BigDecimal balance) {
+        return new DormantAccountRepository.BalanceProjection() {
+            @Override
+            public String getBankName() {
+                return bank;
+            }
+
+            @Override
+            public BigDecimal getBalance() {
+                return balance;
+            }
+        };
+    }
+}
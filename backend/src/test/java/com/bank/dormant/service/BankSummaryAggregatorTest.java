@@ -0,0 +1,130 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.dto.BankSummary;
+import com.bank.dormant.event.AccountChange;
+import com.bank.dormant.event.AccountSnapshot;
+import com.bank.dormant.event.AccountsChangedEvent;
+import com.bank.dormant.model.ReclaimStatus;
+import com.bank.dormant.repository.DormantAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BankSummaryAggregatorTest {
+
+    @Mock
+    private DormantAccountRepository repository;
+
+    @InjectMocks
+    private BankSummaryAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.getBankSummaries()).thenReturn(List.of(summary("Bank A", 2, "300.00")));
+        aggregator.initialize();
+    }
+
+    @Test
+    void testOnAccountsChanged_AppliesInsertDeltas() {
+        // Act
+        aggregator.onAccountsChanged(new AccountsChangedEvent(List.of(
+            AccountChange.inserted(snapshot(10L, "Bank A", "50.00", null)),
+            AccountChange.inserted(snapshot(11L, "Bank B", "25.00", null))
+        )));
+
+        // Assert
+        List<BankSummary> summaries = aggregator.getSummaries();
+        assertEquals(2, summaries.size());
+        assertEquals("Bank A", summaries.get(0).getBankName());
+        assertEquals(3L, summaries.get(0).getAccountCount());
+        assertEquals(0, new BigDecimal("350.00").compareTo(summaries.get(0).getTotalBalance()));
+        assertEquals("Bank B", summaries.get(1).getBankName());
+        verify(repository, times(1)).getBankSummaries();
+    }
+
+    @Test
+    void testOnAccountsChanged_StatusOnlyUpdateLeavesTotals() {
+        // Act
+        aggregator.onAccountsChanged(new AccountsChangedEvent(List.of(AccountChange.updated(
+            snapshot(1L, "Bank A", "100.00", ReclaimStatus.PENDING),
+            snapshot(1L, "Bank A", "100.00", ReclaimStatus.COMPLETED)))));
+
+        // Assert
+        BankSummary summary = aggregator.getSummaries().get(0);
+        assertEquals(2L, summary.getAccountCount());
+        assertEquals(0, new BigDecimal("300.00").compareTo(summary.getTotalBalance()));
+    }
+
+    @Test
+    void testOnAccountsChanged_RemovesEmptyBank() {
+        // Act
+        aggregator.onAccountsChanged(new AccountsChangedEvent(List.of(
+            AccountChange.deleted(snapshot(1L, "Bank A", "100.00", null)),
+            AccountChange.deleted(snapshot(2L, "Bank A", "200.00", null))
+        )));
+
+        // Assert
+        assertTrue(aggregator.getSummaries().isEmpty());
+    }
+
+    @Test
+    void testVerify_RepairsOnlyPersistentDrift() {
+        // Arrange: the database gained an account this node never saw
+        when(repository.getBankSummaries()).thenReturn(List.of(summary("Bank A", 3, "400.00")));
+
+        // Act & Assert: first mismatch is only suspected
+        aggregator.verify();
+        assertEquals(2L, aggregator.getSummaries().get(0).getAccountCount());
+
+        // Act & Assert: same mismatch on the next check is repaired
+        aggregator.verify();
+        assertEquals(3L, aggregator.getSummaries().get(0).getAccountCount());
+    }
+
+    @Test
+    void testVerify_IgnoresTransientDrift() {
+        // Arrange: mismatch seen once, then the pending delta arrives
+        when(repository.getBankSummaries()).thenReturn(List.of(summary("Bank A", 3, "400.00")));
+        aggregator.verify();
+        aggregator.onAccountsChanged(new AccountsChangedEvent(List.of(
+            AccountChange.inserted(snapshot(3L, "Bank A", "100.00", null)))));
+
+        // Act
+        aggregator.verify();
+
+        // Assert
+        BankSummary summary = aggregator.getSummaries().get(0);
+        assertEquals(3L, summary.getAccountCount());
+        assertEquals(0, new BigDecimal("400.00").compareTo(summary.getTotalBalance()));
+    }
+
+    private AccountSnapshot snapshot(Long id, String bank, String balance, ReclaimStatus status) {
+        return new AccountSnapshot(id, bank, new BigDecimal(balance), status, null, null, null);
+    }
+
+    private DormantAccountRepository.BankSummaryProjection summary(String bank, long count, String balance) {
+        return new DormantAccountRepository.BankSummaryProjection() {
+            public String getBankName() {
+                return bank;
+            }
+
+            public Long getAccountCount() {
+                return count;
+            }
+
+            public BigDecimal getTotalBalance() {
+                return new BigDecimal(balance);
+            }
+        };
+    }
+}
@@ -0,0 +1,198 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.dto.AccountUpdateRequest;
+import com.bank.dormant.model.BulkJobStatus;
+import com.bank.dormant.model.BulkUpdateJob;
+import com.bank.dormant.model.BulkUpdateJobChunk;
+import com.bank.dormant.model.ReclaimStatus;
+import com.bank.dormant.repository.BulkUpdateJobChunkRepository;
+import com.bank.dormant.repository.BulkUpdateJobRepository;
+import com.bank.dormant.repository.DormantAccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkUpdateJobServiceTest {
+
+    @Mock
+    private BulkUpdateJobRepository jobRepository;
+
+    @Mock
+    private BulkUpdateJobChunkRepository chunkRepository;
+
+    @Mock
+    private DormantAccountRepository accountRepository;
+
+    @Mock
+    private DormantAccountService accountService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BulkUpdateJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        jobService = new BulkUpdateJobService(jobRepository, chunkRepository, accountRepository, accountService,
+            transactionManager, 2, 1, "node-a", 60_000, 20);
+        lenient().when(jobRepository.claim(eq(1L), eq("node-a"), any(LocalDateTime.class))).thenReturn(1);
+        lenient().when(jobRepository.recordChunk(eq(1L), eq("node-a"), anyLong(), anyLong(), anyLong(),
+            any(LocalDateTime.class))).thenReturn(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    @Test
+    void testRun_ResumesAfterLastCommittedChunk() {
+        // Arrange: ids 1..5 in chunks of 2, the first chunk (1, 2) was committed before a failure
+        BulkUpdateJob job = idJob("1,2,3,4,5");
+        job.setLastCommittedId(2L);
+        job.setCommittedChunks(1);
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
+        BulkUpdateJobRepository.JobControl running = control("node-a", false);
+        when(jobRepository.findControl(1L)).thenReturn(running);
+        when(accountService.applyPreparedUpdate(anyList(), any(AccountUpdateRequest.class), any()))
+            .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        // Act
+        jobService.run(1L);
+
+        // Assert
+        verify(accountService).applyPreparedUpdate(eq(List.of(3L, 4L)), any(AccountUpdateRequest.class), eq("operator"));
+        verify(accountService).applyPreparedUpdate(eq(List.of(5L)), any(AccountUpdateRequest.class), eq("operator"));
+        ArgumentCaptor<BulkUpdateJobChunk> chunks = ArgumentCaptor.forClass(BulkUpdateJobChunk.class);
+        verify(chunkRepository, times(2)).save(chunks.capture());
+        assertEquals(1, chunks.getAllValues().get(0).getChunkIndex());
+        assertEquals(2, chunks.getAllValues().get(1).getChunkIndex());
+        verify(jobRepository).recordChunk(eq(1L), eq("node-a"), eq(4L), eq(2L), eq(2L), any(LocalDateTime.class));
+        verify(jobRepository).finish(eq(1L), eq("node-a"), eq(BulkJobStatus.COMPLETED), isNull(),
+            any(LocalDateTime.class));
+    }
+
+    @Test
+    void testRun_StopsWhenCancelRequested() {
+        // Arrange
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(idJob("1,2,3,4,5")));
+        BulkUpdateJobRepository.JobControl running = control("node-a", false);
+        BulkUpdateJobRepository.JobControl cancelling = control("node-a", true);
+        when(jobRepository.findControl(1L)).thenReturn(running, cancelling);
+        when(accountService.applyPreparedUpdate(anyList(), any(AccountUpdateRequest.class), any())).thenReturn(2);
+
+        // Act
+        jobService.run(1L);
+
+        // Assert
+        verify(accountService, times(1)).applyPreparedUpdate(anyList(), any(AccountUpdateRequest.class), any());
+        verify(jobRepository).finish(eq(1L), eq("node-a"), eq(BulkJobStatus.CANCELLED), isNull(),
+            any(LocalDateTime.class));
+    }
+
+    @Test
+    void testRun_StopsWhenJobWasResumedOnAnotherNode() {
+        // Arrange
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(idJob("1,2,3,4,5")));
+        BulkUpdateJobRepository.JobControl running = control("node-a", false);
+        BulkUpdateJobRepository.JobControl elsewhere = control("node-b", false);
+        when(jobRepository.findControl(1L)).thenReturn(running, elsewhere);
+        when(accountService.applyPreparedUpdate(anyList(), any(AccountUpdateRequest.class), any())).thenReturn(2);
+
+        // Act
+        jobService.run(1L);
+
+        // Assert
+        verify(accountService, times(1)).applyPreparedUpdate(anyList(), any(AccountUpdateRequest.class), any());
+        verify(jobRepository, never()).finish(anyLong(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    void testRun_RollsBackChunkWhenOwnershipIsLostMidChunk() {
+        // Arrange
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(idJob("1,2,3,4,5")));
+        BulkUpdateJobRepository.JobControl running = control("node-a", false);
+        when(jobRepository.findControl(1L)).thenReturn(running);
+        when(accountService.applyPreparedUpdate(anyList(), any(AccountUpdateRequest.class), any())).thenReturn(2);
+        when(jobRepository.recordChunk(eq(1L), eq("node-a"), anyLong(), anyLong(), anyLong(),
+            any(LocalDateTime.class))).thenReturn(0);
+
+        // Act
+        jobService.run(1L);
+
+        // Assert
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verify(accountService, times(1)).applyPreparedUpdate(anyList(), any(AccountUpdateRequest.class), any());
+        verify(jobRepository, never()).finish(anyLong(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    void testFailInterruptedJobs_LeavesJobsWithFreshHeartbeatsAlone() {
+        // Arrange
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        jobService.failInterruptedJobs();
+
+        // Assert
+        verify(jobRepository).failOwnedBy(eq(EnumSet.of(BulkJobStatus.QUEUED, BulkJobStatus.RUNNING)),
+            eq("node-a"), anyString(), any(LocalDateTime.class));
+        ArgumentCaptor<LocalDateTime> staleBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(jobRepository).failStale(eq(EnumSet.of(BulkJobStatus.QUEUED, BulkJobStatus.RUNNING)),
+            staleBefore.capture(), anyString(), any(LocalDateTime.class));
+        assertFalse(staleBefore.getValue().isBefore(before.minusSeconds(60)));
+        assertFalse(staleBefore.getValue().isAfter(LocalDateTime.now().minusSeconds(60)));
+    }
+
+    @Test
+    void testRun_FailedChunkMarksJobFailed() {
+        // Arrange
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(idJob("1,2,3")));
+        BulkUpdateJobRepository.JobControl running = control("node-a", false);
+        when(jobRepository.findControl(1L)).thenReturn(running);
+        when(accountService.applyPreparedUpdate(anyList(), any(AccountUpdateRequest.class), any()))
+            .thenThrow(new IllegalStateException("lock timeout"));
+
+        // Act
+        jobService.run(1L);
+
+        // Assert
+        verify(chunkRepository, never()).save(any());
+        verify(jobRepository).finish(eq(1L), eq("node-a"), eq(BulkJobStatus.FAILED), eq("lock timeout"),
+            any(LocalDateTime.class));
+    }
+
+    private static BulkUpdateJobRepository.JobControl control(String owner, boolean cancelRequested) {
+        BulkUpdateJobRepository.JobControl control = mock(BulkUpdateJobRepository.JobControl.class);
+        lenient().when(control.getStatus()).thenReturn(BulkJobStatus.RUNNING);
+        lenient().when(control.getOwner()).thenReturn(owner);
+        lenient().when(control.getCancelRequested()).thenReturn(cancelRequested);
+        return control;
+    }
+
+    private BulkUpdateJob idJob(String ids) {
+        BulkUpdateJob job = new BulkUpdateJob();
+        job.setId(1L);
+        job.setStatus(BulkJobStatus.RUNNING);
+        job.setAccountIds(ids);
+        job.setReclaimStatus(ReclaimStatus.IN_PROGRESS);
+        job.setCreatedBy("operator");
+        return job;
+    }
+}
@@ -0,0 +1,56 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.event.AccountChange;
+import com.bank.dormant.event.AccountSnapshot;
+import com.bank.dormant.event.AccountsChangedEvent;
+import com.bank.dormant.model.ReclaimStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataVersionServiceTest {
+
+    private final DataVersionService dataVersionService = new DataVersionService();
+
+    @Test
+    void testOnAccountsChanged_BumpsVersionPerCommittedWrite() {
+        // Arrange
+        long before = dataVersionService.currentVersion();
+        AccountSnapshot account = new AccountSnapshot(1L, "Bank A", new BigDecimal("100.00"),
+            ReclaimStatus.PENDING, null, null, null);
+
+        // Act
+        dataVersionService.onAccountsChanged(new AccountsChangedEvent(List.of(AccountChange.inserted(account))));
+        dataVersionService.onAccountsChanged(new AccountsChangedEvent(List.of(AccountChange.inserted(account))));
+
+        // Assert
+        assertEquals(before + 2, dataVersionService.currentVersion());
+    }
+
+    @Test
+    void testOnAccountsChanged_IgnoresWritesThatChangedNothing() {
+        // Arrange
+        long before = dataVersionService.currentVersion();
+
+        // Act
+        dataVersionService.onAccountsChanged(new AccountsChangedEvent(List.of()));
+
+        // Assert
+        assertEquals(before, dataVersionService.currentVersion());
+    }
+
+    @Test
+    void testEtagFor_StrongTagPerVersion() {
+        // Act
+        String first = dataVersionService.etagFor(1);
+        String second = dataVersionService.etagFor(2);
+
+        // Assert
+        assertTrue(first.matches("\"[0-9a-f]+-1\""), first);
+        assertNotEquals(first, second);
+        assertEquals(first, dataVersionService.etagFor(1));
+    }
+}
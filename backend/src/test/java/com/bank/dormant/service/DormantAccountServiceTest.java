@@ -0,0 +1,287 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.dto.AccountFilter;
+import com.bank.dormant.dto.AccountUpdateRequest;
+import com.bank.dormant.dto.BulkUpdateRequest;
+import com.bank.dormant.dto.BulkUpdateResponse;
+import com.bank.dormant.dto.FilteredBulkUpdateRequest;
+import com.bank.dormant.event.AccountsChangedEvent;
+import com.bank.dormant.model.DormantAccount;
+import com.bank.dormant.model.ReclaimStatus;
+import com.bank.dormant.repository.DormantAccountRepository;
+import com.bank.dormant.validation.InputSanitizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DormantAccountServiceTest {
+
+    @Mock
+    private DormantAccountRepository repository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BankSummaryAggregator bankSummaryAggregator;
+
+    private MeterRegistry meterRegistry;
+
+    private DormantAccountService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new DormantAccountService(repository, new InputSanitizer(), eventPublisher,
+            bankSummaryAggregator, meterRegistry, 2);
+    }
+
+    @Test
+    void testSearchAccounts_ReturnsListProjectionsWithoutLoadingEntities() {
+        // Arrange
+        DormantAccountRepository.AccountListProjection all = mock(DormantAccountRepository.AccountListProjection.class);
+        DormantAccountRepository.AccountListProjection match = mock(DormantAccountRepository.AccountListProjection.class);
+        when(repository.findAllListItems()).thenReturn(List.of(all));
+        when(repository.searchListItems("Bank A")).thenReturn(List.of(match));
+
+        // Act
+        List<DormantAccountRepository.AccountListProjection> everything = service.searchAccounts("  ");
+        List<DormantAccountRepository.AccountListProjection> found = service.searchAccounts("Bank A%");
+
+        // Assert
+        assertEquals(List.of(all), everything);
+        assertEquals(List.of(match), found);
+        verify(repository, never()).findAll();
+        verify(repository, never()).searchAccounts(anyString());
+    }
+
+    @Test
+    void testBulkUpdateAccounts_RunsOneUpdatePerChunk() {
+        // Arrange
+        when(repository.lockStatesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(this::state).toList();
+        });
+        when(repository.bulkUpdate(anyCollection(), any(), any(), any(), any(), any(), any(LocalDateTime.class)))
+            .thenAnswer(invocation -> ((Collection<?>) invocation.getArgument(0)).size());
+        BulkUpdateRequest request = request(List.of(1L, 2L, 3L, 3L, 4L, 5L), ReclaimStatus.COMPLETED, "done");
+
+        // Act
+        BulkUpdateResponse response = service.bulkUpdateAccounts(request);
+
+        // Assert
+        assertEquals(5, response.getUpdatedCount());
+        assertTrue(response.getConflictIds().isEmpty());
+        verify(repository, times(3)).bulkUpdate(anyCollection(), isNull(), eq(ReclaimStatus.COMPLETED), isNull(),
+            isNull(), eq("done"), any(LocalDateTime.class));
+        verify(repository, never()).findAllById(any());
+        verify(repository, never()).saveAll(any());
+
+        ArgumentCaptor<AccountsChangedEvent> events = ArgumentCaptor.forClass(AccountsChangedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertEquals(5, events.getAllValues().stream().mapToInt(AccountsChangedEvent::getChangedCount).sum());
+        AccountsChangedEvent first = events.getAllValues().get(0);
+        assertEquals(ReclaimStatus.PENDING, first.getChanges().get(0).before().reclaimStatus());
+        assertEquals(ReclaimStatus.COMPLETED, first.getChanges().get(0).after().reclaimStatus());
+    }
+
+    @Test
+    void testBulkUpdateAccounts_ChecksVersionsInTheUpdateStatement() {
+        // Arrange
+        when(repository.lockStatesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(this::state).toList();
+        });
+        when(repository.bulkUpdate(anyCollection(), any(), any(), any(), any(), any(), any(LocalDateTime.class)))
+            .thenAnswer(invocation -> ((Collection<?>) invocation.getArgument(0)).size());
+        BulkUpdateRequest request = request(List.of(1L, 2L, 3L), ReclaimStatus.COMPLETED, null);
+        request.setVersions(Map.of(1L, 0L, 2L, 5L));
+
+        // Act
+        BulkUpdateResponse response = service.bulkUpdateAccounts(request);
+
+        // Assert
+        assertEquals(2, response.getUpdatedCount());
+        assertEquals(List.of(2L), response.getConflictIds());
+        verify(repository).bulkUpdate(eq(List.of(1L)), eq(0L), any(), any(), any(), any(), any(LocalDateTime.class));
+        verify(repository).bulkUpdate(eq(List.of(3L)), isNull(), any(), any(), any(), any(), any(LocalDateTime.class));
+        assertEquals(3.0, meterRegistry.counter("accounts.update.attempts", "path", "bulk").count());
+        assertEquals(1.0, meterRegistry.counter("accounts.update.conflicts", "path", "bulk").count());
+    }
+
+    @Test
+    void testBulkUpdateAccounts_PublishesBeforeStatesReadUnderLock() {
+        // Arrange
+        when(repository.lockStatesByIdIn(anyCollection())).thenReturn(List.of(state(1L), state(2L)));
+        when(repository.bulkUpdate(anyCollection(), isNull(), any(), any(), any(), any(), any(LocalDateTime.class)))
+            .thenReturn(2);
+        BulkUpdateRequest request = request(List.of(1L, 2L), ReclaimStatus.COMPLETED, null);
+
+        // Act
+        BulkUpdateResponse response = service.bulkUpdateAccounts(request);
+
+        // Assert
+        assertEquals(2, response.getUpdatedCount());
+        verify(repository, never()).findStatesByIdIn(anyCollection());
+        ArgumentCaptor<AccountsChangedEvent> event = ArgumentCaptor.forClass(AccountsChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(2, event.getValue().getChangedCount());
+        assertEquals(ReclaimStatus.PENDING, event.getValue().getChanges().get(1).before().reclaimStatus());
+    }
+
+    @Test
+    void testBulkUpdateAccounts_FailsWithoutEventWhenLockedRowsWereNotAllUpdated() {
+        // Arrange
+        when(repository.lockStatesByIdIn(anyCollection())).thenReturn(List.of(state(1L), state(2L)));
+        when(repository.bulkUpdate(anyCollection(), isNull(), any(), any(), any(), any(), any(LocalDateTime.class)))
+            .thenReturn(1);
+        BulkUpdateRequest request = request(List.of(1L, 2L), ReclaimStatus.COMPLETED, null);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> service.bulkUpdateAccounts(request));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testUpdateAccount_RejectsStaleVersion() {
+        // Arrange
+        DormantAccount account = new DormantAccount();
+        account.setId(1L);
+        account.setVersion(3L);
+        when(repository.findById(1L)).thenReturn(Optional.of(account));
+        AccountUpdateRequest request = new AccountUpdateRequest();
+        request.setReclaimStatus(ReclaimStatus.COMPLETED);
+        request.setVersion(2L);
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class, () -> service.updateAccount(1L, request));
+        verify(repository, never()).saveAndFlush(any());
+        assertEquals(1.0, meterRegistry.counter("accounts.update.conflicts", "path", "single").count());
+    }
+
+    @Test
+    void testBulkUpdateAccounts_RejectsClawbackBeforeReclaim() {
+        // Arrange
+        BulkUpdateRequest request = request(List.of(1L), null, null);
+        request.getUpdateData().setReclaimDate(LocalDate.of(2024, 6, 1));
+        request.getUpdateData().setClawbackDate(LocalDate.of(2024, 1, 1));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.bulkUpdateAccounts(request));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testBulkUpdateMatching_PagesMatchingIdsByKeyset() {
+        // Arrange
+        when(repository.findIdsMatching(any(AccountFilter.class), isNull(), eq(2))).thenReturn(List.of(1L, 4L));
+        when(repository.findIdsMatching(any(AccountFilter.class), eq(4L), eq(2))).thenReturn(List.of(7L));
+        when(repository.lockStatesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(this::state).toList();
+        });
+        when(repository.bulkUpdate(anyCollection(), any(), any(), any(), any(), any(), any(LocalDateTime.class)))
+            .thenAnswer(invocation -> ((Collection<?>) invocation.getArgument(0)).size());
+        FilteredBulkUpdateRequest request = new FilteredBulkUpdateRequest();
+        request.setBankName("Wells Fargo");
+        request.setStatus(ReclaimStatus.PENDING);
+        request.setUpdateData(request(List.of(), ReclaimStatus.IN_PROGRESS, null).getUpdateData());
+
+        // Act
+        int updated = service.bulkUpdateMatching(request);
+
+        // Assert
+        assertEquals(3, updated);
+        verify(repository).findIdsMatching(
+            eq(new AccountFilter(null, "Wells Fargo", ReclaimStatus.PENDING)), isNull(), eq(2));
+        verify(repository, times(2)).bulkUpdate(anyCollection(), isNull(), eq(ReclaimStatus.IN_PROGRESS), isNull(),
+            isNull(), isNull(), any(LocalDateTime.class));
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    void testBulkUpdateMatching_RejectsEmptyFilter() {
+        // Arrange
+        FilteredBulkUpdateRequest request = new FilteredBulkUpdateRequest();
+        request.setSearch("  ");
+        request.setUpdateData(request(List.of(), ReclaimStatus.IN_PROGRESS, null).getUpdateData());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.bulkUpdateMatching(request));
+        verifyNoInteractions(repository);
+    }
+
+    private BulkUpdateRequest request(List<Long> ids, ReclaimStatus status, String comments) {
+        AccountUpdateRequest updateData = new AccountUpdateRequest();
+        updateData.setReclaimStatus(status);
+        updateData.setComments(comments);
+        BulkUpdateRequest request = new BulkUpdateRequest();
+        request.setAccountIds(ids);
+        request.setUpdateData(updateData);
+        return request;
+    }
+
+    private DormantAccountRepository.AccountStateProjection state(Long id) {
+        return new DormantAccountRepository.AccountStateProjection() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getBankName() {
+                return "Bank A";
+            }
+
+            @Override
+            public BigDecimal getBalance() {
+                return new BigDecimal("100.00");
+            }
+
+            @Override
+            public ReclaimStatus getReclaimStatus() {
+                return ReclaimStatus.PENDING;
+            }
+
+            @Override
+            public LocalDate getReclaimDate() {
+                return null;
+            }
+
+            @Override
+            public LocalDate getClawbackDate() {
+                return null;
+            }
+
+            @Override
+            public String getComments() {
+                return null;
+            }
+
+            @Override
+            public Long getVersion() {
+                return 0L;
+            }
+        };
+    }
+}
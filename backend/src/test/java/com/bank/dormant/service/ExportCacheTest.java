@@ -0,0 +1,91 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.dto.AccountFilter;
+import com.bank.dormant.model.ReclaimStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportCacheTest {
+
+    private static final AccountFilter ALL = AccountFilter.none();
+    private static final AccountFilter PENDING = new AccountFilter(null, null, ReclaimStatus.PENDING);
+
+    @Test
+    void testGet_HitsOnlyForSameFilterAndVersion() {
+        // Arrange
+        ExportCache cache = new ExportCache(100, 100);
+        cache.put(ALL, 3, bytes(10), 2);
+
+        // Act
+        ExportCache.CachedExport hit = cache.get(new AccountFilter(" ", null, null), 3);
+
+        // Assert
+        assertNotNull(hit);
+        assertEquals(2, hit.rows());
+        assertNull(cache.get(ALL, 4));
+        assertNull(cache.get(PENDING, 3));
+    }
+
+    @Test
+    void testPut_NewerVersionEvictsOlderVersions() {
+        // Arrange
+        ExportCache cache = new ExportCache(100, 100);
+        cache.put(ALL, 3, bytes(10), 1);
+        cache.put(PENDING, 3, bytes(10), 1);
+
+        // Act
+        cache.put(PENDING, 4, bytes(10), 1);
+
+        // Assert
+        assertNull(cache.get(ALL, 3));
+        assertNull(cache.get(PENDING, 3));
+        assertNotNull(cache.get(PENDING, 4));
+    }
+
+    @Test
+    void testPut_EvictsLeastRecentlyUsedToStayWithinBudget() {
+        // Arrange
+        ExportCache cache = new ExportCache(25, 20);
+        AccountFilter completed = new AccountFilter(null, null, ReclaimStatus.COMPLETED);
+        cache.put(ALL, 1, bytes(10), 1);
+        cache.put(PENDING, 1, bytes(10), 1);
+        cache.get(ALL, 1);
+
+        // Act
+        cache.put(completed, 1, bytes(10), 1);
+        cache.put(PENDING, 1, bytes(21), 1);
+
+        // Assert
+        assertNotNull(cache.get(ALL, 1));
+        assertNotNull(cache.get(completed, 1));
+        // Evicted as least recently used; the oversized replacement is not stored
+        assertNull(cache.get(PENDING, 1));
+    }
+
+    @Test
+    void testCapture_StopsCapturingPastEntryLimitButKeepsWriting() throws Exception {
+        // Arrange
+        ExportCache cache = new ExportCache(100, 8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        ExportCache.CapturingOutputStream small = cache.capture(new ByteArrayOutputStream());
+        small.write(bytes(8));
+        ExportCache.CapturingOutputStream large = cache.capture(out);
+        large.write(bytes(6));
+        large.write(bytes(6));
+
+        // Assert
+        assertArrayEquals(bytes(8), small.captured());
+        assertNull(large.captured());
+        assertEquals(12, out.size());
+    }
+
+    private static byte[] bytes(int length) {
+        return "x".repeat(length).getBytes(StandardCharsets.UTF_8);
+    }
+}
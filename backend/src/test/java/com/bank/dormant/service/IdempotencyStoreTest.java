@@ -0,0 +1,202 @@
+package com.bank.dormant.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(new ObjectMapper(), 2, 60_000, 5_000, now::get);
+    }
+
+    @Test
+    void testExecute_ReplaysStoredResponseForSameKeyAndRequest() {
+        // Arrange
+        AtomicInteger executions = new AtomicInteger();
+
+        // Act
+        ResponseEntity<Integer> first = store.execute("admin", "key-1", "PUT /api/accounts/bulk",
+            Map.of("accountIds", List.of(1, 2)), () -> ResponseEntity.ok(executions.incrementAndGet()));
+        ResponseEntity<Integer> retry = store.execute("admin", "key-1", "PUT /api/accounts/bulk",
+            Map.of("accountIds", List.of(1, 2)), () -> ResponseEntity.ok(executions.incrementAndGet()));
+
+        // Assert
+        assertEquals(1, executions.get());
+        assertEquals(1, retry.getBody());
+        assertNull(first.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testExecute_RejectsKeyReusedForDifferentRequest() {
+        // Arrange
+        store.execute("admin", "key-1", "PUT /api/accounts/1", Map.of("comments", "a"), () -> ResponseEntity.ok(1));
+
+        // Act
+        ResponseEntity<Integer> reused = store.execute("admin", "key-1", "PUT /api/accounts/1",
+            Map.of("comments", "b"), () -> ResponseEntity.ok(2));
+
+        // Assert
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, reused.getStatusCode());
+    }
+
+    @Test
+    void testExecute_CoalescesConcurrentDuplicates() throws Exception {
+        // Arrange
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<Integer>> original = CompletableFuture.supplyAsync(() ->
+            store.execute("admin", "key-1", "PUT /api/accounts/1", Map.of(), () -> {
+                started.countDown();
+                await(release);
+                return ResponseEntity.ok(executions.incrementAndGet());
+            }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        CompletableFuture<ResponseEntity<Integer>> duplicate = CompletableFuture.supplyAsync(() ->
+            store.execute("admin", "key-1", "PUT /api/accounts/1", Map.of(),
+                () -> ResponseEntity.ok(executions.incrementAndGet())));
+        Thread.sleep(100);
+        assertFalse(duplicate.isDone());
+        release.countDown();
+
+        // Assert
+        assertEquals(1, original.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(1, duplicate.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testExecute_DoesNotStoreServerErrorsAndEvictsExpiredAndOverflowingEntries() {
+        // Arrange
+        AtomicInteger executions = new AtomicInteger();
+        store.execute("admin", "failing", "PUT /api/accounts/1", Map.of(), () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        });
+
+        // Act
+        store.execute("admin", "failing", "PUT /api/accounts/1", Map.of(), () -> ResponseEntity.ok(executions.incrementAndGet()));
+        store.execute("admin", "a", "PUT /api/accounts/1", Map.of(), () -> ResponseEntity.ok(0));
+        store.execute("admin", "b", "PUT /api/accounts/1", Map.of(), () -> ResponseEntity.ok(0));
+        now.addAndGet(60_001);
+        store.execute("admin", "c", "PUT /api/accounts/1", Map.of(), () -> ResponseEntity.ok(0));
+
+        // Assert
+        assertEquals(2, executions.get());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testExecute_NeverEvictsEntriesStillInFlight() throws Exception {
+        // Arrange
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<Integer>> original = CompletableFuture.supplyAsync(() ->
+            store.execute("admin", "slow", "PUT /api/accounts/bulk", Map.of(), () -> {
+                started.countDown();
+                await(release);
+                return ResponseEntity.ok(executions.incrementAndGet());
+            }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act: expire it and push the store past max-entries while it runs
+        now.addAndGet(60_001);
+        store.execute("admin", "a", "PUT /api/accounts/1", Map.of(), () -> ResponseEntity.ok(0));
+        store.execute("admin", "b", "PUT /api/accounts/1", Map.of(), () -> ResponseEntity.ok(0));
+        CompletableFuture<ResponseEntity<Integer>> retry = CompletableFuture.supplyAsync(() ->
+            store.execute("admin", "slow", "PUT /api/accounts/bulk", Map.of(),
+                () -> ResponseEntity.ok(executions.incrementAndGet())));
+        Thread.sleep(100);
+        assertFalse(retry.isDone());
+        release.countDown();
+
+        // Assert
+        assertEquals(1, original.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(1, retry.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testExecute_WaiterGivesUpWithConflictAfterBoundedWait() throws Exception {
+        // Arrange
+        IdempotencyStore impatient = new IdempotencyStore(new ObjectMapper(), 2, 60_000, 50, now::get);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<Integer>> original = CompletableFuture.supplyAsync(() ->
+            impatient.execute("admin", "key-1", "PUT /api/accounts/1", Map.of(), () -> {
+                started.countDown();
+                await(release);
+                return ResponseEntity.ok(1);
+            }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        ResponseEntity<Integer> duplicate = impatient.execute("admin", "key-1", "PUT /api/accounts/1", Map.of(),
+            () -> ResponseEntity.ok(2));
+        release.countDown();
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, duplicate.getStatusCode());
+        assertNotNull(duplicate.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, original.get(5, TimeUnit.SECONDS).getBody());
+    }
+
+    @Test
+    void testExecute_WaiterSeesOriginalFailureUnwrapped() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<Integer>> original = CompletableFuture.supplyAsync(() ->
+            store.execute("admin", "key-1", "PUT /api/accounts/1", Map.of(), () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("database unavailable");
+            }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        CompletableFuture<ResponseEntity<Integer>> duplicate = CompletableFuture.supplyAsync(() ->
+            store.execute("admin", "key-1", "PUT /api/accounts/1", Map.of(), () -> ResponseEntity.ok(2)));
+        Thread.sleep(100);
+        release.countDown();
+
+        // Assert
+        ExecutionException failure = assertThrows(ExecutionException.class,
+            () -> duplicate.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertEquals("database unavailable", failure.getCause().getMessage());
+        assertThrows(ExecutionException.class, () -> original.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.dto.AccountFilter;
+import com.bank.dormant.model.DormantAccount;
+import com.bank.dormant.model.ReclaimStatus;
+import com.bank.dormant.repository.DormantAccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParallelExportServiceTest {
+
+    @Mock
+    private DormantAccountRepository repository;
+
+    private ParallelExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        // Ranges of 2 accounts, window smaller than the range count so the bounded buffer is exercised
+        exportService = new ParallelExportService(repository, new ReportService(repository),
+            new ExportCache(1 << 20, 1 << 20), mock(PlatformTransactionManager.class), 4, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        exportService.shutdown();
+    }
+
+    @Test
+    void testExportCSV_WritesIdRangesInIdOrder() throws Exception {
+        // Arrange: five accounts with ids 1-5, two banks interleaved
+        stubRanges(AccountFilter.none(), 5);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exportService.exportCSV(AccountFilter.none(), out);
+
+        // Assert
+        assertEquals(5, rows);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(6, lines.length);
+        assertEquals(ReportService.CSV_HEADER, lines[0]);
+        for (int id = 1; id <= 5; id++) {
+            assertTrue(lines[id].startsWith((id % 2 == 0 ? "Bank B-" : "Bank A-") + id + ","), lines[id]);
+        }
+        verify(repository).findAllMatchingInIdRange(AccountFilter.none(), null, 2L);
+        verify(repository).findAllMatchingInIdRange(AccountFilter.none(), 2L, 4L);
+        verify(repository).findAllMatchingInIdRange(AccountFilter.none(), 4L, null);
+    }
+
+    @Test
+    void testExportCSV_SplitsOneBankIntoSeveralRanges() throws Exception {
+        // Arrange
+        AccountFilter filter = new AccountFilter(null, "Bank A", ReclaimStatus.PENDING);
+        stubRanges(filter, 6);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exportService.exportCSV(filter, out);
+
+        // Assert
+        assertEquals(6, rows);
+        verify(repository, times(4)).findAllMatchingInIdRange(eq(filter), any(), any());
+    }
+
+    @Test
+    void testExportCSV_PartitionFailureIsReported() {
+        // Arrange
+        when(repository.findNthIdMatching(any(AccountFilter.class), any(), anyInt())).thenReturn(null);
+        when(repository.findAllMatchingInIdRange(any(AccountFilter.class), any(), any()))
+            .thenThrow(new IllegalStateException("connection lost"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+            () -> exportService.exportCSV(AccountFilter.none(), new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void testExportCSV_ServesCachedBytesForSameVersion() throws Exception {
+        // Arrange
+        AccountFilter filter = new AccountFilter(null, "Bank A", null);
+        stubRanges(filter, 1);
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+
+        // Act
+        exportService.exportCSV(filter, 7L, first);
+        long rows = exportService.exportCSV(filter, 7L, second);
+
+        // Assert
+        assertEquals(1, rows);
+        assertArrayEquals(first.toByteArray(), second.toByteArray());
+        verify(repository, times(1)).findAllMatchingInIdRange(any(AccountFilter.class), any(), any());
+    }
+
+    /**
+     * Accounts 1..count match the filter; boundaries and range queries behave like the database
+     */
+    private void stubRanges(AccountFilter filter, int count) {
+        when(repository.findNthIdMatching(eq(filter), any(), anyInt())).thenAnswer(invocation -> {
+            Long afterId = invocation.getArgument(1);
+            int n = invocation.getArgument(2);
+            long nth = (afterId != null ? afterId : 0) + n;
+            return nth <= count ? nth : null;
+        });
+        when(repository.findAllMatchingInIdRange(eq(filter), any(), any())).thenAnswer(invocation -> {
+            Long afterId = invocation.getArgument(1);
+            Long upToId = invocation.getArgument(2);
+            return LongStream.rangeClosed(1, count)
+                .filter(id -> (afterId == null || id > afterId) && (upToId == null || id <= upToId))
+                .mapToObj(id -> account(id % 2 == 0 ? "Bank B" : "Bank A", (int) id))
+                .toList();
+        });
+    }
+
+    private DormantAccount account(String bank, int n) {
+        return new DormantAccount(
+            (long) n,
+            bank + "-" + n,
+            bank,
+            new BigDecimal("100.00"),
+            "Customer " + n,
+            null,
+            ReclaimStatus.PENDING,
+            null,
+            null,
+            null,
+            LocalDateTime.now(),
+            LocalDateTime.now()
+        );
+    }
+}
@@ -0,0 +1,136 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.model.RefreshToken;
+import com.bank.dormant.model.Role;
+import com.bank.dormant.model.User;
+import com.bank.dormant.repository.RefreshTokenRepository;
+import com.bank.dormant.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Mock
+    private RefreshTokenRepository repository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2024-06-01T12:00:00Z"), ZoneId.of("UTC"));
+
+    private RefreshTokenService service;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        service = new RefreshTokenService(repository, userRepository, 8 * HOUR, 24 * HOUR, clock);
+        user = new User(7L, "operator", "hash", Role.OPERATOR, true, null, null);
+    }
+
+    @Test
+    void testRotate_IssuesSuccessorInSameFamily() {
+        // Arrange
+        RefreshToken current = token(now().minusHours(1), now().plusHours(7));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+        when(repository.markUsed(1L, now())).thenReturn(1);
+
+        // Act
+        RefreshTokenService.Rotation rotation = service.rotate("raw-token");
+
+        // Assert
+        assertSame(user, rotation.user());
+        assertEquals(8 * HOUR, rotation.next().expiresIn());
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(saved.capture());
+        assertEquals("family-1", saved.getValue().getFamilyId());
+        assertEquals(now().minusHours(1), saved.getValue().getSessionStartedAt());
+        assertNotEquals(current.getTokenHash(), saved.getValue().getTokenHash());
+        verify(repository, never()).revokeFamily(any());
+    }
+
+    @Test
+    void testRotate_CapsSlidingExpiryAtSessionLifetime() {
+        // Arrange
+        RefreshToken current = token(now().minusHours(20), now().plusHours(1));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+        when(repository.markUsed(1L, now())).thenReturn(1);
+
+        // Act
+        RefreshTokenService.Rotation rotation = service.rotate("raw-token");
+
+        // Assert
+        assertEquals(4 * HOUR, rotation.next().expiresIn());
+    }
+
+    @Test
+    void testRotate_RevokesFamilyWhenUsedTokenIsReplayed() {
+        // Arrange
+        RefreshToken current = token(now().minusHours(1), now().plusHours(7));
+        current.setUsedAt(now().minusMinutes(5));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class, () -> service.rotate("raw-token"));
+        verify(repository).revokeFamily("family-1");
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void testRotate_RevokesFamilyWhenConcurrentRefreshWonTheRace() {
+        // Arrange
+        RefreshToken current = token(now().minusHours(1), now().plusHours(7));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+        when(repository.markUsed(1L, now())).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class, () -> service.rotate("raw-token"));
+        verify(repository).revokeFamily("family-1");
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void testRotate_RejectsExpiredAndUnknownTokens() {
+        // Arrange
+        RefreshToken expired = token(now().minusHours(10), now().minusSeconds(1));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(expired), Optional.empty());
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class, () -> service.rotate("expired"));
+        assertThrows(BadCredentialsException.class, () -> service.rotate("unknown"));
+        verify(repository, never()).markUsed(any(), any());
+        verify(repository, never()).save(any());
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private RefreshToken token(LocalDateTime sessionStartedAt, LocalDateTime expiresAt) {
+        RefreshToken token = new RefreshToken("stored-hash", "family-1", 7L, sessionStartedAt, expiresAt,
+            sessionStartedAt);
+        token.setId(1L);
+        return token;
+    }
+}
@@ -1,5 +1,7 @@
 package com.bank.dormant.service;
 
+import com.bank.dormant.dto.AgingBucket;
+import com.bank.dormant.dto.AgingReport;
 import com.bank.dormant.model.DormantAccount;
 import com.bank.dormant.model.ReclaimStatus;
 import com.bank.dormant.repository.DormantAccountRepository;
@@ -197,4 +199,34 @@ class ReportServiceTest {
         assertEquals(1, result.size());
         assertEquals("ACC001", result.get(0).getAccountNumber());
     }
+    
+    @Test
+    void testGetAgingReport_MapsBucketsAndCutoffs() {
+        // Arrange
+        LocalDate asOf = LocalDate.of(2025, 6, 30);
+        DormantAccountRepository.AgingProjection row = mock(DormantAccountRepository.AgingProjection.class);
+        when(row.getBankName()).thenReturn("Bank A");
+        when(row.getReclaimStatus()).thenReturn(ReclaimStatus.PENDING);
+        when(row.getUpToOneYearCount()).thenReturn(2L);
+        when(row.getUpToOneYearBalance()).thenReturn(new BigDecimal("300.00"));
+        when(row.getOverFiveYearsCount()).thenReturn(1L);
+        when(row.getOverFiveYearsBalance()).thenReturn(new BigDecimal("50.00"));
+        when(repository.getAgingBuckets(LocalDate.of(2024, 6, 30), LocalDate.of(2022, 6, 30), LocalDate.of(2020, 6, 30)))
+            .thenReturn(List.of(row));
+        
+        // Act
+        AgingReport report = reportService.getAgingReport(asOf);
+        
+        // Assert
+        assertEquals(asOf, report.getAsOf());
+        assertEquals(1, report.getRows().size());
+        List<AgingBucket> buckets = report.getRows().get(0).getBuckets();
+        assertEquals(5, buckets.size());
+        assertEquals("0-1y", buckets.get(0).getLabel());
+        assertEquals(2L, buckets.get(0).getAccountCount());
+        assertEquals(new BigDecimal("300.00"), buckets.get(0).getTotalBalance());
+        assertEquals(0L, buckets.get(1).getAccountCount());
+        assertEquals(BigDecimal.ZERO, buckets.get(1).getTotalBalance());
+        assertEquals(1L, buckets.get(3).getAccountCount());
+    }
 }
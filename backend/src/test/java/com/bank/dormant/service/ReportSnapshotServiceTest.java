@@ -0,0 +1,144 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.dto.AccountFilter;
+import com.bank.dormant.dto.ReportSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportSnapshotServiceTest {
+
+    private static final String CSV = ReportService.CSV_HEADER + "\n1,ACC-1,Bank A\n2,ACC-2,Bank A\n";
+    private static final Instant FIRST_RUN = Instant.parse("2024-06-01T02:00:00Z");
+
+    @Mock
+    private ParallelExportService exportService;
+
+    @Mock
+    private Clock clock;
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(clock.getZone()).thenReturn(ZoneId.of("UTC"));
+        lenient().when(clock.instant()).thenReturn(FIRST_RUN, FIRST_RUN.plusSeconds(86_400),
+            FIRST_RUN.plusSeconds(2 * 86_400));
+        lenient().when(exportService.exportCSV(any(AccountFilter.class), any(OutputStream.class)))
+            .thenAnswer(invocation -> {
+                OutputStream out = invocation.getArgument(1);
+                out.write(CSV.getBytes(StandardCharsets.UTF_8));
+                return 2L;
+            });
+    }
+
+    @Test
+    void testGenerateAll_WritesGzipCsvAndMetadataSidecar() throws Exception {
+        // Arrange
+        ReportSnapshotService service = newService(7);
+
+        // Act
+        ReportSnapshot snapshot = service.generateAll().get(0);
+
+        // Assert
+        Path data = service.dataFile(snapshot);
+        assertEquals(directory.resolve("all-20240601T020000.csv.gz"), data);
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(data))) {
+            assertEquals(CSV, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(Files.size(data), snapshot.getCompressedBytes());
+
+        ReportSnapshot sidecar = objectMapper.readValue(
+            directory.resolve("all-20240601T020000.json").toFile(), ReportSnapshot.class);
+        assertEquals("all", sidecar.getReport());
+        assertEquals(2, sidecar.getRowCount());
+        assertEquals(LocalDateTime.of(2024, 6, 1, 2, 0), sidecar.getGeneratedAt());
+        assertEquals(snapshot.getCompressedBytes(), sidecar.getCompressedBytes());
+        assertFalse(Files.exists(directory.resolve("all-20240601T020000.csv.gz.tmp")));
+    }
+
+    @Test
+    void testGenerateAll_KeepsOnlyRetainedGenerationsNewestFirst() throws Exception {
+        // Arrange
+        ReportSnapshotService service = newService(2);
+
+        // Act
+        service.generateAll();
+        service.generateAll();
+        service.generateAll();
+
+        // Assert
+        List<ReportSnapshot> generations = service.listGenerations("all");
+        assertEquals(List.of("20240603T020000", "20240602T020000"),
+            generations.stream().map(ReportSnapshot::getGeneration).toList());
+        assertFalse(Files.exists(directory.resolve("all-20240601T020000.csv.gz")));
+        assertFalse(Files.exists(directory.resolve("all-20240601T020000.json")));
+        assertEquals("20240603T020000", service.findLatest("all").orElseThrow().getGeneration());
+    }
+
+    @Test
+    void testLoadExisting_ServesLatestSnapshotFromEarlierRun() throws Exception {
+        // Arrange
+        ReportSnapshotService earlierRun = newService(7);
+        earlierRun.generateAll();
+        earlierRun.generateAll();
+        // Metadata whose data file is gone is not served
+        Files.delete(directory.resolve("all-20240601T020000.csv.gz"));
+        ReportSnapshotService restarted = newService(7);
+
+        // Act
+        restarted.loadExisting();
+
+        // Assert
+        List<ReportSnapshot> latest = restarted.listLatest();
+        assertEquals(1, latest.size());
+        assertEquals("20240602T020000", latest.get(0).getGeneration());
+        assertTrue(restarted.find("all", "20240601T020000").isEmpty());
+        assertTrue(Files.exists(restarted.dataFile(latest.get(0))));
+    }
+
+    @Test
+    void testLoadExisting_ReadsSidecarWrittenWithDataVersion() throws Exception {
+        // Arrange: earlier versions also stored a process-local data version
+        Files.writeString(directory.resolve("all-20240601T020000.json"), "{\"report\":\"all\"," +
+            "\"generation\":\"20240601T020000\",\"rowCount\":2,\"dataVersion\":5," +
+            "\"generatedAt\":\"2024-06-01T02:00:00\",\"compressedBytes\":10}");
+        Files.write(directory.resolve("all-20240601T020000.csv.gz"), new byte[10]);
+        ReportSnapshotService restarted = newService(7);
+
+        // Act
+        restarted.loadExisting();
+
+        // Assert
+        assertEquals("20240601T020000", restarted.findLatest("all").orElseThrow().getGeneration());
+    }
+
+    private ReportSnapshotService newService(int retention) {
+        return new ReportSnapshotService(exportService, objectMapper,
+            directory.toString(), retention, List.of("all"), clock);
+    }
+}
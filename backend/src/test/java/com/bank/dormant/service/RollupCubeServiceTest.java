@@ -0,0 +1,161 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.dto.CubeCell;
+import com.bank.dormant.dto.CubeDimension;
+import com.bank.dormant.event.AccountChange;
+import com.bank.dormant.event.AccountSnapshot;
+import com.bank.dormant.event.AccountsChangedEvent;
+import com.bank.dormant.model.ReclaimStatus;
+import com.bank.dormant.repository.DormantAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RollupCubeServiceTest {
+
+    @Mock
+    private DormantAccountRepository repository;
+
+    private RollupCubeService cube;
+
+    @BeforeEach
+    void setUp() {
+        cube = new RollupCubeService(repository, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void testOnAccountsChanged_MovesAccountBetweenCells() {
+        // Arrange
+        DormantAccountRepository.CubeCellProjection pending = row("Bank A", ReclaimStatus.PENDING, null, 2, "300.00");
+        when(repository.streamCubeCells()).thenReturn(Stream.of(pending));
+        cube.rebuild();
+
+        // Act
+        cube.onAccountsChanged(new AccountsChangedEvent(List.of(AccountChange.updated(
+            snapshot(1L, "Bank A", "100.00", ReclaimStatus.PENDING, null),
+            snapshot(1L, "Bank A", "100.00", ReclaimStatus.COMPLETED, LocalDate.of(2024, 3, 15))))));
+
+        // Assert
+        List<CubeCell> cells = cube.query(EnumSet.allOf(CubeDimension.class), null, null, null, null);
+        assertEquals(2, cells.size());
+        assertCell(cells.get(0), ReclaimStatus.PENDING, 1, "200.00");
+        assertCell(cells.get(1), ReclaimStatus.COMPLETED, 1, "100.00");
+        assertEquals(YearMonth.of(2024, 3), cells.get(1).getReclaimMonth());
+    }
+
+    @Test
+    void testQuery_RollsUpUngroupedDimensionsAndAppliesFilters() {
+        // Arrange
+        List<DormantAccountRepository.CubeCellProjection> rows = List.of(
+            row("Bank A", ReclaimStatus.PENDING, null, 2, "300.00"),
+            row("Bank A", ReclaimStatus.COMPLETED, YearMonth.of(2024, 3), 1, "50.00"),
+            row("Bank B", ReclaimStatus.PENDING, null, 4, "1000.00"));
+        when(repository.streamCubeCells()).thenReturn(rows.stream());
+        cube.rebuild();
+
+        // Act
+        List<CubeCell> byBank = cube.query(Set.of(CubeDimension.BANK), null, null, null, null);
+        List<CubeCell> pending = cube.query(Set.of(), null, ReclaimStatus.PENDING, null, null);
+        List<CubeCell> bankA = cube.query(Set.of(CubeDimension.STATUS), "bank a", null, null, null);
+
+        // Assert
+        assertEquals(2, byBank.size());
+        assertEquals("Bank A", byBank.get(0).getBankName());
+        assertNull(byBank.get(0).getReclaimStatus());
+        assertEquals(3, byBank.get(0).getAccountCount());
+        assertEquals(new BigDecimal("350.00"), byBank.get(0).getTotalBalance());
+        assertEquals(4, byBank.get(1).getAccountCount());
+
+        assertEquals(1, pending.size());
+        assertEquals(6, pending.get(0).getAccountCount());
+        assertEquals(new BigDecimal("1300.00"), pending.get(0).getTotalBalance());
+
+        assertEquals(2, bankA.size());
+        assertCell(bankA.get(0), ReclaimStatus.PENDING, 2, "300.00");
+        assertCell(bankA.get(1), ReclaimStatus.COMPLETED, 1, "50.00");
+    }
+
+    @Test
+    void testRebuild_ReplaysChangesCommittedWhileStreaming() {
+        // Arrange
+        DormantAccountRepository.CubeCellProjection pending = row("Bank A", ReclaimStatus.PENDING, null, 2, "300.00");
+        when(repository.streamCubeCells())
+            .thenReturn(Stream.of(pending))
+            .thenAnswer(invocation -> {
+                // Committed after the rebuild query read its snapshot
+                cube.onAccountsChanged(new AccountsChangedEvent(List.of(
+                    AccountChange.inserted(snapshot(3L, "Bank A", "50.00", ReclaimStatus.PENDING, null)))));
+                return Stream.of(pending);
+            });
+        cube.rebuild();
+
+        // Act
+        cube.rebuild();
+
+        // Assert
+        List<CubeCell> cells = cube.query(EnumSet.allOf(CubeDimension.class), null, null, null, null);
+        assertEquals(1, cells.size());
+        assertCell(cells.get(0), ReclaimStatus.PENDING, 3, "350.00");
+    }
+
+    @Test
+    void testRebuild_FailureKeepsPatchedCells() {
+        // Arrange
+        DormantAccountRepository.CubeCellProjection pending = row("Bank A", ReclaimStatus.PENDING, null, 2, "300.00");
+        when(repository.streamCubeCells())
+            .thenReturn(Stream.of(pending))
+            .thenThrow(new IllegalStateException("connection lost"));
+        cube.rebuild();
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> cube.rebuild());
+        cube.onAccountsChanged(new AccountsChangedEvent(List.of(
+            AccountChange.deleted(snapshot(1L, "Bank A", "100.00", ReclaimStatus.PENDING, null)))));
+
+        // Assert
+        List<CubeCell> cells = cube.query(Set.of(), null, null, null, null);
+        assertEquals(1, cells.get(0).getAccountCount());
+        assertEquals(new BigDecimal("200.00"), cells.get(0).getTotalBalance());
+    }
+
+    private static void assertCell(CubeCell cell, ReclaimStatus status, long count, String balance) {
+        assertEquals(status, cell.getReclaimStatus());
+        assertEquals(count, cell.getAccountCount());
+        assertEquals(new BigDecimal(balance), cell.getTotalBalance());
+    }
+
+    private static DormantAccountRepository.CubeCellProjection row(String bank, ReclaimStatus status,
+                                                                   YearMonth reclaimMonth, long count,
+                                                                   String balance) {
+        DormantAccountRepository.CubeCellProjection row = mock(DormantAccountRepository.CubeCellProjection.class);
+        when(row.getBankName()).thenReturn(bank);
+        when(row.getReclaimStatus()).thenReturn(status);
+        when(row.getReclaimYear()).thenReturn(reclaimMonth != null ? reclaimMonth.getYear() : null);
+        when(row.getReclaimMonth()).thenReturn(reclaimMonth != null ? reclaimMonth.getMonthValue() : null);
+        when(row.getClawbackYear()).thenReturn(null);
+        when(row.getClawbackMonth()).thenReturn(null);
+        when(row.getAccountCount()).thenReturn(count);
+        when(row.getTotalBalance()).thenReturn(new BigDecimal(balance));
+        return row;
+    }
+
+    private static AccountSnapshot snapshot(Long id, String bank, String balance, ReclaimStatus status,
+                                            LocalDate reclaimDate) {
+        return new AccountSnapshot(id, bank, new BigDecimal(balance), status, reclaimDate, null, null);
+    }
+}
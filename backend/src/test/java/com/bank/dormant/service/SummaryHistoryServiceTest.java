@@ -0,0 +1,150 @@
+package com.bank.dormant.service;
+
+import com.bank.dormant.dto.CubeCell;
+import com.bank.dormant.dto.HistoryGranularity;
+import com.bank.dormant.dto.SummaryHistoryPoint;
+import com.bank.dormant.model.BankSummaryHistory;
+import com.bank.dormant.model.ReclaimStatus;
+import com.bank.dormant.model.SummaryHistoryCapture;
+import com.bank.dormant.repository.BankSummaryHistoryRepository;
+import com.bank.dormant.repository.SummaryHistoryCaptureRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SummaryHistoryServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 2, 29);
+
+    @Mock
+    private BankSummaryHistoryRepository historyRepository;
+
+    @Mock
+    private SummaryHistoryCaptureRepository captureRepository;
+
+    @Mock
+    private RollupCubeService rollupCubeService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SummaryHistoryService historyService;
+
+    @BeforeEach
+    void setUp() {
+        historyService = new SummaryHistoryService(historyRepository, captureRepository, rollupCubeService,
+            transactionManager);
+    }
+
+    @Test
+    void testCapture_ReplacesTheDayWhileHoldingItsCaptureRow() {
+        // Arrange
+        SummaryHistoryCapture earlier = new SummaryHistoryCapture(TO, LocalDateTime.of(2024, 2, 29, 9, 0));
+        when(captureRepository.lockBySnapshotDate(TO)).thenReturn(Optional.of(earlier));
+        when(rollupCubeService.query(any(), isNull(), isNull(), isNull(), isNull())).thenReturn(List.of(
+            new CubeCell("Chase Bank", ReclaimStatus.PENDING, null, null, 2, new BigDecimal("200.00")),
+            new CubeCell("Chase Bank", null, null, null, 1, new BigDecimal("10.00"))));
+
+        // Act
+        int captured = historyService.capture(TO);
+
+        // Assert
+        assertEquals(2, captured);
+        var order = inOrder(captureRepository, historyRepository);
+        order.verify(captureRepository).lockBySnapshotDate(TO);
+        order.verify(historyRepository).deleteBySnapshotDate(TO);
+        order.verify(historyRepository).saveAll(anyList());
+        verify(captureRepository, never()).saveAndFlush(any());
+        assertTrue(earlier.getCapturedAt().isAfter(LocalDateTime.of(2024, 2, 29, 9, 0)));
+    }
+
+    @Test
+    void testCapture_RetriesWhenAConcurrentFirstCaptureOfTheDayWins() {
+        // Arrange: both captures found no row; the other one inserted it first
+        when(captureRepository.lockBySnapshotDate(TO))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(new SummaryHistoryCapture(TO, LocalDateTime.now())));
+        when(captureRepository.saveAndFlush(any(SummaryHistoryCapture.class)))
+            .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(rollupCubeService.query(any(), isNull(), isNull(), isNull(), isNull())).thenReturn(List.of(
+            new CubeCell("Chase Bank", ReclaimStatus.PENDING, null, null, 2, new BigDecimal("200.00"))));
+
+        // Act
+        int captured = historyService.capture(TO);
+
+        // Assert
+        assertEquals(1, captured);
+        verify(historyRepository, times(1)).deleteBySnapshotDate(TO);
+        verify(historyRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void testGetHistory_SumsStatusesPerDay() {
+        // Arrange
+        when(historyRepository.findByBankNameAndSnapshotDateBetweenOrderBySnapshotDate("Chase Bank", FROM, TO))
+            .thenReturn(List.of(
+                row(LocalDate.of(2024, 1, 1), ReclaimStatus.PENDING, 2, "200.00"),
+                row(LocalDate.of(2024, 1, 1), ReclaimStatus.COMPLETED, 1, "50.00"),
+                row(LocalDate.of(2024, 1, 2), ReclaimStatus.PENDING, 3, "300.00")));
+
+        // Act
+        List<SummaryHistoryPoint> points =
+            historyService.getHistory("Chase Bank", null, FROM, TO, HistoryGranularity.DAY);
+
+        // Assert
+        assertEquals(2, points.size());
+        assertEquals(3, points.get(0).getAccountCount());
+        assertEquals(0, new BigDecimal("250.00").compareTo(points.get(0).getTotalBalance()));
+        assertNull(points.get(0).getReclaimStatus());
+        assertEquals(LocalDate.of(2024, 1, 2), points.get(1).getDate());
+    }
+
+    @Test
+    void testGetHistory_MonthlyKeepsLastDayOfEachMonth() {
+        // Arrange
+        when(historyRepository.findByBankNameAndSnapshotDateBetweenOrderBySnapshotDate("Chase Bank", FROM, TO))
+            .thenReturn(List.of(
+                row(LocalDate.of(2024, 1, 1), ReclaimStatus.PENDING, 1, "10.00"),
+                row(LocalDate.of(2024, 1, 31), ReclaimStatus.PENDING, 4, "40.00"),
+                row(LocalDate.of(2024, 2, 15), ReclaimStatus.PENDING, 5, "50.00"),
+                row(LocalDate.of(2024, 2, 15), ReclaimStatus.FAILED, 9, "90.00")));
+
+        // Act
+        List<SummaryHistoryPoint> points = historyService.getHistory(
+            "Chase Bank", ReclaimStatus.PENDING, FROM, TO, HistoryGranularity.MONTH);
+
+        // Assert
+        assertEquals(2, points.size());
+        assertEquals(LocalDate.of(2024, 1, 31), points.get(0).getDate());
+        assertEquals(4, points.get(0).getAccountCount());
+        assertEquals(LocalDate.of(2024, 2, 15), points.get(1).getDate());
+        assertEquals(5, points.get(1).getAccountCount());
+    }
+
+    @Test
+    void testGetHistory_RejectsInvertedRange() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> historyService.getHistory(null, null, TO, FROM, HistoryGranularity.WEEK));
+        verifyNoInteractions(historyRepository);
+    }
+
+    private BankSummaryHistory row(LocalDate date, ReclaimStatus status, long count, String balance) {
+        return new BankSummaryHistory(date, "Chase Bank", status, count, new BigDecimal(balance));
+    }
+}
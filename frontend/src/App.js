@@ -1,4 +1,4 @@
-import React, { useState, useEffect, useCallback } from 'react';
+import React, { useState, useEffect, useCallback, useRef } from 'react';
 import { BrowserRouter as Router, Routes, Route, Navigate, useNavigate } from 'react-router-dom';
 import './App.css';
 import Login from './components/Login';
@@ -13,10 +13,21 @@ import ErrorBoundary from './components/ErrorBoundary';
 import ToastContainer from './components/ToastContainer';
 import LoadingSpinner from './components/LoadingSpinner';
 import { ToastProvider, useToast } from './context/ToastContext';
-import { searchAccounts, updateAccount, bulkUpdateAccounts } from './services/api';
+import { searchAccounts, getAccountChanges, updateAccount, bulkUpdateAccounts } from './services/api';
 import { initializeAuth, logout } from './services/authService';
 import useAuth from './hooks/useAuth';
 
+/**
+ * Apply a change feed delta to the account list: upsert changed rows by id, drop
+ * deleted ids, keep the list ordered by id like the server's list
+ */
+const mergeAccountChanges = (accounts, changed, deleted) => {
+  const byId = new Map(accounts.map(account => [account.id, account]));
+  changed.forEach(account => byId.set(account.id, account));
+  deleted.forEach(id => byId.delete(id));
+  return [...byId.values()].sort((a, b) => a.id - b.id);
+};
+
 // Main application component with authentication
 function MainApp() {
   const navigate = useNavigate();
@@ -26,6 +37,8 @@ function MainApp() {
   const [selectedAccounts, setSelectedAccounts] = useState([]);
   const [showModal, setShowModal] = useState(false);
   const [loading, setLoading] = useState(false);
+  // Change feed cursor of the unfiltered list; null when the list has to be loaded in full
+  const changesCursor = useRef(null);
 
   // Use the useAuth hook to get current user information
   // Requirements: 2.1, 2.2, 2.3
@@ -36,11 +49,48 @@ function MainApp() {
     initializeAuth();
   }, []);
 
+  /**
+   * Bring the unfiltered list up to date: only the changes since the last sync are
+   * fetched (everything on the first call or after the cursor expired)
+   */
+  const syncAccounts = useCallback(async () => {
+    const fullLoad = changesCursor.current === null;
+    let since = changesCursor.current;
+    const changed = [];
+    const deleted = [];
+    try {
+      let page;
+      do {
+        page = await getAccountChanges(since);
+        changed.push(...page.changed);
+        deleted.push(...page.deleted);
+        since = page.cursor;
+      } while (page.hasMore);
+    } catch (error) {
+      if (error.status === 410 && !fullLoad) {
+        changesCursor.current = null;
+        return syncAccounts();
+      }
+      throw error;
+    }
+    changesCursor.current = since;
+    setAccounts(prev => mergeAccountChanges(fullLoad ? [] : prev, changed, deleted));
+  }, []);
+
   const loadAccounts = useCallback(async (query = '') => {
-    setLoading(true);
+    // Searches are loaded in full; the spinner is skipped for incremental syncs
+    const incremental = !query && changesCursor.current !== null;
+    if (!incremental) {
+      setLoading(true);
+    }
     try {
-      const data = await searchAccounts(query);
-      setAccounts(data);
+      if (query) {
+        // The search result replaces the synced list, so the next sync starts over
+        changesCursor.current = null;
+        setAccounts(await searchAccounts(query));
+      } else {
+        await syncAccounts();
+      }
     } catch (error) {
       // Requirements: 9.4 - Display error messages
       toast.error('Error loading accounts: ' + error.message);
@@ -48,7 +98,7 @@ function MainApp() {
       setLoading(false);
     }
   // eslint-disable-next-line react-hooks/exhaustive-deps
-  }, []);
+  }, [syncAccounts]);
 
   useEffect(() => {
     if (currentView === 'accounts') {
@@ -67,21 +117,37 @@ function MainApp() {
         const updatedAccount = await updateAccount(selectedAccounts[0], updateData);
         setShowModal(false);
         setSelectedAccounts([]);
-        await loadAccounts(); // Refresh account list
+        await loadAccounts(); // Fetch only the changes since the last sync
         // Requirements: 1.2, 9.4 - Display success toast
         toast.success('Account updated successfully!');
         return updatedAccount;
       } else {
-        // Bulk account update
-        const updatedCount = await bulkUpdateAccounts(selectedAccounts, updateData);
+        // Bulk account update, checked against the versions the list showed
+        const versions = {};
+        accounts.forEach(acc => {
+          if (selectedAccounts.includes(acc.id) && acc.version != null) {
+            versions[acc.id] = acc.version;
+          }
+        });
+        const result = await bulkUpdateAccounts(selectedAccounts, updateData, versions);
         setShowModal(false);
         setSelectedAccounts([]);
-        await loadAccounts(); // Refresh account list
+        await loadAccounts(); // Fetch only the changes since the last sync
         // Requirements: 1.2, 9.4 - Display success toast
-        toast.success(`${updatedCount} account(s) updated successfully!`);
-        return updatedCount;
+        toast.success(`${result.updatedCount} account(s) updated successfully!`);
+        if (result.conflictIds?.length > 0) {
+          toast.warning(`${result.conflictIds.length} account(s) were changed by someone else and were not updated`);
+        }
+        return result.updatedCount;
       }
     } catch (error) {
+      if (error.status === 409) {
+        setShowModal(false);
+        setSelectedAccounts([]);
+        await loadAccounts();
+        toast.warning('The account was changed by someone else and was not updated. Review the latest values and try again.');
+        return null;
+      }
       // Extract error message from response if available
       const errorMessage = error.response?.data?.message || error.message || 'Failed to update accounts';
       // Requirements: 9.4 - Display error toast
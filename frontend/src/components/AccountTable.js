@@ -174,7 +174,7 @@ function AccountTable({ accounts, selectedAccounts, onSelectionChange }) {
                 </td>
                 <td>{formatDate(account.reclaimDate)}</td>
                 <td>{formatDate(account.clawbackDate)}</td>
-                <td className="comments">{account.comments || '-'}</td>
+                <td className="comments">{account.commentsPreview || '-'}</td>
               </tr>
             ))
           )}
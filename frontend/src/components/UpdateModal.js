@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import './UpdateModal.css';
 import { useToast } from '../context/ToastContext';
+import { getAccount } from '../services/api';
 
 /**
  * UpdateModal component for updating single or multiple dormant accounts
@@ -28,18 +29,37 @@ function UpdateModal({ onClose, onSubmit, accountCount, selectedAccount }) {
   ];
 
   /**
-   * Load current account values if editing a single account
+   * Load current account values if editing a single account. List rows only carry a
+   * comment preview, so the full account is fetched for the form.
    * Requirements: 5.1
    */
   useEffect(() => {
-    if (selectedAccount && accountCount === 1) {
-      setFormData({
-        reclaimStatus: selectedAccount.reclaimStatus || '',
-        reclaimDate: selectedAccount.reclaimDate || '',
-        clawbackDate: selectedAccount.clawbackDate || '',
-        comments: selectedAccount.comments || ''
-      });
+    if (!selectedAccount || accountCount !== 1) {
+      return undefined;
     }
+    let cancelled = false;
+    setFormData({
+      reclaimStatus: selectedAccount.reclaimStatus || '',
+      reclaimDate: selectedAccount.reclaimDate || '',
+      clawbackDate: selectedAccount.clawbackDate || '',
+      comments: ''
+    });
+    getAccount(selectedAccount.id)
+      .then(account => {
+        if (!cancelled) {
+          // Keep anything typed while the account was loading
+          setFormData(prev => (prev.comments ? prev : { ...prev, comments: account.comments || '' }));
+        }
+      })
+      .catch(error => {
+        if (!cancelled) {
+          toast.error('Error loading account: ' + error.message);
+        }
+      });
+    return () => {
+      cancelled = true;
+    };
+  // eslint-disable-next-line react-hooks/exhaustive-deps
   }, [selectedAccount, accountCount]);
 
   /**
@@ -137,6 +157,11 @@ function UpdateModal({ onClose, onSubmit, accountCount, selectedAccount }) {
         updateData.comments = formData.comments;
       }
 
+      // Version the list showed, so a concurrent edit is reported instead of overwritten
+      if (selectedAccount?.version != null) {
+        updateData.version = selectedAccount.version;
+      }
+
       await onSubmit(updateData);
     } catch (error) {
       // Error handling is done in parent component
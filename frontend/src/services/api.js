@@ -6,8 +6,9 @@ import axios from 'axios';
  * Requirements: 9.2, 9.5
  */
 
-// Token storage key
+// Token storage keys
 const TOKEN_KEY = 'jwt_token';
+const REFRESH_TOKEN_KEY = 'refresh_token';
 
 /**
  * Create axios instance with base URL configuration
@@ -21,6 +22,11 @@ const apiClient = axios.create({
   timeout: 30000 // 30 second timeout
 });
 
+const newIdempotencyKey = () =>
+  (typeof crypto !== 'undefined' && crypto.randomUUID)
+    ? crypto.randomUUID()
+    : `${Date.now()}-${Math.random().toString(36).slice(2)}`;
+
 /**
  * Request interceptor to attach JWT token to all requests
  * Requirements: 9.2
@@ -35,6 +41,12 @@ apiClient.interceptors.request.use(
       config.headers.Authorization = `Bearer ${token}`;
     }
     
+    // One Idempotency-Key per logical account write; the retry below reuses this config,
+    // so a retried update is answered from the server's stored response
+    if (config.method === 'put' && config.url?.startsWith('/accounts') && !config.headers['Idempotency-Key']) {
+      config.headers['Idempotency-Key'] = newIdempotencyKey();
+    }
+    
     return config;
   },
   (error) => {
@@ -55,11 +67,23 @@ apiClient.interceptors.response.use(
   async (error) => {
     const originalRequest = error.config;
     
+    // Expired access token: rotate the refresh token once and replay the request
+    if (error.response?.status === 401 && !originalRequest._refreshed
+        && !originalRequest.url?.startsWith('/auth/') && localStorage.getItem(REFRESH_TOKEN_KEY)) {
+      originalRequest._refreshed = true;
+      try {
+        const token = await refreshSession();
+        originalRequest.headers.Authorization = `Bearer ${token}`;
+        return apiClient(originalRequest);
+      } catch (refreshError) {
+        // Fall through to the login redirect below
+      }
+    }
+    
     // Handle 401 Unauthorized errors
     if (error.response?.status === 401) {
       // Clear authentication data
-      localStorage.removeItem(TOKEN_KEY);
-      localStorage.removeItem('current_user');
+      clearSession();
       
       // Redirect to login page
       window.location.href = '/login';
@@ -96,6 +120,33 @@ apiClient.interceptors.response.use(
   }
 );
 
+const clearSession = () => {
+  localStorage.removeItem(TOKEN_KEY);
+  localStorage.removeItem(REFRESH_TOKEN_KEY);
+  localStorage.removeItem('current_user');
+};
+
+// Requests failing with 401 at the same time share one refresh: a refresh token is
+// single-use and presenting it twice ends the session
+let refreshInFlight = null;
+
+const refreshSession = () => {
+  if (!refreshInFlight) {
+    refreshInFlight = apiClient.post('/auth/refresh', {
+      refreshToken: localStorage.getItem(REFRESH_TOKEN_KEY)
+    })
+      .then((response) => {
+        localStorage.setItem(TOKEN_KEY, response.data.token);
+        localStorage.setItem(REFRESH_TOKEN_KEY, response.data.refreshToken);
+        return response.data.token;
+      })
+      .finally(() => {
+        refreshInFlight = null;
+      });
+  }
+  return refreshInFlight;
+};
+
 /**
  * Authentication API methods
  */
@@ -111,10 +162,13 @@ export const login = async (username, password) => {
       password
     });
     
-    const { token, username: user, role } = response.data;
+    const { token, refreshToken, username: user, role } = response.data;
     
-    // Store token and user info
+    // Store tokens and user info
     localStorage.setItem(TOKEN_KEY, token);
+    if (refreshToken) {
+      localStorage.setItem(REFRESH_TOKEN_KEY, refreshToken);
+    }
     localStorage.setItem('current_user', JSON.stringify({ username: user, role }));
     
     return response.data;
@@ -129,14 +183,14 @@ export const login = async (username, password) => {
  */
 export const logout = async () => {
   try {
-    await apiClient.post('/auth/logout');
+    // Revokes the server-side session so the refresh token cannot be used again
+    await apiClient.post('/auth/logout', { refreshToken: localStorage.getItem(REFRESH_TOKEN_KEY) });
   } catch (error) {
     // Continue with logout even if backend call fails
     console.error('Logout error:', error);
   } finally {
     // Clear local storage
-    localStorage.removeItem(TOKEN_KEY);
-    localStorage.removeItem('current_user');
+    clearSession();
   }
 };
 
@@ -185,6 +239,24 @@ export const searchAccounts = async (query = '') => {
   }
 };
 
+/**
+ * Accounts changed since the cursor of a previous call (no cursor: all accounts).
+ * Resolves to { changed, deleted, cursor, hasMore }; rejects with status 410 when the
+ * cursor is too old and the list has to be loaded again.
+ */
+export const getAccountChanges = async (since = null) => {
+  try {
+    const response = await apiClient.get('/accounts/changes', {
+      params: since ? { since } : {}
+    });
+    return response.data;
+  } catch (error) {
+    const changesError = new Error(error.message || 'Failed to fetch account changes');
+    changesError.status = error.status;
+    throw changesError;
+  }
+};
+
 /**
  * Get single account by ID
  * Requirements: 5.1
@@ -207,19 +279,24 @@ export const updateAccount = async (id, updateData) => {
     const response = await apiClient.put(`/accounts/${id}`, updateData);
     return response.data;
   } catch (error) {
-    throw new Error(error.message || 'Failed to update account');
+    // Keep the status: 409 means the account was changed by someone else
+    const updateError = new Error(error.message || 'Failed to update account');
+    updateError.status = error.status;
+    throw updateError;
   }
 };
 
 /**
- * Bulk update multiple accounts
+ * Bulk update multiple accounts. versions (account id -> version last read) is
+ * optional; accounts changed since then are skipped and returned in conflictIds.
  * Requirements: 6.2, 6.3, 6.4, 6.5
  */
-export const bulkUpdateAccounts = async (accountIds, updateData) => {
+export const bulkUpdateAccounts = async (accountIds, updateData, versions) => {
   try {
     const response = await apiClient.put('/accounts/bulk', {
       accountIds: accountIds,
-      ...updateData
+      updateData: updateData,
+      ...(versions ? { versions } : {})
     });
     return response.data;
   } catch (error) {
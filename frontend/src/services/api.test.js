@@ -157,7 +157,21 @@ describe('API Service Layer', () => {
 
       expect(apiClient.put).toHaveBeenCalledWith('/accounts/bulk', {
         accountIds: [1, 2, 3],
-        reclaimStatus: 'COMPLETED'
+        updateData: { reclaimStatus: 'COMPLETED' }
+      });
+      expect(result).toEqual(mockResponse);
+    });
+
+    it('should send the versions last read with a bulk update', async () => {
+      const mockResponse = { updatedCount: 1, conflictIds: [2] };
+      apiClient.put = jest.fn().mockResolvedValue({ data: mockResponse });
+
+      const result = await bulkUpdateAccounts([1, 2], { reclaimStatus: 'COMPLETED' }, { 1: 0, 2: 3 });
+
+      expect(apiClient.put).toHaveBeenCalledWith('/accounts/bulk', {
+        accountIds: [1, 2],
+        updateData: { reclaimStatus: 'COMPLETED' },
+        versions: { 1: 0, 2: 3 }
       });
       expect(result).toEqual(mockResponse);
     });